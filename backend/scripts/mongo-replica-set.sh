@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Pornește un MongoDB local ca replica set cu un singur nod (rs0), pentru rularea backend-ului în afara
+# docker-compose. Backend-ul scrie schimbările și outbox-ul notificărilor în aceeași tranzacție și nu pornește
+# pe un mongod standalone. Creează și utilizatorul din spring.data.mongodb.uri (application.yaml).
+#
+#   ./scripts/mongo-replica-set.sh            # date în ./target/mongo-rs, port 27017
+#   MONGO_PORT=27018 MONGO_DBPATH=/tmp/rs ./scripts/mongo-replica-set.sh
+set -euo pipefail
+
+PORT="${MONGO_PORT:-27017}"
+DBPATH="${MONGO_DBPATH:-$(dirname "$0")/../target/mongo-rs}"
+MONGO_USER="${MONGO_USER:-user}"
+MONGO_PASSWORD="${MONGO_PASSWORD:-password}"
+
+mkdir -p "$DBPATH"
+mongod --replSet rs0 --port "$PORT" --bind_ip localhost --dbpath "$DBPATH" \
+       --fork --logpath "$DBPATH/mongod.log"
+
+# Fără --auth: un singur nod local nu are nevoie de keyFile, dar utilizatorul există, deci URI-ul cu
+# user:password din application.yaml merge neschimbat
+mongosh --quiet --port "$PORT" --eval "
+  try { rs.status() } catch (e) { rs.initiate({ _id: 'rs0', members: [{ _id: 0, host: 'localhost:$PORT' }] }) }
+  while (!db.hello().isWritablePrimary) { sleep(200) }
+  const admin = db.getSiblingDB('admin');
+  if (!admin.getUser('$MONGO_USER')) {
+    admin.createUser({ user: '$MONGO_USER', pwd: '$MONGO_PASSWORD', roles: ['root'] });
+  }
+  print('rs0 PRIMARY on localhost:$PORT');
+"
+echo "Oprire: mongosh --port $PORT admin --eval 'db.shutdownServer()'"
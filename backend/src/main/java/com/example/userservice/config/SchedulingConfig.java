@@ -0,0 +1,12 @@
+package com.example.userservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Alertele pentru joburi noi rulează periodic; se pot opri (ex: local, fără job-service) cu jobs.alerts.enabled=false
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "jobs.alerts.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -3,14 +3,24 @@ package com.example.userservice.controller;
 import com.example.userservice.model.User;
 import com.example.userservice.model.Preferences;
 import com.example.userservice.model.NotificationLog;
+import com.example.userservice.model.Application;
 import com.example.userservice.model.Job;
+import com.example.userservice.service.AdminListingService;
 import com.example.userservice.service.UserService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Function;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -19,36 +29,78 @@ import org.springframework.web.bind.annotation.RequestParam;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final AdminListingService adminListingService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AdminListingService adminListingService) {
         this.userService = userService;
+        this.adminListingService = adminListingService;
     }
 
     // --- ADMIN ROUTES ---
 
-    // GET /api/users -> List all (ADMIN only)
+    // GET /api/users -> Toți utilizatorii (ADMIN only), scriși direct din cursorul Mongo;
+    // cu Accept: application/x-ndjson un utilizator pe linie
     @GetMapping
     @PreAuthorize("hasRole('APP_ADMIN')") 
-    public List<User> getAllUsers() {
-        try {
-            return userService.getAllUsers();
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
-        }
+    public ResponseEntity<StreamingResponseBody> getAllUsers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return stream(User.class, accept);
+    }
+
+    // GET /api/users?limit=100&after=<id> -> O pagină keyset, ordonată după id; următoarea pagină în X-Next-After
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('APP_ADMIN')") 
+    public ResponseEntity<List<User>> getUsersPage(@RequestParam(required = false) String after, @RequestParam int limit) {
+        return page(adminListingService.page(User.class, after, limit), limit, User::getId);
     }
 
-    // GET /api/users/notifications -> List all notifications (ADMIN only)
+    // GET /api/users/notifications -> Tot log-ul de notificări (ADMIN only), la fel ca GET /api/users
     @GetMapping("/notifications")
     @PreAuthorize("hasRole('APP_ADMIN')") 
-    public List<NotificationLog> getAllNotifications() {
-        try {
-            return userService.getAllNotifications();
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
+    public ResponseEntity<StreamingResponseBody> getAllNotifications(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return stream(NotificationLog.class, accept);
+    }
+
+    // GET /api/users/notifications?limit=100&after=<id>
+    @GetMapping(path = "/notifications", params = "limit")
+    @PreAuthorize("hasRole('APP_ADMIN')") 
+    public ResponseEntity<List<NotificationLog>> getNotificationsPage(@RequestParam(required = false) String after, @RequestParam int limit) {
+        return page(adminListingService.page(NotificationLog.class, after, limit), limit, NotificationLog::getId);
+    }
+
+    // GET /api/users/notifications/search?recipient=a@b.com&from=2024-05-01T00:00:00Z&to=...&limit=50&before=<cursor>
+    // -> cele mai noi întâi; cursorul paginii următoare în X-Next-Cursor
+    @GetMapping("/notifications/search")
+    @PreAuthorize("hasRole('APP_ADMIN')") 
+    public ResponseEntity<List<NotificationLog>> searchNotifications(@RequestParam(required = false) String recipient,
+                                                                     @RequestParam(required = false) Instant from,
+                                                                     @RequestParam(required = false) Instant to,
+                                                                     @RequestParam(required = false) String before,
+                                                                     @RequestParam(defaultValue = "50") int limit) {
+        List<NotificationLog> logs = adminListingService.notifications(recipient, from, to, before, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!logs.isEmpty() && logs.size() >= Math.min(limit, AdminListingService.MAX_PAGE_SIZE)) {
+            response.header("X-Next-Cursor", AdminListingService.cursorOf(logs.get(logs.size() - 1)));
         }
+        return response.body(logs);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> stream(Class<T> type, String accept) {
+        if (accept != null && accept.contains(NDJSON)) {
+            return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(adminListingService.ndjson(type));
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(adminListingService.jsonArray(type));
+    }
+
+    private static <T> ResponseEntity<List<T>> page(List<T> items, int limit, Function<T, String> id) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // O pagină plină poate avea o continuare; una incompletă e ultima
+        if (!items.isEmpty() && items.size() >= Math.min(limit, AdminListingService.MAX_PAGE_SIZE)) {
+            response.header("X-Next-After", id.apply(items.get(items.size() - 1)));
+        }
+        return response.body(items);
     }
 
     // --- GENERAL USER ROUTES (pe bază de ID) ---
@@ -98,10 +150,28 @@ public class UserController {
         return userService.applyToJob(id, job);
     }
 
+    // GET /api/users/{id}/jobs?page=0&size=20 -> Aplicările, cele mai noi întâi, cu datele actuale din catalog;
+    // totalul e în X-Total-Count
+    @GetMapping("/{id}/jobs")
+    public ResponseEntity<List<Application>> getApplications(@PathVariable String id,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        List<Application> applications = userService.getApplications(id, Math.max(0, page), Math.min(Math.max(1, size), 100));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(userService.countApplications(id)))
+                .body(applications);
+    }
+
     // --- HELPER PTR FRONTEND (AUTO-SYNC) ---
     // Rămâne utilă pentru frontend să își ia ID-ul propriu fără să știe UUID-ul
     @GetMapping("/me")
     public User getCurrentUser(@AuthenticationPrincipal Jwt jwt) {
         return userService.syncUserFromToken(jwt);
     }
-}
\ No newline at end of file
+
+    // User are încă @Version: un save() versionat care pierde cursa e un conflict, nu o eroare; clientul reîncearcă
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void onConcurrentUpdate() {
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.userservice.migration;
+
+import com.example.userservice.model.Application;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Colecția applications: creează indexurile și mută o singură dată aplicările vechi din users.appliedJobs.
+ *
+ * Rulează înainte să pornească serverul web și e idempotentă: fiecare aplicare se scrie cu upsert pe
+ * (userId, externalId), iar appliedJobs se șterge din utilizator abia după ce aplicările lui au fost scrise.
+ * O pornire întreruptă la jumătate reia pur și simplu de unde a rămas.
+ *
+ * Utilizatorii se citesc dintr-un cursor și se scriu în loturi de {@link #CHUNK_SIZE} operații, deci memoria
+ * folosită nu depinde de câți utilizatori sau câte aplicări sunt. appliedAt vechi, text fără fus orar
+ * (LocalDateTime.toString()), devine dată Mongo, citit în fusul migrations.legacy-timezone.
+ */
+@Component
+public class ApplicationsMigration implements SmartInitializingSingleton {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ZoneId legacyZone;
+
+    public ApplicationsMigration(MongoTemplate mongoTemplate,
+                                 @Value("${migrations.legacy-timezone:UTC}") String legacyZone) {
+        this.mongoTemplate = mongoTemplate;
+        this.legacyZone = ZoneId.of(legacyZone);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        mongoTemplate.indexOps(Application.class).ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("appliedAt", Sort.Direction.DESC)
+                .named("userId_appliedAt"));
+        // Aplicările foarte vechi pot să nu aibă externalId; unicitatea se aplică doar celor care îl au
+        mongoTemplate.indexOps(Application.class).ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("externalId", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("externalId").type(2)))
+                .named("userId_externalId"));
+
+        convertTextDates();
+        moveEmbeddedApplications();
+    }
+
+    // Aplicările mutate înainte ca appliedAt să fie dată au rămas cu text
+    private void convertTextDates() {
+        Query textDates = Query.query(Criteria.where("appliedAt").type(2));
+        textDates.fields().include("_id", "appliedAt");
+        textDates.cursorBatchSize(CHUNK_SIZE);
+        long converted = 0;
+        try (Stream<Document> applications = mongoTemplate.stream(textDates, Document.class,
+                mongoTemplate.getCollectionName(Application.class))) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (Document application : (Iterable<Document>) applications::iterator) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+                }
+                Object id = application.get("_id");
+                bulk.updateOne(Query.query(Criteria.where("_id").is(id)), new Update().set("appliedAt",
+                        legacyInstant(application.getString("appliedAt"), legacyZone, creationTime(id))));
+                if (++pending == CHUNK_SIZE) {
+                    bulk.execute();
+                    converted += pending;
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                bulk.execute();
+                converted += pending;
+            }
+        }
+        if (converted > 0) {
+            System.out.println("--- Converted appliedAt to a date on " + converted + " applications ---");
+        }
+    }
+
+    private void moveEmbeddedApplications() {
+        Query embedded = Query.query(Criteria.where("appliedJobs").exists(true));
+        embedded.fields().include("_id", "appliedJobs");
+        embedded.cursorBatchSize(CHUNK_SIZE);
+        MovedChunk chunk = new MovedChunk();
+        long users = 0;
+        long applications = 0;
+        try (Stream<Document> embeddedUsers = mongoTemplate.stream(embedded, Document.class, "users")) {
+            for (Document user : (Iterable<Document>) embeddedUsers::iterator) {
+                Object rawId = user.get("_id");
+                String userId = rawId instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(rawId);
+                for (Document job : user.getList("appliedJobs", Document.class, List.of())) {
+                    chunk.upsert(userId, job, legacyInstant(job.getString("appliedAt"), legacyZone, creationTime(rawId)));
+                }
+                chunk.userIds.add(rawId);
+                if (chunk.pending >= CHUNK_SIZE) {
+                    applications += chunk.pending;
+                    users += chunk.flush();
+                    chunk = new MovedChunk();
+                }
+            }
+        }
+        applications += chunk.pending;
+        users += chunk.flush();
+        if (users > 0) {
+            System.out.println("--- Moved " + applications + " applications of " + users + " users to the applications collection ---");
+        }
+    }
+
+    /**
+     * Upsert-urile aplicărilor unor utilizatori, plus utilizatorii respectivi. appliedJobs se șterge din ei
+     * abia după ce lotul aplicărilor a fost scris.
+     */
+    private final class MovedChunk {
+
+        private final BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        private final List<Object> userIds = new ArrayList<>();
+        private int pending;
+
+        void upsert(String userId, Document job, Instant appliedAt) {
+            // Cheia upsert-ului: (userId, externalId), iar pentru aplicările fără externalId și data + titlul
+            Criteria key = Criteria.where("userId").is(userId).and("externalId").is(job.getString("externalId"));
+            if (job.getString("externalId") == null) {
+                key = key.and("appliedAt").is(appliedAt).and("title").is(job.getString("title"));
+            }
+            bulk.upsert(Query.query(key), new Update()
+                    .setOnInsert("title", job.getString("title"))
+                    .setOnInsert("company", job.getString("company"))
+                    .setOnInsert("location", job.getString("location"))
+                    .setOnInsert("url", job.getString("url"))
+                    .setOnInsert("appliedAt", appliedAt));
+            pending++;
+        }
+
+        long flush() {
+            if (userIds.isEmpty()) {
+                return 0;
+            }
+            if (pending > 0) {
+                bulk.execute();
+            }
+            return mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(userIds)),
+                    new Update().unset("appliedJobs"), "users").getModifiedCount();
+        }
+    }
+
+    /**
+     * Data scrisă ca text de versiunile vechi: LocalDateTime.toString() în fusul serverului de atunci, sau deja
+     * cu offset. Un text lipsă sau care nu se poate citi primește fallback, ca o intrare stricată să nu
+     * oprească pornirea.
+     */
+    static Instant legacyInstant(String text, ZoneId zone, Instant fallback) {
+        if (text == null || text.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDateTime.parse(text).atZone(zone).toInstant();
+        } catch (DateTimeException e) {
+            try {
+                return OffsetDateTime.parse(text).toInstant();
+            } catch (DateTimeException notOffset) {
+                System.err.println("Unreadable legacy date '" + text + "', using " + fallback);
+                return fallback;
+            }
+        }
+    }
+
+    // Momentul creării documentului, din ObjectId; altfel (id-uri vechi, text) momentul migrării
+    private static Instant creationTime(Object id) {
+        return id instanceof ObjectId objectId ? objectId.getDate().toInstant() : Instant.now();
+    }
+}
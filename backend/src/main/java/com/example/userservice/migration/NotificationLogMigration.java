@@ -0,0 +1,108 @@
+package com.example.userservice.migration;
+
+import com.example.userservice.model.NotificationLog;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Log-ul de notificări: sentAt ca dată Mongo, indexuri pentru interogările pe destinatar și interval,
+ * și expirare automată după notifications.log.retention.
+ *
+ * Intrările vechi au sentAt ca text (LocalDateTime.toString(), fără fus orar); le convertim pe server,
+ * în fusul migrations.legacy-timezone în care au fost scrise. Un text lipsă sau care nu se poate citi primește
+ * momentul creării documentului (din _id), ca o intrare stricată să nu oprească pornirea.
+ * Rulează înainte să pornească serverul web și e idempotentă; conversia se face o singură dată.
+ */
+@Component
+public class NotificationLogMigration implements SmartInitializingSingleton {
+
+    static final String TTL_INDEX = "sentAt_ttl";
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String SENT_AT_DATE = "notification_logs.sentAt-date";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration retention;
+    private final ZoneId legacyZone;
+
+    public NotificationLogMigration(MongoTemplate mongoTemplate,
+                                    @Value("${notifications.log.retention:P90D}") Duration retention,
+                                    @Value("${migrations.legacy-timezone:UTC}") String legacyZone) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+        this.legacyZone = ZoneId.of(legacyZone);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        convertSentAt();
+
+        // Interogările pe destinatar, cele mai noi întâi; _id departajează intrările din aceeași milisecundă
+        mongoTemplate.indexOps(NotificationLog.class).ensureIndex(new Index()
+                .on("recipientEmail", Sort.Direction.ASC)
+                .on("sentAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("recipientEmail_sentAt"));
+
+        // Interogările doar pe interval, cu aceeași ordine: fără el Mongo ar sorta în memorie tot intervalul
+        mongoTemplate.indexOps(NotificationLog.class).ensureIndex(new Index()
+                .on("sentAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("sentAt_id"));
+
+        // Expirarea: Mongo acceptă TTL doar pe un index cu un singur câmp
+        Index ttl = new Index().on("sentAt", Sort.Direction.ASC).named(TTL_INDEX).expire(retention);
+        try {
+            mongoTemplate.indexOps(NotificationLog.class).ensureIndex(ttl);
+        } catch (DataAccessException e) {
+            // Indexul există cu altă durată (retention s-a schimbat): îl modificăm pe loc, fără să-l reconstruim
+            mongoTemplate.getDb().runCommand(new Document("collMod", mongoTemplate.getCollectionName(NotificationLog.class))
+                    .append("index", new Document("name", TTL_INDEX).append("expireAfterSeconds", retention.toSeconds())));
+        }
+    }
+
+    /**
+     * Tot ce nu e dată: textul vechi, dar și intrările fără sentAt, care altfel n-ar expira niciodată.
+     * Rulează o singură dată: după conversie o notăm în colecția migrations, iar la pornirile următoare nu mai
+     * parcurgem log-ul. Intrările noi au oricum sentAt ca dată.
+     */
+    private void convertSentAt() {
+        Query applied = Query.query(Criteria.where("_id").is(SENT_AT_DATE));
+        if (mongoTemplate.exists(applied, MIGRATIONS_COLLECTION)) {
+            return;
+        }
+        UpdateResult converted = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("sentAt").not().type(9)),
+                AggregationUpdate.update().set("sentAt").toValue(legacySentAt()),
+                NotificationLog.class);
+        if (converted.getModifiedCount() > 0) {
+            System.out.println("--- Converted sentAt to a date on " + converted.getModifiedCount() + " notification logs ---");
+        }
+        // Upsert: două replici pornite deodată pot ajunge amândouă aici, conversia fiind idempotentă
+        mongoTemplate.upsert(applied, new Update().setOnInsert("appliedAt", Instant.now()), MIGRATIONS_COLLECTION);
+    }
+
+    // $dateFromString cu fusul orar al datelor vechi; onError/onNull ca să nu oprim pornirea
+    private AggregationExpression legacySentAt() {
+        Document creationTime = new Document("$toDate", "$_id");
+        return context -> new Document("$dateFromString", new Document("dateString", "$sentAt")
+                .append("timezone", legacyZone.getId())
+                .append("onError", creationTime)
+                .append("onNull", creationTime));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.userservice.migration;
+
+import com.example.userservice.model.User;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Utilizatorii salvați înainte de câmpul version nu îl au; Spring Data i-ar trata la save() ca documente
+ * noi (insert cu un _id existent). Le punem version = 0 o singură dată, înainte să pornească serverul web.
+ */
+@Component
+public class UserVersionMigration implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserVersionMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        UpdateResult result = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                User.class);
+        if (result.getModifiedCount() > 0) {
+            System.out.println("--- Added version to " + result.getModifiedCount() + " users ---");
+        }
+    }
+}
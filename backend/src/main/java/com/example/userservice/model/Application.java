@@ -0,0 +1,35 @@
+package com.example.userservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * O aplicare a unui utilizator la un job, ca document separat (nu în User), ca documentul utilizatorului
+ * să rămână mic oricâte aplicări ar avea. Indexurile sunt create de ApplicationsMigration.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "applications")
+public class Application {
+
+    @Id
+    private String id;
+    private String userId;     // User.id (Mongo)
+    private String externalId; // Id-ul jobului în job-service; unic per utilizator
+    private String title;
+    private String company;
+    private String location;
+    private String url;
+    private Instant appliedAt; // Dată Mongo, ca indexul userId_appliedAt să ordoneze după timp, nu după text
+
+    public static Application of(String userId, Job job, Instant appliedAt) {
+        return new Application(null, userId, job.getExternalId(), job.getTitle(), job.getCompany(), job.getLocation(),
+                job.getUrl(), appliedAt);
+    }
+}
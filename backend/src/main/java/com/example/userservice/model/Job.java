@@ -14,7 +14,7 @@ public class Job {
     private String company;
     private String location;
     private String url;        // Link spre anunțul original
-    private String appliedAt;  // Data când a aplicat (stocată ca String ISO sau poți folosi LocalDateTime)
+    private String appliedAt;  // Doar în aplicările vechi din User.appliedJobs; aplicările noi au data în Application
 
     public Job(String externalId, String title, String company, String location, String url) {
         this.externalId = externalId;
@@ -5,7 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
-import java.time.LocalDateTime;
+
+import java.time.Instant;
 
 @Data
 @AllArgsConstructor
@@ -17,5 +18,6 @@ public class NotificationLog {
     private String recipientEmail;
     private String subject;
     private String body;
-    private String sentAt;
+    // Dată Mongo, nu text: pe ea sunt indexul (recipientEmail, sentAt) și expirarea automată (NotificationLogMigration)
+    private Instant sentAt;
 }
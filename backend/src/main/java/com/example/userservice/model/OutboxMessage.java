@@ -0,0 +1,37 @@
+package com.example.userservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * O notificare de trimis pe notification.exchange, scrisă odată cu schimbarea care a produs-o.
+ * NotificationOutboxRelay o revendică, o publică și îi pune sentAt; cele trimise expiră după o zi.
+ * Cele care au eșuat de prea multe ori primesc failedAt și rămân aici, netrimise, până le repune cineva.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "notification_outbox")
+public class OutboxMessage {
+    @Id
+    private String id;
+    private String toEmail;
+    private String subject;
+    private String body;
+    private Instant createdAt;
+    private Instant sentAt;       // null = încă netrimisă
+    private int attempts;         // De câte ori a fost revendicată pentru publicare
+    private String claimToken;    // Revendicarea curentă (un relay, un lot)
+    private Instant claimedUntil; // Până atunci n-o ia alt relay; după un eșec, și momentul următoarei încercări
+    private Instant failedAt;     // Scoasă din retrimitere după notifications.outbox.max-attempts încercări
+    private String lastError;
+
+    public static OutboxMessage pending(String toEmail, String subject, String body, Instant createdAt) {
+        return new OutboxMessage(null, toEmail, subject, body, createdAt, null, 0, null, null, null, null);
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.userservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -27,14 +28,15 @@ public class User {
     
     private List<String> roles; // Roluri din Keycloak (ex: admin, client)
 
+    // Amprenta claim-urilor de mai sus la ultima sincronizare; dacă tokenul are aceeași amprentă nu scriem nimic
+    @JsonIgnore
+    private String claimsFingerprint;
+
     private Preferences preferences; 
-    
-    private List<Job> appliedJobs = new ArrayList<>(); 
-
-    public void addJob(Job job) {
-        if (this.appliedJobs == null) {
-            this.appliedJobs = new ArrayList<>();
-        }
-        this.appliedJobs.add(job);
-    }
+
+    // Aplicările stau în colecția applications (vezi Application), nu aici: documentul are mărime constantă
+
+    // Blocare optimistă: save() eșuează dacă documentul s-a schimbat între timp (și sincronizarea din token îl incrementează)
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.userservice.repository;
+
+import com.example.userservice.model.Application;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface ApplicationRepository extends MongoRepository<Application, String> {
+    // Index { userId: 1, appliedAt: -1 }: cele mai noi întâi, o pagină citită direct din index
+    List<Application> findByUserIdOrderByAppliedAtDesc(String userId, Pageable pageable);
+
+    long countByUserId(String userId);
+
+    void deleteByUserId(String userId);
+}
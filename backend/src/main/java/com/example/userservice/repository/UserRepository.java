@@ -2,9 +2,27 @@ package com.example.userservice.repository;
 
 import com.example.userservice.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
     // Gasim userul dupa ID-ul unic din Keycloak
     Optional<User> findByKeycloakId(String keycloakId);
+
+    // Actualizează doar câmpurile venite din token, fără să rescrie restul documentului (preferences)
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'email': ?1, 'username': ?2, 'firstName': ?3, 'lastName': ?4, 'roles': ?5, 'claimsFingerprint': ?6 }, '$inc': { 'version': 1 } }")
+    long updateClaims(String id, String email, String username, String firstName, String lastName, List<String> roles,
+                      String claimsFingerprint);
+
+    // Doar subdocumentul preferences (și _id); restul documentului nu se citește din Mongo
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'preferences': 1 }")
+    Optional<User> findPreferencesById(String id);
+
+    // Doar utilizatorii cu un rol dorit, și doar câmpurile de care au nevoie alertele pentru joburi noi
+    @Query(value = "{ 'preferences.desiredRole': { $nin: [null, ''] } }", fields = "{ 'email': 1, 'preferences': 1 }")
+    List<User> findAlertSubscribers();
 }
\ No newline at end of file
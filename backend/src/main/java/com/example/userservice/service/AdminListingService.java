@@ -0,0 +1,156 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.NotificationLog;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Listările pentru admin (utilizatori, log-ul de notificări) fără să încărcăm toată colecția în memorie.
+ *
+ * Paginile sunt keyset pe _id (after = ultimul id din pagina anterioară), deci costul unei pagini nu crește
+ * cu numărul paginii. Exportul complet se scrie direct dintr-un cursor Mongo cu loturi de cursor-batch-size
+ * documente, ca NDJSON sau ca un singur array JSON; în heap stă doar lotul curent.
+ */
+@Service
+public class AdminListingService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    // Fără flush după fiecare document: răspunsul pleacă în bucăți de câte un lot
+    private final ObjectWriter writer;
+    private final int cursorBatchSize;
+
+    public AdminListingService(MongoTemplate mongoTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${admin.listing.cursor-batch-size:500}") int cursorBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cursorBatchSize = Math.max(1, cursorBatchSize);
+    }
+
+    public <T> List<T> page(Class<T> type, String after, int limit) {
+        Query query = byId(after).limit(Math.min(Math.max(1, limit), MAX_PAGE_SIZE));
+        return mongoTemplate.find(query, type);
+    }
+
+    /**
+     * Log-ul de notificări filtrat după destinatar și/sau interval [from, to), cele mai noi întâi.
+     * before = cursorul ultimei intrări din pagina anterioară ({@link #cursorOf}); paginarea e tot keyset,
+     * pe (sentAt, _id), deci citește direct din indexul (recipientEmail, sentAt, _id) sau, fără destinatar,
+     * din (sentAt, _id), fără sortare în memorie oricât de mare e log-ul.
+     */
+    public List<NotificationLog> notifications(String recipient, Instant from, Instant to, String before, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (recipient != null && !recipient.isBlank()) {
+            filters.add(Criteria.where("recipientEmail").is(recipient));
+        }
+        if (from != null || to != null) {
+            Criteria sentAt = Criteria.where("sentAt");
+            if (from != null) {
+                sentAt = sentAt.gte(from);
+            }
+            if (to != null) {
+                sentAt = sentAt.lt(to);
+            }
+            filters.add(sentAt);
+        }
+        if (before != null) {
+            int separator = before.indexOf('_');
+            if (separator < 0 || !ObjectId.isValid(before.substring(separator + 1))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid before: " + before);
+            }
+            Instant sentAt;
+            try {
+                sentAt = Instant.ofEpochMilli(Long.parseLong(before.substring(0, separator)));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid before: " + before);
+            }
+            ObjectId id = new ObjectId(before.substring(separator + 1));
+            filters.add(new Criteria().orOperator(
+                    Criteria.where("sentAt").lt(sentAt),
+                    Criteria.where("sentAt").is(sentAt).and("_id").lt(id)));
+        }
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "sentAt", "_id"))
+                .limit(Math.min(Math.max(1, limit), MAX_PAGE_SIZE));
+        if (!filters.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filters));
+        }
+        return mongoTemplate.find(query, NotificationLog.class);
+    }
+
+    public static String cursorOf(NotificationLog log) {
+        return log.getSentAt().toEpochMilli() + "_" + log.getId();
+    }
+
+    // Un document JSON pe linie (application/x-ndjson)
+    public <T> StreamingResponseBody ndjson(Class<T> type) {
+        return out -> write(type, out, false);
+    }
+
+    // Același format ca findAll() serializat, dar scris pe măsură ce vin documentele
+    public <T> StreamingResponseBody jsonArray(Class<T> type) {
+        return out -> write(type, out, true);
+    }
+
+    private <T> void write(Class<T> type, OutputStream out, boolean array) throws IOException {
+        Query query = byId(null).cursorBatchSize(cursorBatchSize);
+        try (Stream<T> documents = mongoTemplate.stream(query, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (array) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            int written = 0;
+            for (T document : (Iterable<T>) documents::iterator) {
+                writer.writeValue(generator, document);
+                if (!array) {
+                    generator.writeRaw('\n');
+                }
+                // Câte un flush per lot din cursor, nu per document
+                if (++written % cursorBatchSize == 0) {
+                    generator.flush();
+                }
+            }
+            if (array) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    // Ordonat după _id, eventual doar după un id dat; id-urile sunt ObjectId (în ordinea inserării)
+    private static Query byId(String after) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (after != null) {
+            if (!ObjectId.isValid(after)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid after: " + after);
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(after)));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.userservice.service;
+
+import com.example.userservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alerte pentru joburi noi: după fiecare refresh al catalogului, joburile adăugate se potrivesc cu
+ * preferințele utilizatorilor (prin {@link PreferenceIndex}) și fiecare utilizator interesat primește
+ * o singură notificare cu joburile lui, pusă în outbox-ul de notificări în loturi.
+ *
+ * Un utilizator primește cel mult o alertă la min-interval; joburile găsite între timp se adună și
+ * pleacă în următoarea alertă permisă.
+ *
+ * Starea (ultima versiune văzută, alertele în așteptare, momentul ultimei alerte per utilizator) e doar
+ * în memorie. După o repornire pornim de la versiunea curentă a catalogului: joburile apărute cât
+ * backend-ul a fost oprit și alertele încă neplecate nu se mai trimit, iar limitarea la min-interval
+ * începe de la zero. Alertele sunt un rezumat "best effort", nu o garanție că vezi fiecare job.
+ */
+@Service
+public class JobAlertService {
+
+    // Joburi listate într-o alertă; restul apar doar ca număr
+    static final int MAX_JOBS_PER_ALERT = 10;
+
+    private final JobServiceClient jobServiceClient;
+    private final UserRepository userRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final Duration minInterval;
+    private final int batchSize;
+    private final Duration indexMaxAge;
+
+    private volatile boolean preferencesChanged = true;
+    private PreferenceIndex index;
+    private Instant indexBuiltAt = Instant.EPOCH;
+
+    // Starea de mai jos e accesată doar din poll(), care e synchronized
+    private Long lastVersion;
+    private final Map<String, PendingAlert> pending = new HashMap<>();
+    private final Map<String, Instant> lastAlertAt = new HashMap<>();
+
+    public JobAlertService(JobServiceClient jobServiceClient,
+                           UserRepository userRepository,
+                           NotificationOutbox notificationOutbox,
+                           @Value("${jobs.alerts.min-interval:PT1H}") Duration minInterval,
+                           @Value("${jobs.alerts.batch-size:100}") int batchSize,
+                           @Value("${jobs.alerts.index-max-age:PT10M}") Duration indexMaxAge) {
+        this.jobServiceClient = jobServiceClient;
+        this.userRepository = userRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.minInterval = minInterval;
+        this.batchSize = Math.max(1, batchSize);
+        this.indexMaxAge = indexMaxAge;
+    }
+
+    // Apelat când un utilizator își schimbă preferințele sau e șters: indexul se reconstruiește la următorul poll
+    public void preferencesChanged() {
+        preferencesChanged = true;
+    }
+
+    @Scheduled(initialDelayString = "${jobs.alerts.initial-delay:PT30S}", fixedDelayString = "${jobs.alerts.poll-interval:PT1M}")
+    public synchronized void poll() {
+        try {
+            if (lastVersion == null) {
+                // La pornire nu știm ce au văzut utilizatorii: alertăm doar pentru ce apare de acum încolo
+                lastVersion = jobServiceClient.catalogVersion();
+                System.out.println("Job alerts: starting at catalog version " + lastVersion + ", earlier jobs are not alerted");
+                return;
+            }
+            JobServiceClient.CatalogDelta delta = jobServiceClient.changesSince(lastVersion);
+            if (delta != null && delta.toVersion() != lastVersion) {
+                if (delta.full()) {
+                    // Versiunea noastră a ieșit din istoricul job-service; nu putem ști ce e nou, deci nu alertăm
+                    System.err.println("Job alerts: catalog version " + lastVersion + " is no longer known, skipping to " + delta.toVersion());
+                } else if (delta.added() != null && !delta.added().isEmpty()) {
+                    collect(delta.added());
+                }
+                lastVersion = delta.toVersion();
+            }
+            flushDue();
+        } catch (RestClientException e) {
+            System.err.println("Job alerts: job-service unavailable: " + e.getMessage());
+        }
+    }
+
+    private void collect(List<JobServiceClient.JobPosting> added) {
+        List<PreferenceIndex.Match> matches = currentIndex().match(added);
+        for (PreferenceIndex.Match match : matches) {
+            pending.computeIfAbsent(match.subscriber().userId(), id -> new PendingAlert(match.subscriber().email()))
+                .add(match.jobs());
+        }
+        System.out.println("Job alerts: " + added.size() + " new jobs matched " + matches.size() + " users");
+    }
+
+    private PreferenceIndex currentIndex() {
+        Instant now = Instant.now();
+        if (index == null || preferencesChanged || indexBuiltAt.plus(indexMaxAge).isBefore(now)) {
+            preferencesChanged = false;
+            index = PreferenceIndex.build(userRepository.findAlertSubscribers());
+            indexBuiltAt = now;
+        }
+        return index;
+    }
+
+    // Trimite alertele utilizatorilor care nu au mai primit una în ultimul min-interval
+    private void flushDue() {
+        Instant now = Instant.now();
+        lastAlertAt.values().removeIf(sentAt -> sentAt.plus(minInterval).isBefore(now));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<NotificationProducer.NotificationRequest> batch = new ArrayList<>(batchSize);
+        Iterator<Map.Entry<String, PendingAlert>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PendingAlert> entry = iterator.next();
+            if (lastAlertAt.containsKey(entry.getKey())) {
+                continue;
+            }
+            batch.add(entry.getValue().toNotification());
+            lastAlertAt.put(entry.getKey(), now);
+            iterator.remove();
+            if (batch.size() == batchSize) {
+                send(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    // Un singur insert; relay-ul publică și scrie log-ul pentru Admin după confirmarea broker-ului
+    private void send(List<NotificationProducer.NotificationRequest> batch) {
+        notificationOutbox.addAll(batch);
+    }
+
+    private static final class PendingAlert {
+
+        private final String email;
+        private final List<JobServiceClient.JobPosting> jobs = new ArrayList<>();
+        private int omitted;
+
+        PendingAlert(String email) {
+            this.email = email;
+        }
+
+        void add(List<JobServiceClient.JobPosting> matched) {
+            for (JobServiceClient.JobPosting job : matched) {
+                if (jobs.size() < MAX_JOBS_PER_ALERT) {
+                    jobs.add(job);
+                } else {
+                    omitted++;
+                }
+            }
+        }
+
+        NotificationProducer.NotificationRequest toNotification() {
+            int total = jobs.size() + omitted;
+            StringBuilder body = new StringBuilder("New jobs matching your preferences:\n");
+            for (JobServiceClient.JobPosting job : jobs) {
+                body.append("- ").append(job.title()).append(" at ").append(job.company());
+                if (job.location() != null && !job.location().isBlank()) {
+                    body.append(" (").append(job.location()).append(')');
+                }
+                body.append(": ").append(job.url()).append('\n');
+            }
+            if (omitted > 0) {
+                body.append("...and ").append(omitted).append(" more.\n");
+            }
+            String subject = total == 1 ? "1 new job matches your preferences" : total + " new jobs match your preferences";
+            return new NotificationProducer.NotificationRequest(email, subject, body.toString());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.userservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Joburile din catalogul job-service după id, cu un cache local mic.
+ * Id-urile care nu sunt în cache se cer toate într-un singur POST /api/jobs/batch, nu câte unul.
+ * Un job lipsă din catalog nu se ține în cache: poate apărea la următorul refresh.
+ */
+@Service
+public class JobLookupService {
+
+    private final JobServiceClient jobServiceClient;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    public JobLookupService(JobServiceClient jobServiceClient,
+                            @Value("${job-service.lookup-cache.ttl:PT5M}") Duration ttl,
+                            @Value("${job-service.lookup-cache.max-entries:10000}") int maxEntries) {
+        this.jobServiceClient = jobServiceClient;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public JobServiceClient.JobPosting find(String id) {
+        return findAll(List.of(id)).get(id);
+    }
+
+    /**
+     * Joburile găsite, după id; id-urile care nu (mai) sunt în catalog lipsesc din rezultat.
+     * Aruncă RestClientException dacă job-service nu răspunde.
+     */
+    public Map<String, JobServiceClient.JobPosting> findAll(Collection<String> ids) {
+        long now = System.nanoTime();
+        Map<String, JobServiceClient.JobPosting> found = new HashMap<>();
+        List<String> toFetch = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            Cached cached = cache.get(id);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                found.put(id, cached.job());
+            } else {
+                toFetch.add(id);
+            }
+        }
+
+        for (int from = 0; from < toFetch.size(); from += JobServiceClient.MAX_BATCH_SIZE) {
+            List<String> chunk = toFetch.subList(from, Math.min(toFetch.size(), from + JobServiceClient.MAX_BATCH_SIZE));
+            JobServiceClient.JobBatch batch = jobServiceClient.findJobs(chunk);
+            if (batch == null || batch.jobs() == null) {
+                continue;
+            }
+            if (cache.size() + batch.jobs().size() > maxEntries) {
+                // Cache-ul e doar o scurtătură: la plin îl golim în loc să ținem evidența LRU
+                cache.clear();
+            }
+            for (JobServiceClient.JobPosting job : batch.jobs()) {
+                found.put(job.id(), job);
+                cache.put(job.id(), new Cached(job, now));
+            }
+        }
+        return found;
+    }
+
+    private record Cached(JobServiceClient.JobPosting job, long loadedAt) {
+    }
+}
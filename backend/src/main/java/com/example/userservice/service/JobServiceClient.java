@@ -0,0 +1,63 @@
+package com.example.userservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Client pentru job-service (JOB_SERVICE_URL). Folosește interogările care întorc doar ce s-a schimbat,
+ * nu lista completă de joburi.
+ */
+@Component
+public class JobServiceClient {
+
+    // Limita job-service pentru POST /api/jobs/batch
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final RestClient restClient;
+
+    public JobServiceClient(RestClient.Builder builder,
+                            @Value("${job-service.url:http://job-service:8082}") String baseUrl,
+                            @Value("${job-service.connect-timeout:PT2S}") Duration connectTimeout,
+                            @Value("${job-service.read-timeout:PT10S}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+    }
+
+    // Versiunea catalogului servit acum de job-service
+    public long catalogVersion() {
+        CatalogStatus status = restClient.get().uri("/api/jobs/catalog").retrieve().body(CatalogStatus.class);
+        return status != null ? status.version() : 0;
+    }
+
+    // GET /api/jobs?since=v -> joburile adăugate/schimbate/șterse de atunci (full = versiunea nu mai e în istoric)
+    public CatalogDelta changesSince(long version) {
+        return restClient.get().uri("/api/jobs?since={version}", version).retrieve().body(CatalogDelta.class);
+    }
+
+    // POST /api/jobs/batch -> toate joburile cerute dintr-un singur drum
+    public JobBatch findJobs(Collection<String> ids) {
+        return restClient.post().uri("/api/jobs/batch").body(ids).retrieve().body(JobBatch.class);
+    }
+
+    public record CatalogStatus(long version) {
+    }
+
+    public record CatalogDelta(long fromVersion, long toVersion, boolean full, List<JobPosting> added) {
+    }
+
+    public record JobBatch(long catalogVersion, List<JobPosting> jobs, List<String> missing) {
+    }
+
+    // Câmpurile dintr-un job din job-service de care avem nevoie aici
+    public record JobPosting(String id, String title, String company, String location, String url,
+                             boolean remote, List<String> jobTypes) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.OutboxMessage;
+import com.mongodb.MongoCommandException;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Outbox-ul notificărilor: request-ul scrie doar în Mongo, iar {@link NotificationOutboxRelay} publică în fundal.
+ *
+ * Schimbarea utilizatorului și mesajul din outbox se scriu în aceeași tranzacție ({@link #inTransaction}),
+ * deci o oprire între ele nu pierde notificarea. Tranzacțiile cer un replica set (în docker-compose, rs0 cu un
+ * singur nod); pe un Mongo standalone aplicația nu pornește, în loc să scrie cele două separat.
+ */
+@Service
+public class NotificationOutbox {
+
+    private final MongoTemplate mongoTemplate;
+    // Trezește relay-ul imediat ce apare un mesaj, în loc să aștepte următorul poll
+    private final Semaphore work = new Semaphore(0);
+    private final TransactionTemplate transactions;
+
+    public NotificationOutbox(MongoTemplate mongoTemplate, MongoDatabaseFactory databaseFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = new TransactionTemplate(new MongoTransactionManager(databaseFactory));
+    }
+
+    @PostConstruct
+    void requireTransactions() {
+        Document hello;
+        try {
+            hello = mongoTemplate.getDb().runCommand(new Document("hello", 1));
+        } catch (MongoCommandException e) {
+            // Servere mai vechi de 4.4 știu doar isMaster
+            hello = mongoTemplate.getDb().runCommand(new Document("isMaster", 1));
+        }
+        if (!hello.containsKey("setName") && !"isdbgrid".equals(hello.getString("msg"))) {
+            throw new IllegalStateException("MongoDB is running standalone and has no transactions, so the notification"
+                    + " outbox cannot be written together with the change. Run it as a replica set: docker compose"
+                    + " up -d mongo, or backend/scripts/mongo-replica-set.sh (see backend/README.md).");
+        }
+    }
+
+    public void add(NotificationProducer.NotificationRequest request) {
+        addAll(List.of(request));
+    }
+
+    public void addAll(List<NotificationProducer.NotificationRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        mongoTemplate.insert(requests.stream()
+                .map(request -> OutboxMessage.pending(request.getToEmail(), request.getSubject(), request.getBody(), now))
+                .toList(), OutboxMessage.class);
+        // Într-o tranzacție, relay-ul poate vedea mesajele abia după commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    work.release();
+                }
+            });
+        } else {
+            work.release();
+        }
+    }
+
+    // Schimbarea și mesajele adăugate în outbox din ea se scriu împreună sau deloc
+    public <T> T inTransaction(Supplier<T> change) {
+        return transactions.execute(status -> change.get());
+    }
+
+    // Folosit de relay: așteaptă un mesaj nou sau expirarea timeout-ului
+    boolean awaitWork(long timeoutMillis) throws InterruptedException {
+        boolean signalled = work.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        work.drainPermits();
+        return signalled;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.NotificationLog;
+import com.example.userservice.model.OutboxMessage;
+import com.example.userservice.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Publică mesajele din outbox pe notification.exchange, în loturi, cu confirmare de la broker pentru fiecare mesaj.
+ *
+ * Un lot se revendică întâi (claimToken, claimedUntil = acum + lease), document cu document, deci mai multe
+ * replici ale backend-ului nu publică aceleași mesaje. Pentru fiecare mesaj confirmat, log-ul pentru Admin și
+ * sentAt se scriu în aceeași tranzacție. Un mesaj neconfirmat (nack, timeout) se reîncearcă singur, cu backoff;
+ * după max-attempts încercări primește failedAt și nu mai e retrimis. Dacă broker-ul nu răspunde deloc, lotul
+ * e eliberat fără să se numere încercarea. Livrarea e cel puțin o dată: o oprire între confirmare și marcare
+ * retrimite mesajele după expirarea lease-ului (message-id-ul AMQP e id-ul din outbox).
+ *
+ * Log-ul pentru Admin se scrie tot de aici, nu din request: un singur insert în bloc pentru toate mesajele
+ * confirmate dintr-un lot. Un writer asincron separat pentru log (cu coadă în memorie) nu mai există, pentru că
+ * n-ar putea scrie log-ul în aceeași tranzacție cu sentAt.
+ */
+@Component
+public class NotificationOutboxRelay {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationOutbox outbox;
+    private final NotificationProducer notificationProducer;
+    private final NotificationRepository notificationRepository;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration confirmTimeout;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Clock clock;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    @Autowired
+    public NotificationOutboxRelay(MongoTemplate mongoTemplate,
+                                   NotificationOutbox outbox,
+                                   NotificationProducer notificationProducer,
+                                   NotificationRepository notificationRepository,
+                                   @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                                   @Value("${notifications.outbox.poll-interval:PT1S}") Duration pollInterval,
+                                   @Value("${notifications.outbox.confirm-timeout:PT5S}") Duration confirmTimeout,
+                                   @Value("${notifications.outbox.lease:PT30S}") Duration lease,
+                                   @Value("${notifications.outbox.max-attempts:10}") int maxAttempts) {
+        this(mongoTemplate, outbox, notificationProducer, notificationRepository, batchSize, pollInterval, confirmTimeout,
+                lease, maxAttempts, Clock.systemUTC());
+    }
+
+    NotificationOutboxRelay(MongoTemplate mongoTemplate, NotificationOutbox outbox, NotificationProducer notificationProducer,
+                            NotificationRepository notificationRepository, int batchSize, Duration pollInterval,
+                            Duration confirmTimeout, Duration lease, int maxAttempts, Clock clock) {
+        // Lease-ul trebuie să acopere publicarea și așteptarea confirmărilor, altfel alt relay retrimite lotul
+        if (lease.compareTo(confirmTimeout) <= 0) {
+            throw new IllegalArgumentException("notifications.outbox.lease (" + lease
+                    + ") must be longer than notifications.outbox.confirm-timeout (" + confirmTimeout + ")");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.outbox = outbox;
+        this.notificationProducer = notificationProducer;
+        this.notificationRepository = notificationRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.confirmTimeout = confirmTimeout;
+        this.lease = lease;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        // Mesajele netrimise se citesc pe sentAt = null; cele trimise expiră după o zi
+        mongoTemplate.indexOps(OutboxMessage.class).ensureIndex(new Index()
+                .on("sentAt", Sort.Direction.ASC)
+                .named("sentAt_ttl")
+                .expire(Duration.ofDays(1)));
+        worker = Thread.ofPlatform().name("notification-outbox-relay").daemon().start(this::run);
+    }
+
+    private void run() {
+        Duration backoff = pollInterval;
+        while (running) {
+            try {
+                if (relayBatch()) {
+                    backoff = pollInterval;
+                } else {
+                    outbox.awaitWork(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Notification outbox relay failed, retrying in " + backoff + ": " + e.getMessage());
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    // false dacă nu era nimic de trimis
+    boolean relayBatch() {
+        String token = UUID.randomUUID().toString();
+        List<OutboxMessage> messages = claim(token);
+        if (messages.isEmpty()) {
+            return false;
+        }
+
+        Map<String, NotificationProducer.NotificationRequest> requests = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            requests.put(message.getId(),
+                    new NotificationProducer.NotificationRequest(message.getToEmail(), message.getSubject(), message.getBody()));
+        }
+        Map<String, String> failed;
+        try {
+            failed = notificationProducer.sendConfirmed(requests, confirmTimeout);
+        } catch (RuntimeException e) {
+            // Broker-ul indisponibil nu e vina mesajelor: le eliberăm fără să numărăm încercarea
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(requests.keySet()).and("claimToken").is(token)),
+                    new Update().unset("claimedUntil").inc("attempts", -1),
+                    OutboxMessage.class);
+            throw e;
+        }
+
+        List<OutboxMessage> confirmed = messages.stream().filter(message -> !failed.containsKey(message.getId())).toList();
+        if (!confirmed.isEmpty()) {
+            markSent(token, confirmed);
+        }
+        for (OutboxMessage message : messages) {
+            String reason = failed.get(message.getId());
+            if (reason != null) {
+                retryLater(token, message, reason);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Revendică cel mult batchSize mesaje: nici trimise, nici scoase din retrimitere, și nerevendicate sau cu
+     * lease-ul expirat. Update-ul repetă condiția, deci un mesaj luat între timp de alt relay nu e luat din nou.
+     */
+    List<OutboxMessage> claim(String token) {
+        Instant now = clock.instant();
+        Query candidates = Query.query(Criteria.where("sentAt").is(null).and("failedAt").is(null)
+                        .orOperator(Criteria.where("claimedUntil").is(null), Criteria.where("claimedUntil").lte(now)))
+                .with(Sort.by("_id"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, OutboxMessage.class).stream().map(OutboxMessage::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and("sentAt").is(null).and("failedAt").is(null)
+                        .orOperator(Criteria.where("claimedUntil").is(null), Criteria.where("claimedUntil").lte(now))),
+                new Update().set("claimToken", token).set("claimedUntil", now.plus(lease)).inc("attempts", 1),
+                OutboxMessage.class);
+        return mongoTemplate.find(
+                Query.query(Criteria.where("claimToken").is(token)).with(Sort.by("_id")),
+                OutboxMessage.class);
+    }
+
+    // Log-ul și sentAt împreună, câte un singur updateMulti și un singur insert pe lot; doar pentru mesajele
+    // încă revendicate de lotul ăsta
+    private void markSent(String token, List<OutboxMessage> confirmed) {
+        outbox.inTransaction(() -> {
+            Query stillClaimed = Query.query(Criteria.where("_id").in(confirmed.stream().map(OutboxMessage::getId).toList())
+                    .and("claimToken").is(token)
+                    .and("sentAt").is(null));
+            stillClaimed.fields().include("_id");
+            Set<String> ids = mongoTemplate.find(stillClaimed, OutboxMessage.class).stream()
+                    .map(OutboxMessage::getId)
+                    .collect(Collectors.toSet());
+            if (ids.isEmpty()) {
+                return null;
+            }
+            Instant sentAt = clock.instant();
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                    new Update().set("sentAt", sentAt).unset("claimedUntil").unset("lastError"),
+                    OutboxMessage.class);
+            notificationRepository.insert(confirmed.stream()
+                    .filter(message -> ids.contains(message.getId()))
+                    .map(message -> new NotificationLog(null, message.getToEmail(), message.getSubject(), message.getBody(), sentAt))
+                    .toList());
+            return null;
+        });
+    }
+
+    private void retryLater(String token, OutboxMessage message, String reason) {
+        Instant now = clock.instant();
+        Update update = new Update().set("lastError", reason);
+        if (message.getAttempts() >= maxAttempts) {
+            update.set("failedAt", now).unset("claimedUntil");
+            System.err.println("Notification " + message.getId() + " to " + message.getToEmail() + " failed "
+                    + message.getAttempts() + " times, no longer retried: " + reason);
+        } else {
+            update.set("claimedUntil", now.plus(retryDelay(message.getAttempts())));
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(message.getId()).and("claimToken").is(token).and("sentAt").is(null)),
+                update,
+                OutboxMessage.class);
+    }
+
+    // pollInterval, dublat la fiecare încercare eșuată, cel mult MAX_BACKOFF
+    private Duration retryDelay(int attempts) {
+        Duration delay = pollInterval;
+        for (int i = 1; i < attempts && delay.compareTo(MAX_BACKOFF) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Fără interrupt, ca lotul în curs să nu fie întrerupt la jumătate; ce a rămas în outbox pleacă la următoarea pornire
+        running = false;
+        worker.join(confirmTimeout.plus(pollInterval).toMillis());
+    }
+}
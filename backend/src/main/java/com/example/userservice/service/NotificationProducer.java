@@ -4,10 +4,19 @@ import com.example.userservice.config.RabbitProducerConfig;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class NotificationProducer {
@@ -18,13 +27,53 @@ public class NotificationProducer {
         this.rabbitTemplate = rabbitTemplate;
     }
 
-    public void sendNotification(NotificationRequest request) {
-        rabbitTemplate.convertAndSend(
-                RabbitProducerConfig.EXCHANGE_NAME,
-                RabbitProducerConfig.ROUTING_KEY,
-                request
-        );
-        System.out.println("Message sent to RabbitMQ: " + request);
+    /**
+     * Publică un lot și așteaptă confirmarea broker-ului pentru fiecare mesaj în parte
+     * (spring.rabbitmq.publisher-confirm-type: correlated). Cheia e id-ul mesajului, trimis și ca message-id
+     * AMQP, ca un consumator să poată recunoaște o retrimitere.
+     *
+     * Întoarce mesajele neconfirmate (nack, timeout, mesaj care nu se poate serializa) cu motivul; restul au
+     * fost confirmate. Dacă broker-ul nu e disponibil deloc aruncă AmqpConnectException, fără să considere
+     * mesajele eșuate.
+     */
+    public Map<String, String> sendConfirmed(Map<String, NotificationRequest> requests, Duration confirmTimeout) {
+        Map<String, CorrelationData> pending = new LinkedHashMap<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (Map.Entry<String, NotificationRequest> request : requests.entrySet()) {
+            CorrelationData correlation = new CorrelationData(request.getKey());
+            try {
+                rabbitTemplate.convertAndSend(RabbitProducerConfig.EXCHANGE_NAME, RabbitProducerConfig.ROUTING_KEY,
+                        request.getValue(), message -> {
+                            message.getMessageProperties().setMessageId(request.getKey());
+                            return message;
+                        }, correlation);
+                pending.put(request.getKey(), correlation);
+            } catch (AmqpConnectException e) {
+                throw e;
+            } catch (AmqpException e) {
+                failed.put(request.getKey(), "publish failed: " + e.getMessage());
+            }
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (Map.Entry<String, CorrelationData> message : pending.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = message.getValue().getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    failed.put(message.getKey(), "nack: " + confirm.getReason());
+                }
+            } catch (TimeoutException e) {
+                failed.put(message.getKey(), "not confirmed within " + confirmTimeout);
+            } catch (ExecutionException e) {
+                failed.put(message.getKey(), "confirm failed: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.put(message.getKey(), "interrupted while waiting for confirm");
+            }
+        }
+        System.out.println("Batch of " + requests.size() + " messages sent to RabbitMQ, " + failed.size() + " not confirmed");
+        return failed;
     }
 
     @Data
@@ -0,0 +1,169 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.Preferences;
+import com.example.userservice.model.User;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index inversat peste preferințele utilizatorilor: cuvânt din rolul dorit -> utilizatorii care îl cer.
+ * Pentru un job nou citim doar utilizatorii care au cel puțin un cuvânt din titlu în rol, deci costul
+ * e proporțional cu potrivirile, nu cu utilizatori x joburi. Locația și tipul de job se verifică apoi
+ * doar pentru acești candidați; un job fără niciun tip trece de filtrul pe tip.
+ *
+ * Un utilizator primește jobul dacă titlul conține toate cuvintele specifice din rol ("java" din
+ * "Java Developer"); cuvintele generice ("developer", "senior") contează doar când rolul nu are altele.
+ */
+public class PreferenceIndex {
+
+    private static final Set<String> GENERIC_ROLE_WORDS = Set.of(
+        "developer", "engineer", "dev", "senior", "junior", "lead", "mid", "level", "intern", "internship",
+        "specialist", "m", "w", "d", "f", "x", "mwd", "all", "genders");
+
+    private static final String REMOTE = "remote";
+
+    private final List<Subscriber> subscribers;
+    private final Map<String, int[]> byRoleWord;
+
+    private PreferenceIndex(List<Subscriber> subscribers, Map<String, int[]> byRoleWord) {
+        this.subscribers = subscribers;
+        this.byRoleWord = byRoleWord;
+    }
+
+    public static PreferenceIndex build(List<User> users) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (User user : users) {
+            Preferences preferences = user.getPreferences();
+            if (preferences == null || user.getEmail() == null) {
+                continue;
+            }
+            Set<String> roleWords = roleWords(preferences.getDesiredRole());
+            // Fără un rol, orice job nou din oraș ar fi o alertă: nu abonăm utilizatorul
+            if (roleWords.isEmpty()) {
+                continue;
+            }
+            List<Set<String>> locations = new ArrayList<>();
+            boolean remote = false;
+            if (preferences.getLocations() != null) {
+                for (String location : preferences.getLocations()) {
+                    Set<String> tokens = tokenize(location);
+                    if (tokens.equals(Set.of(REMOTE))) {
+                        remote = true;
+                    } else if (!tokens.isEmpty()) {
+                        locations.add(tokens);
+                    }
+                }
+            }
+            int position = subscribers.size();
+            subscribers.add(new Subscriber(user.getId(), user.getEmail(), roleWords.size(), locations, remote,
+                String.join(" ", tokenize(preferences.getJobType()))));
+            for (String word : roleWords) {
+                postings.computeIfAbsent(word, w -> new ArrayList<>()).add(position);
+            }
+        }
+
+        Map<String, int[]> byRoleWord = new HashMap<>(postings.size() * 2);
+        postings.forEach((word, positions) -> byRoleWord.put(word, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return new PreferenceIndex(List.copyOf(subscribers), byRoleWord);
+    }
+
+    public int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * Pentru fiecare utilizator interesat, joburile noi care i se potrivesc (în ordinea primită).
+     */
+    public List<Match> match(List<JobServiceClient.JobPosting> jobs) {
+        Map<Integer, Match> matches = new LinkedHashMap<>();
+        Map<Integer, Integer> hits = new HashMap<>();
+        for (JobServiceClient.JobPosting job : jobs) {
+            hits.clear();
+            for (String word : tokenize(job.title())) {
+                for (int position : byRoleWord.getOrDefault(word, new int[0])) {
+                    hits.merge(position, 1, Integer::sum);
+                }
+            }
+            if (hits.isEmpty()) {
+                continue;
+            }
+            Set<String> locationTokens = tokenize(job.location());
+            Set<String> jobTypes = new LinkedHashSet<>();
+            if (job.jobTypes() != null) {
+                for (String jobType : job.jobTypes()) {
+                    Set<String> tokens = tokenize(jobType);
+                    if (!tokens.isEmpty()) {
+                        jobTypes.add(String.join(" ", tokens));
+                    }
+                }
+            }
+            hits.forEach((position, count) -> {
+                Subscriber subscriber = subscribers.get(position);
+                if (count == subscriber.roleWords() && subscriber.accepts(locationTokens, job.remote(), jobTypes)) {
+                    matches.computeIfAbsent(position, p -> new Match(subscriber, new ArrayList<>())).jobs().add(job);
+                }
+            });
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    // Cuvintele specifice din rol; dacă toate sunt generice ("Senior Developer"), le folosim pe toate
+    static Set<String> roleWords(String desiredRole) {
+        Set<String> tokens = tokenize(desiredRole);
+        Set<String> specific = new LinkedHashSet<>(tokens);
+        specific.removeAll(GENERIC_ROLE_WORDS);
+        return specific.isEmpty() ? tokens : specific;
+    }
+
+    // Aceeași normalizare ca în job-service: litere mici, fără diacritice, doar litere și cifre
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public record Match(Subscriber subscriber, List<JobServiceClient.JobPosting> jobs) {
+    }
+
+    public record Subscriber(String userId, String email, int roleWords, List<Set<String>> locations, boolean remote,
+                             String jobType) {
+
+        // Un job fără tip (unele surse nu îl completează) e necunoscut, nu nepotrivit
+        boolean accepts(Set<String> jobLocation, boolean jobRemote, Set<String> jobTypes) {
+            if (!jobType.isEmpty() && !jobTypes.isEmpty() && !jobTypes.contains(jobType)) {
+                return false;
+            }
+            if (locations.isEmpty() && !remote) {
+                return true;
+            }
+            if (remote && jobRemote) {
+                return true;
+            }
+            for (Set<String> location : locations) {
+                if (jobLocation.containsAll(location)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
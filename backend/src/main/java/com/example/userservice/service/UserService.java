@@ -1,16 +1,35 @@
 package com.example.userservice.service;
 
+import com.example.userservice.model.Application;
 import com.example.userservice.model.Job;
-import com.example.userservice.model.NotificationLog;
 import com.example.userservice.model.Preferences;
 import com.example.userservice.model.User;
-import com.example.userservice.repository.NotificationRepository;
+import com.example.userservice.repository.ApplicationRepository;
 import com.example.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,18 +39,34 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final NotificationRepository notificationRepository;
-    private final NotificationProducer notificationProducer;
+    private final MongoTemplate mongoTemplate;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationRepository applicationRepository;
+    private final JobAlertService jobAlertService;
+    private final JobLookupService jobLookupService;
+    // Utilizatorii sincronizați recent, după sub (id-ul Keycloak); fiecare intrare expiră separat
+    private final Cache<String, CachedUser> syncCache;
 
-    public UserService(UserRepository userRepository, NotificationRepository notificationRepository, NotificationProducer notificationProducer) {
+    public UserService(UserRepository userRepository, MongoTemplate mongoTemplate, NotificationOutbox notificationOutbox,
+                       ApplicationRepository applicationRepository,
+                       JobAlertService jobAlertService, JobLookupService jobLookupService,
+                       @Value("${users.sync-cache.ttl:PT30S}") Duration syncCacheTtl,
+                       @Value("${users.sync-cache.max-entries:10000}") int syncCacheMaxEntries) {
         this.userRepository = userRepository;
-        this.notificationRepository = notificationRepository;
-        this.notificationProducer = notificationProducer;
+        this.mongoTemplate = mongoTemplate;
+        this.notificationOutbox = notificationOutbox;
+        this.applicationRepository = applicationRepository;
+        this.jobAlertService = jobAlertService;
+        this.jobLookupService = jobLookupService;
+        this.syncCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, syncCacheMaxEntries))
+                .expireAfterWrite(syncCacheTtl)
+                .build();
     }
 
     /**
      * Sincronizează utilizatorul din tokenul JWT Keycloak în MongoDB.
-     * Dacă nu există, îl creează. Dacă există, îi actualizează datele.
+     * Dacă nu există, îl creează. Dacă există, îi actualizează doar câmpurile din token, și doar dacă s-au schimbat.
      */
     public User syncUserFromToken(Jwt jwt) {
         String keycloakId = jwt.getClaimAsString("sub");
@@ -62,16 +97,30 @@ public class UserService {
         }
         
 
+        String fingerprint = claimsFingerprint(email, username, firstName, lastName, roles);
+
+        // Aproape toate apelurile /me vin cu aceleași claim-uri: le servim din cache, fără Mongo
+        // Fiecare apel primește propria copie, ca modificările unui request să nu ajungă în cache sau la altul
+        CachedUser cached = syncCache.getIfPresent(keycloakId);
+        if (cached != null && fingerprint.equals(cached.fingerprint())) {
+            return copyOf(cached.user());
+        }
+
         Optional<User> existingUser = userRepository.findByKeycloakId(keycloakId);
 
         User user;
         if (existingUser.isPresent()) {
             user = existingUser.get();
-            user.setEmail(email);
-            user.setUsername(username);
-            user.setFirstName(firstName);
-            user.setLastName(lastName);
-            user.setRoles(roles);
+            if (!fingerprint.equals(user.getClaimsFingerprint())) {
+                // Doar câmpurile din token, cu $set; appliedJobs și preferințele nu se rescriu
+                userRepository.updateClaims(user.getId(), email, username, firstName, lastName, roles, fingerprint);
+                user.setEmail(email);
+                user.setUsername(username);
+                user.setFirstName(firstName);
+                user.setLastName(lastName);
+                user.setRoles(roles);
+                user.setClaimsFingerprint(fingerprint);
+            }
         } else {
             user = new User();
             user.setKeycloakId(keycloakId);
@@ -80,87 +129,196 @@ public class UserService {
             user.setFirstName(firstName);
             user.setLastName(lastName);
             user.setRoles(roles);
+            user.setClaimsFingerprint(fingerprint);
+            user = userRepository.save(user);
+        }
+
+        syncCache.put(keycloakId, new CachedUser(copyOf(user), fingerprint));
+        return user;
+    }
+
+    // Orice modificare a documentului scoate utilizatorul din cache-ul lui /me
+    private void evictSyncCache(User user) {
+        if (user.getKeycloakId() != null) {
+            syncCache.invalidate(user.getKeycloakId());
+        }
+    }
+
+    static String claimsFingerprint(String email, String username, String firstName, String lastName, List<String> roles) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : new String[] {email, username, firstName, lastName, String.join(",", roles)}) {
+                // Separatorul și marcajul pentru null nu pot apărea în claim-uri, deci ("ab", "c") != ("a", "bc")
+                digest.update((value == null ? "\u0001" : value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return Base64.getEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
+
+    private static User copyOf(User user) {
+        Preferences preferences = user.getPreferences();
+        return new User(user.getId(), user.getKeycloakId(), user.getUsername(), user.getEmail(),
+                user.getFirstName(), user.getLastName(),
+                user.getRoles() == null ? null : new ArrayList<>(user.getRoles()),
+                user.getClaimsFingerprint(),
+                preferences == null ? null : new Preferences(preferences.getDesiredRole(),
+                        preferences.getLocations() == null ? null : new ArrayList<>(preferences.getLocations()),
+                        preferences.getJobType(), preferences.getMinSalary()),
+                user.getVersion());
+    }
 
-        return userRepository.save(user);
+    private record CachedUser(User user, String fingerprint) {
     }
+
     public Preferences getUserPreferences(String id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findPreferencesById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return user.getPreferences();
     }
 
+    /**
+     * Un singur findAndModify cu $set pe preferences: nu citim documentul înainte și nu îl rescriem;
+     * primim înapoi utilizatorul actualizat, fără aplicările vechi rămase în document.
+     * Notificarea intră în outbox odată cu modificarea; request-ul nu așteaptă după RabbitMQ.
+     */
     public User updateUserPreferences(String id, Preferences preferences) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setPreferences(preferences);
-        
-        // Trimitem notificare
-        NotificationProducer.NotificationRequest notification = new NotificationProducer.NotificationRequest(
-            user.getEmail(),
-            "Profile Update Confirmation",
-            "Your profile preferences have been successfully updated."
-        );
-        notificationProducer.sendNotification(notification);
-
-        // Salvam notificarea in baza de date pentru Admin Log
-        NotificationLog log = new NotificationLog();
-        log.setRecipientEmail(user.getEmail());
-        log.setSubject(notification.getSubject());
-        log.setBody(notification.getBody());
-        log.setSentAt(LocalDateTime.now().toString());
-        notificationRepository.save(log);
-        
-        return userRepository.save(user);
+        User updated = notificationOutbox.inTransaction(() -> {
+            User user = modifyPreferences(id, new Update().set("preferences", preferences));
+
+            // Trimitem notificare
+            notificationOutbox.add(new NotificationProducer.NotificationRequest(
+                user.getEmail(),
+                "Profile Update Confirmation",
+                "Your profile preferences have been successfully updated."
+            ));
+            return user;
+        });
+        preferencesChanged(updated);
+        return updated;
     }
 
     public User deleteUserPreferences(String id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setPreferences(null);
-        return userRepository.save(user);
+        User updated = modifyPreferences(id, new Update().unset("preferences"));
+        preferencesChanged(updated);
+        return updated;
+    }
+
+    // Package-private pentru ModifyPreferencesBenchmark
+    User modifyPreferences(String id, Update update) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        // Răspunsul are aceeași formă ca GET /{id}; doar appliedJobs, rămas în documentele nemigrate, nu mai vine înapoi
+        query.fields().exclude("appliedJobs");
+        User user = mongoTemplate.findAndModify(
+                query,
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
+        return user;
+    }
+
+    // Abia după commit: altfel un /me concurent ar pune înapoi în cache documentul de dinainte, iar indexul
+    // alertelor s-ar putea reconstrui din preferințe vechi sau din unele care fac rollback
+    private void preferencesChanged(User user) {
+        evictSyncCache(user);
+        jobAlertService.preferencesChanged();
     }
 
+    /**
+     * Aplicarea e un document nou în applications. Indexul unic (userId, externalId) face aplicarea
+     * idempotentă: o aplicare repetată la același job nu schimbă nimic și nu mai trimite notificare.
+     * Aplicarea și notificarea din outbox se scriu împreună. Documentul utilizatorului nu se modifică.
+     */
     public User applyToJob(String id, Job job) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found: " + id));
-        
-        // Setam data aplicării
-        job.setAppliedAt(LocalDateTime.now().toString());
-        
-        user.addJob(job);
-        
-        // Trimitem notificare
-        NotificationProducer.NotificationRequest notification = new NotificationProducer.NotificationRequest(
-            user.getEmail(),
-            "Job application to " + job.getCompany() + " confirmed",
-            "You have successfully applied to " + job.getTitle() + " at " + job.getCompany()
-        );
-        notificationProducer.sendNotification(notification);
-
-        // Salvam notificarea în baza de date pentru Admin Log
-        NotificationLog log = new NotificationLog();
-        log.setRecipientEmail(user.getEmail());
-        log.setSubject(notification.getSubject());
-        log.setBody(notification.getBody());
-        log.setSentAt(LocalDateTime.now().toString());
-        notificationRepository.save(log);
-
-        return userRepository.save(user);
+
+        // Datele jobului vin din catalogul job-service, nu din ce a trimis clientul
+        if (job.getExternalId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "externalId is required");
+        }
+        try {
+            JobServiceClient.JobPosting posting = jobLookupService.find(job.getExternalId());
+            if (posting == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + job.getExternalId());
+            }
+            job.setTitle(posting.title());
+            job.setCompany(posting.company());
+            job.setLocation(posting.location());
+            job.setUrl(posting.url());
+        } catch (RestClientException e) {
+            // Fără catalog nu putem verifica jobul, iar datele trimise de client nu le salvăm nevalidate
+            System.err.println("Could not validate job " + job.getExternalId() + " against job-service: " + e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Job catalog unavailable, try again later");
+        }
+
+        try {
+            return notificationOutbox.inTransaction(() -> {
+                applicationRepository.insert(Application.of(user.getId(), job, Instant.now()));
+
+                // Trimitem notificare
+                notificationOutbox.add(new NotificationProducer.NotificationRequest(
+                    user.getEmail(),
+                    "Job application to " + job.getCompany() + " confirmed",
+                    "You have successfully applied to " + job.getTitle() + " at " + job.getCompany()
+                ));
+                return user;
+            });
+        } catch (DuplicateKeyException e) {
+            // A aplicat deja la jobul ăsta
+            return user;
+        }
     }
-    
-    public void deleteUser(String id) {
-        User user = userRepository.findById(id)
-                 .orElseThrow(() -> new RuntimeException("User not found"));
-        userRepository.delete(user);
+
+    /**
+     * O pagină din aplicările utilizatorului, cele mai noi întâi, cu datele actuale din catalog pentru joburile
+     * încă listate. Toate joburile paginii se cer într-un singur drum la job-service; cele care au ieșit din
+     * catalog rămân cum au fost salvate.
+     */
+    public List<Application> getApplications(String id, int page, int size) {
+        if (!userRepository.existsById(id)) {
+            throw new RuntimeException("User not found");
+        }
+        List<Application> applications = applicationRepository.findByUserIdOrderByAppliedAtDesc(id, PageRequest.of(page, size));
+        try {
+            Map<String, JobServiceClient.JobPosting> postings = jobLookupService.findAll(
+                    applications.stream().map(Application::getExternalId).toList());
+            for (Application application : applications) {
+                JobServiceClient.JobPosting posting = postings.get(application.getExternalId());
+                if (posting != null) {
+                    application.setTitle(posting.title());
+                    application.setCompany(posting.company());
+                    application.setLocation(posting.location());
+                    application.setUrl(posting.url());
+                }
+            }
+        } catch (RestClientException e) {
+            System.err.println("Could not refresh applied jobs from job-service: " + e.getMessage());
+        }
+        return applications;
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public long countApplications(String id) {
+        return applicationRepository.countByUserId(id);
     }
-    
-    public List<NotificationLog> getAllNotifications() {
-        return notificationRepository.findAll();
+
+    // Aplicările și utilizatorul se șterg împreună; aplicările primele, deci nici fără tranzacție nu rămân orfane
+    public void deleteUser(String id) {
+        User user = userRepository.findById(id)
+                 .orElseThrow(() -> new RuntimeException("User not found"));
+        notificationOutbox.inTransaction(() -> {
+            applicationRepository.deleteByUserId(id);
+            // După id, fără verificarea versiunii: o modificare a preferințelor între citire și ștergere nu o oprește
+            userRepository.deleteById(id);
+            return null;
+        });
+        evictSyncCache(user);
+        jobAlertService.preferencesChanged();
     }
 
     public User getUserById(String id) {
@@ -0,0 +1,135 @@
+package com.example.userservice.controller;
+
+import com.example.userservice.migration.ApplicationsMigration;
+import com.example.userservice.model.Application;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.ApplicationRepository;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.service.AdminListingService;
+import com.example.userservice.service.JobAlertService;
+import com.example.userservice.service.JobLookupService;
+import com.example.userservice.service.JobServiceClient;
+import com.example.userservice.service.NotificationOutbox;
+import com.example.userservice.service.UserService;
+import com.example.userservice.support.EmbeddedMongo;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/users/{id}/jobs pe un Mongo în proces: pagini din colecția applications, cele mai noi întâi.
+ */
+class UserControllerApplicationsTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private EmbeddedMongo mongo;
+    private JobLookupService jobLookupService;
+    private MockMvc mockMvc;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new EmbeddedMongo();
+        new ApplicationsMigration(mongo.template(), "UTC").afterSingletonsInstantiated();
+        UserRepository userRepository = mongo.repository(UserRepository.class);
+        ApplicationRepository applicationRepository = mongo.repository(ApplicationRepository.class);
+
+        User user = new User();
+        user.setKeycloakId("sub-1");
+        userId = userRepository.save(user).getId();
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Aplicările în ordine amestecată, ca sortarea să vină din interogare
+            int minutes = (i * 7) % 25;
+            applications.add(new Application(null, userId, "job-" + minutes, "Saved " + minutes, "Company", null, null,
+                    START.plus(Duration.ofMinutes(minutes))));
+        }
+        applicationRepository.insert(applications);
+        applicationRepository.insert(new Application(null, "other-user", "job-99", "Other", null, null, null, START));
+
+        jobLookupService = mock(JobLookupService.class);
+        UserService userService = new UserService(userRepository, mongo.template(), mock(NotificationOutbox.class),
+                applicationRepository, mock(JobAlertService.class), jobLookupService, Duration.ofSeconds(30), 100);
+        // Datele ca text ISO, ca în aplicație (Spring Boot dezactivează WRITE_DATES_AS_TIMESTAMPS)
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, mock(AdminListingService.class)))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void applications_NewestFirst_PagedWithTotal() throws Exception {
+        when(jobLookupService.findAll(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/users/{id}/jobs", userId).param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "25"))
+                .andExpect(jsonPath("$", hasSize(10)))
+                .andExpect(jsonPath("$[0].externalId").value("job-24"))
+                .andExpect(jsonPath("$[0].appliedAt").value("2025-01-01T00:24:00Z"))
+                .andExpect(jsonPath("$[9].externalId").value("job-15"));
+
+        mockMvc.perform(get("/api/users/{id}/jobs", userId).param("page", "2").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].externalId").value("job-4"))
+                .andExpect(jsonPath("$[4].externalId").value("job-0"));
+    }
+
+    @Test
+    void applications_StillListedJobs_ShowCurrentCatalogData() throws Exception {
+        when(jobLookupService.findAll(anyCollection())).thenReturn(Map.of("job-24",
+                new JobServiceClient.JobPosting("job-24", "Current title", "Current company", "Cluj", "http://example.com", false, List.of())));
+
+        mockMvc.perform(get("/api/users/{id}/jobs", userId).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Current title"))
+                .andExpect(jsonPath("$[1].title").value("Saved 23"));
+    }
+
+    @Test
+    void applications_JobServiceDown_ServesSavedData() throws Exception {
+        when(jobLookupService.findAll(anyCollection())).thenThrow(new ResourceAccessException("Connection refused"));
+
+        mockMvc.perform(get("/api/users/{id}/jobs", userId).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Saved 24"));
+    }
+
+    @Test
+    void applications_SizeIsCapped() throws Exception {
+        when(jobLookupService.findAll(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/users/{id}/jobs", userId).param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(25)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.userservice.migration;
+
+import com.example.userservice.model.Application;
+import com.example.userservice.support.EmbeddedMongo;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationsMigrationTest {
+
+    private static final ZoneId BUCHAREST = ZoneId.of("Europe/Bucharest");
+
+    private EmbeddedMongo mongo;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new EmbeddedMongo();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void embeddedApplications_MovedInChunks_AndRemovedFromUsers() {
+        // Mai multe aplicări decât un lot, ca mutarea să treacă prin mai multe loturi
+        int users = 30;
+        int jobsPerUser = 2 * ApplicationsMigration.CHUNK_SIZE / users + 7;
+        List<Document> documents = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            List<Document> jobs = new ArrayList<>();
+            for (int j = 0; j < jobsPerUser; j++) {
+                jobs.add(legacyJob("job-" + j, "2024-03-01T10:15:30." + String.format("%03d", j)));
+            }
+            documents.add(new Document("_id", new ObjectId()).append("email", "u" + u + "@example.com").append("appliedJobs", jobs));
+        }
+        mongo.template().insert(documents, "users");
+
+        migration().afterSingletonsInstantiated();
+
+        assertEquals((long) users * jobsPerUser, mongo.template().count(new Query(), Application.class));
+        assertEquals(0, mongo.template().count(Query.query(Criteria.where("appliedJobs").exists(true)), "users"));
+        assertEquals(users, mongo.template().count(new Query(), "users"));
+
+        String userId = documents.get(0).getObjectId("_id").toHexString();
+        Application first = mongo.template().findOne(
+                Query.query(Criteria.where("userId").is(userId).and("externalId").is("job-0")), Application.class);
+        assertNotNull(first);
+        assertEquals("Title job-0", first.getTitle());
+        // 10:15 la București în martie (UTC+2)
+        assertEquals(Instant.parse("2024-03-01T08:15:30Z"), first.getAppliedAt());
+    }
+
+    @Test
+    void rerun_IsIdempotent() {
+        mongo.template().insert(new Document("_id", new ObjectId())
+                .append("appliedJobs", List.of(legacyJob("job-1", "2024-03-01T10:15:30"))), "users");
+        migration().afterSingletonsInstantiated();
+
+        // O pornire întreruptă după scrierea aplicărilor, dar înainte de ștergerea appliedJobs
+        mongo.template().insert(new Document("_id", new ObjectId())
+                .append("appliedJobs", List.of(legacyJob("job-2", "2024-03-02T10:15:30"))), "users");
+        String userId = mongo.template().findOne(Query.query(Criteria.where("appliedJobs").exists(true)), Document.class, "users")
+                .getObjectId("_id").toHexString();
+        mongo.template().insert(new Application(null, userId, "job-2", "Title job-2", null, null, null,
+                Instant.parse("2024-03-02T08:15:30Z")));
+
+        migration().afterSingletonsInstantiated();
+        migration().afterSingletonsInstantiated();
+
+        assertEquals(2, mongo.template().count(new Query(), Application.class));
+    }
+
+    @Test
+    void textAppliedAt_InApplications_IsConvertedToDate() {
+        mongo.template().insert(new Document("userId", "u1").append("externalId", "job-1")
+                .append("appliedAt", "2024-07-01T12:00:00"), "applications");
+        mongo.template().insert(new Document("userId", "u1").append("externalId", "job-2")
+                .append("appliedAt", "not a date"), "applications");
+
+        migration().afterSingletonsInstantiated();
+
+        assertEquals(0, mongo.template().count(Query.query(Criteria.where("appliedAt").type(2)), Application.class));
+        Document converted = mongo.template().findOne(Query.query(Criteria.where("externalId").is("job-1")), Document.class, "applications");
+        assertEquals(Date.from(Instant.parse("2024-07-01T09:00:00Z")), converted.get("appliedAt"));
+        // Textul stricat primește data creării documentului, fără să oprească migrarea
+        Document broken = mongo.template().findOne(Query.query(Criteria.where("externalId").is("job-2")), Document.class, "applications");
+        assertEquals(broken.getObjectId("_id").getDate(), broken.get("appliedAt"));
+    }
+
+    @Test
+    void legacyInstant_ReadsLocalTextInLegacyZone() {
+        Instant fallback = Instant.EPOCH;
+        assertEquals(Instant.parse("2024-01-15T08:00:00Z"),
+                ApplicationsMigration.legacyInstant("2024-01-15T10:00:00", BUCHAREST, fallback));
+        assertEquals(Instant.parse("2024-01-15T10:00:00.123456Z"),
+                ApplicationsMigration.legacyInstant("2024-01-15T10:00:00.123456", ZoneId.of("UTC"), fallback));
+        assertEquals(Instant.parse("2024-01-15T10:00:00Z"),
+                ApplicationsMigration.legacyInstant("2024-01-15T12:00:00+02:00", BUCHAREST, fallback));
+        assertEquals(fallback, ApplicationsMigration.legacyInstant("15/01/2024", BUCHAREST, fallback));
+        assertEquals(fallback, ApplicationsMigration.legacyInstant(null, BUCHAREST, fallback));
+    }
+
+    private ApplicationsMigration migration() {
+        return new ApplicationsMigration(mongo.template(), BUCHAREST.getId());
+    }
+
+    private static Document legacyJob(String externalId, String appliedAt) {
+        return new Document("externalId", externalId)
+                .append("title", "Title " + externalId)
+                .append("company", "Company")
+                .append("appliedAt", appliedAt);
+    }
+}
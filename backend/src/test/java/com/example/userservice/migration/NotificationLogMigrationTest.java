@@ -0,0 +1,147 @@
+package com.example.userservice.migration;
+
+import com.example.userservice.model.NotificationLog;
+import com.example.userservice.support.EmbeddedMongo;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationLogMigrationTest {
+
+    // Mongo-ul din proces nu știe update-uri cu pipeline: dacă migrarea ar încerca din nou conversia, ar eșua
+    @Test
+    void alreadyApplied_SkipsTheConversion() {
+        try (EmbeddedMongo mongo = new EmbeddedMongo()) {
+            mongo.template().insert(new Document("_id", NotificationLogMigration.SENT_AT_DATE),
+                    NotificationLogMigration.MIGRATIONS_COLLECTION);
+            mongo.template().insert(new Document("subject", "Log").append("sentAt", "2024-03-01T10:15:30"), "notification_logs");
+
+            assertDoesNotThrow(() -> new NotificationLogMigration(mongo.template(), Duration.ofDays(90), "UTC")
+                    .afterSingletonsInstantiated());
+
+            assertEquals("2024-03-01T10:15:30", mongo.template().findOne(new Query(), Document.class, "notification_logs")
+                    .getString("sentAt"));
+        }
+    }
+
+    /**
+     * Conversia rulează ca update cu pipeline ($dateFromString), pe care doar un Mongo adevărat îl execută;
+     * testele au nevoie de Docker.
+     */
+    @Nested
+    @Testcontainers(disabledWithoutDocker = true)
+    class OnRealMongo {
+
+        @Container
+        static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+        private static MongoClient client;
+        private static MongoTemplate mongoTemplate;
+
+        @BeforeAll
+        static void connect() {
+            client = MongoClients.create(MONGO.getReplicaSetUrl("userdb"));
+            mongoTemplate = new MongoTemplate(client, "userdb");
+        }
+
+        @AfterAll
+        static void close() {
+            client.close();
+        }
+
+        @BeforeEach
+        void setUp() {
+            mongoTemplate.dropCollection(NotificationLog.class);
+            mongoTemplate.dropCollection(NotificationLogMigration.MIGRATIONS_COLLECTION);
+        }
+
+        @Test
+        void textSentAt_IsReadInLegacyZone() {
+            insertLog(new ObjectId(), "2024-03-01T10:15:30.123456");
+
+            migration().afterSingletonsInstantiated();
+
+            assertEquals(Instant.parse("2024-03-01T08:15:30.123Z"), sentAtOf("Log"));
+        }
+
+        @Test
+        void unreadableOrMissingSentAt_FallsBackToCreationTime() {
+            ObjectId broken = new ObjectId(Date.from(Instant.parse("2024-05-01T12:00:00Z")));
+            insertLog(broken, "yesterday");
+            ObjectId missing = new ObjectId(Date.from(Instant.parse("2024-05-02T12:00:00Z")));
+            mongoTemplate.insert(new Document("_id", missing).append("subject", "Missing").append("sentAt", null), "notification_logs");
+
+            assertDoesNotThrow(() -> migration().afterSingletonsInstantiated());
+
+            assertEquals(Instant.parse("2024-05-01T12:00:00Z"), sentAtOf("Log"));
+            assertEquals(Instant.parse("2024-05-02T12:00:00Z"), sentAtOf("Missing"));
+        }
+
+        @Test
+        void secondStart_DoesNotConvertAgain() {
+            migration().afterSingletonsInstantiated();
+            assertTrue(mongoTemplate.exists(Query.query(Criteria.where("_id").is(NotificationLogMigration.SENT_AT_DATE)),
+                    NotificationLogMigration.MIGRATIONS_COLLECTION));
+            // Un text apărut după conversie nu mai e atins: dovada că log-ul nu mai e parcurs
+            insertLog(new ObjectId(), "2024-03-01T10:15:30");
+
+            migration().afterSingletonsInstantiated();
+
+            Document log = mongoTemplate.findOne(Query.query(Criteria.where("subject").is("Log")), Document.class, "notification_logs");
+            assertEquals("2024-03-01T10:15:30", log.getString("sentAt"));
+        }
+
+        @Test
+        void indexes_RangeIndexIsCompoundAndTtlStaysSingleField() {
+            migration().afterSingletonsInstantiated();
+
+            IndexInfo range = index("sentAt_id");
+            assertEquals(2, range.getIndexFields().size());
+            assertEquals("sentAt", range.getIndexFields().get(0).getKey());
+            assertEquals("_id", range.getIndexFields().get(1).getKey());
+
+            IndexInfo ttl = index(NotificationLogMigration.TTL_INDEX);
+            assertEquals(1, ttl.getIndexFields().size());
+            assertEquals(Duration.ofDays(90), ttl.getExpireAfter().orElseThrow());
+        }
+
+        private NotificationLogMigration migration() {
+            return new NotificationLogMigration(mongoTemplate, Duration.ofDays(90), "Europe/Bucharest");
+        }
+
+        private void insertLog(ObjectId id, String sentAt) {
+            mongoTemplate.insert(new Document("_id", id).append("subject", "Log").append("sentAt", sentAt), "notification_logs");
+        }
+
+        private Instant sentAtOf(String subject) {
+            Document log = mongoTemplate.findOne(Query.query(Criteria.where("subject").is(subject)), Document.class, "notification_logs");
+            return log.getDate("sentAt").toInstant();
+        }
+
+        private IndexInfo index(String name) {
+            return mongoTemplate.indexOps(NotificationLog.class).getIndexInfo().stream()
+                    .filter(index -> index.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("missing index " + name));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.NotificationLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exportul NDJSON al log-ului de notificări scris din cursor: 100k intrări, mai multe decât încap în heap-ul
+ * JVM-ului de test (-Xmx32m, execuția small-heap din pom.xml). Dacă exportul ar aduna colecția în memorie,
+ * testul ar da OutOfMemoryError. Rulează doar cu Docker.
+ */
+@Tag("small-heap")
+@Testcontainers(disabledWithoutDocker = true)
+class AdminListingSmallHeapTest {
+
+    private static final int LOG_ENTRIES = 100_000;
+    private static final int INSERT_BATCH = 1_000;
+    // Cu body-ul ăsta exportul are peste 50 MB, deci nu poate sta întreg într-un heap de 32 MB
+    private static final String BODY = "x".repeat(500);
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void seed() {
+        client = MongoClients.create(MONGO.getReplicaSetUrl("userdb"));
+        mongoTemplate = new MongoTemplate(client, "userdb");
+        long start = System.currentTimeMillis() - LOG_ENTRIES;
+        // Inserate în loturi, ca nici pregătirea datelor să nu țină totul în heap
+        for (int offset = 0; offset < LOG_ENTRIES; offset += INSERT_BATCH) {
+            List<Document> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = offset; i < offset + INSERT_BATCH; i++) {
+                batch.add(new Document("recipientEmail", "user" + (i % 1000) + "@example.com")
+                        .append("subject", "Notification " + i)
+                        .append("body", BODY)
+                        .append("sentAt", new Date(start + i)));
+            }
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(NotificationLog.class)).insertMany(batch);
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void ndjsonExport_StreamsEveryEntryWithinSmallHeap() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        AdminListingService service = new AdminListingService(mongoTemplate, objectMapper, 500);
+        LineCountingStream out = new LineCountingStream();
+
+        service.ndjson(NotificationLog.class).writeTo(out);
+
+        assertEquals(LOG_ENTRIES, out.lines);
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        assertTrue(out.bytes > maxHeap, "export of " + out.bytes + " bytes should not fit in a heap of " + maxHeap);
+    }
+
+    // Numără liniile și octeții fără să păstreze nimic
+    private static final class LineCountingStream extends OutputStream {
+
+        private long lines;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.userservice.service;
+
+import com.example.userservice.migration.ApplicationsMigration;
+import com.example.userservice.model.Application;
+import com.example.userservice.model.Job;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.ApplicationRepository;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.support.EmbeddedMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sute de aplicări în paralel pe un Mongo real (în proces): nicio aplicare nu se pierde, niciuna nu apare
+ * de două ori, iar indexul unic (userId, externalId) face aplicările repetate idempotente.
+ */
+class ApplyToJobConcurrencyTest {
+
+    private static final int USERS = 5;
+    private static final int JOBS = 40;
+    private static final int REPEATS = 3;
+
+    private EmbeddedMongo mongo;
+    private ApplicationRepository applicationRepository;
+    private NotificationOutbox notificationOutbox;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new EmbeddedMongo();
+        new ApplicationsMigration(mongo.template(), "UTC").afterSingletonsInstantiated();
+        applicationRepository = mongo.repository(ApplicationRepository.class);
+        UserRepository userRepository = mongo.repository(UserRepository.class);
+        for (int u = 0; u < USERS; u++) {
+            userRepository.save(UserServiceTest.user("u" + u));
+        }
+
+        notificationOutbox = mock(NotificationOutbox.class);
+        when(notificationOutbox.inTransaction(any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(0)).get());
+        JobLookupService jobLookupService = mock(JobLookupService.class);
+        when(jobLookupService.find(anyString())).thenAnswer(call -> {
+            String id = call.getArgument(0);
+            return new JobServiceClient.JobPosting(id, "Title " + id, "Company " + id, "Cluj", "http://example.com/" + id,
+                    false, List.of());
+        });
+
+        userService = new UserService(userRepository, mongo.template(), notificationOutbox, applicationRepository,
+                mock(JobAlertService.class), jobLookupService, Duration.ofSeconds(30), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void applyToJob_HundredsInParallel_NoneLostOrDuplicated() throws Exception {
+        List<Callable<User>> calls = new ArrayList<>();
+        for (int r = 0; r < REPEATS; r++) {
+            for (int u = 0; u < USERS; u++) {
+                for (int j = 0; j < JOBS; j++) {
+                    String userId = "u" + u;
+                    String externalId = "job-" + j;
+                    calls.add(() -> userService.applyToJob(userId, UserServiceTest.job(externalId)));
+                }
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<User>> results = new ArrayList<>();
+            for (Callable<User> call : calls) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            for (Future<User> result : results) {
+                assertNotNull(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(USERS * JOBS, applicationRepository.count());
+        Set<String> keys = new HashSet<>();
+        for (Application application : applicationRepository.findAll()) {
+            assertTrue(keys.add(application.getUserId() + "/" + application.getExternalId()),
+                    "duplicate application " + application);
+            assertEquals("Title " + application.getExternalId(), application.getTitle());
+        }
+        for (int u = 0; u < USERS; u++) {
+            assertEquals(JOBS, userService.countApplications("u" + u));
+        }
+        // O notificare pentru fiecare aplicare nouă; repetările nu mai trimit nimic
+        verify(notificationOutbox, times(USERS * JOBS)).add(any(NotificationProducer.NotificationRequest.class));
+    }
+
+    @Test
+    void uniqueIndex_RejectsSecondApplicationToSameJob() {
+        Job job = UserServiceTest.job("job-1");
+        applicationRepository.insert(Application.of("u0", job, Instant.now()));
+
+        assertThrows(DuplicateKeyException.class, () -> applicationRepository.insert(Application.of("u0", job, Instant.now())));
+        // Alt utilizator poate aplica la același job
+        applicationRepository.insert(Application.of("u1", job, Instant.now()));
+
+        assertEquals(2, mongo.template().count(Query.query(Criteria.where("externalId").is("job-1")), Application.class));
+    }
+
+    @Test
+    void applyToJob_Repeated_IsIdempotent() {
+        userService.applyToJob("u0", UserServiceTest.job("job-1"));
+        userService.applyToJob("u0", UserServiceTest.job("job-1"));
+
+        assertEquals(1, userService.countApplications("u0"));
+        verify(notificationOutbox, atLeastOnce()).inTransaction(any());
+        verify(notificationOutbox, times(1)).add(any(NotificationProducer.NotificationRequest.class));
+    }
+}
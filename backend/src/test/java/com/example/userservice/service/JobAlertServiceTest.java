@@ -0,0 +1,148 @@
+package com.example.userservice.service;
+
+import com.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.example.userservice.service.PreferenceIndexTest.job;
+import static com.example.userservice.service.PreferenceIndexTest.user;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobAlertServiceTest {
+
+    @Mock
+    private JobServiceClient jobServiceClient;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Test
+    void poll_FirstPoll_OnlyRecordsCurrentVersion() {
+        JobAlertService alerts = alerts(Duration.ofHours(1), 100);
+        when(jobServiceClient.catalogVersion()).thenReturn(1L);
+
+        alerts.poll();
+
+        verify(jobServiceClient, never()).changesSince(any(Long.class));
+        verify(notificationOutbox, never()).addAll(anyList());
+    }
+
+    @Test
+    void poll_NewMatchingJobs_SendsOneAlertPerUser() {
+        JobAlertService alerts = startedAt(1L, Duration.ofHours(1), 100);
+        when(userRepository.findAlertSubscribers()).thenReturn(List.of(user("u1", "Java", null, null), user("u2", "Go", null, null)));
+        when(jobServiceClient.changesSince(1L)).thenReturn(delta(1L, 2L,
+            job("1", "Java Dev", "Berlin", false), job("2", "Java Lead", "Berlin", false), job("3", "Rust Dev", "Berlin", false)));
+
+        alerts.poll();
+
+        List<NotificationProducer.NotificationRequest> sent = sent(1).get(0);
+        assertEquals(1, sent.size());
+        assertEquals("u1@example.com", sent.get(0).getToEmail());
+        assertEquals("2 new jobs match your preferences", sent.get(0).getSubject());
+        assertTrue(sent.get(0).getBody().contains("Java Dev at Corp (Berlin): http://example.com/1"));
+        assertTrue(sent.get(0).getBody().contains("Java Lead"));
+    }
+
+    @Test
+    void poll_WithinMinInterval_HoldsJobsForNextAllowedAlert() throws Exception {
+        JobAlertService alerts = startedAt(1L, Duration.ofMillis(50), 100);
+        when(userRepository.findAlertSubscribers()).thenReturn(List.of(user("u1", "Java", null, null)));
+        when(jobServiceClient.changesSince(1L)).thenReturn(delta(1L, 2L, job("1", "Java Dev", "Berlin", false)));
+        when(jobServiceClient.changesSince(2L)).thenReturn(delta(2L, 3L, job("2", "Java Lead", "Berlin", false)));
+        when(jobServiceClient.changesSince(3L)).thenReturn(delta(3L, 3L));
+
+        alerts.poll();
+        alerts.poll();
+        sent(1);
+
+        Thread.sleep(100);
+        alerts.poll();
+
+        List<List<NotificationProducer.NotificationRequest>> batches = sent(2);
+        assertEquals("1 new job matches your preferences", batches.get(1).get(0).getSubject());
+        assertTrue(batches.get(1).get(0).getBody().contains("Java Lead"));
+    }
+
+    @Test
+    void poll_ManyMatches_ListsAtMostMaxJobsPerAlert() {
+        JobAlertService alerts = startedAt(1L, Duration.ofHours(1), 100);
+        when(userRepository.findAlertSubscribers()).thenReturn(List.of(user("u1", "Java", null, null)));
+        int total = JobAlertService.MAX_JOBS_PER_ALERT + 2;
+        when(jobServiceClient.changesSince(1L)).thenReturn(delta(1L, 2L, IntStream.range(0, total)
+            .mapToObj(i -> job("j" + i, "Java Dev " + i, "Berlin", false)).toArray(JobServiceClient.JobPosting[]::new)));
+
+        alerts.poll();
+
+        NotificationProducer.NotificationRequest alert = sent(1).get(0).get(0);
+        assertEquals(total + " new jobs match your preferences", alert.getSubject());
+        assertEquals(JobAlertService.MAX_JOBS_PER_ALERT, alert.getBody().lines().filter(line -> line.startsWith("- ")).count());
+        assertTrue(alert.getBody().contains("...and 2 more."));
+    }
+
+    @Test
+    void poll_ManyUsers_SendsInBatches() {
+        JobAlertService alerts = startedAt(1L, Duration.ofHours(1), 2);
+        when(userRepository.findAlertSubscribers()).thenReturn(List.of(
+            user("u1", "Java", null, null), user("u2", "Java", null, null), user("u3", "Java", null, null)));
+        when(jobServiceClient.changesSince(1L)).thenReturn(delta(1L, 2L, job("1", "Java Dev", "Berlin", false)));
+
+        alerts.poll();
+
+        List<List<NotificationProducer.NotificationRequest>> batches = sent(2);
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+    }
+
+    @Test
+    void poll_VersionNoLongerInHistory_SkipsWithoutAlerting() {
+        JobAlertService alerts = startedAt(1L, Duration.ofHours(1), 100);
+        when(jobServiceClient.changesSince(1L)).thenReturn(new JobServiceClient.CatalogDelta(1L, 9L, true, List.of()));
+        when(jobServiceClient.changesSince(9L)).thenReturn(delta(9L, 9L));
+
+        alerts.poll();
+        alerts.poll();
+
+        verify(jobServiceClient).changesSince(9L);
+        verify(notificationOutbox, never()).addAll(anyList());
+    }
+
+    private JobAlertService alerts(Duration minInterval, int batchSize) {
+        return new JobAlertService(jobServiceClient, userRepository, notificationOutbox, minInterval, batchSize, Duration.ofMinutes(10));
+    }
+
+    private JobAlertService startedAt(long version, Duration minInterval, int batchSize) {
+        JobAlertService alerts = alerts(minInterval, batchSize);
+        when(jobServiceClient.catalogVersion()).thenReturn(version);
+        alerts.poll();
+        return alerts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<NotificationProducer.NotificationRequest>> sent(int batches) {
+        ArgumentCaptor<List<NotificationProducer.NotificationRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutbox, times(batches)).addAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static JobServiceClient.CatalogDelta delta(long from, long to, JobServiceClient.JobPosting... added) {
+        return new JobServiceClient.CatalogDelta(from, to, false, List.of(added));
+    }
+}
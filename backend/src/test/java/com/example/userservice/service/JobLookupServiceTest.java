@@ -0,0 +1,122 @@
+package com.example.userservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobLookupServiceTest {
+
+    @Mock
+    private JobServiceClient jobServiceClient;
+
+    @Test
+    void findAll_CachedIds_AreNotFetchedAgainWithinTtl() {
+        JobLookupService lookup = lookup(Duration.ofMinutes(5), 100);
+        answerWithCatalog();
+
+        lookup.findAll(List.of("a", "b"));
+        Map<String, JobServiceClient.JobPosting> found = lookup.findAll(List.of("a", "b"));
+
+        assertEquals(2, found.size());
+        verify(jobServiceClient, times(1)).findJobs(anyCollection());
+    }
+
+    @Test
+    void findAll_ExpiredEntries_AreFetchedAgain() {
+        JobLookupService lookup = lookup(Duration.ZERO, 100);
+        answerWithCatalog();
+
+        lookup.findAll(List.of("a"));
+        lookup.findAll(List.of("a"));
+
+        verify(jobServiceClient, times(2)).findJobs(anyCollection());
+    }
+
+    @Test
+    void findAll_ManyIds_AreFetchedInChunksOfMaxBatchSize() {
+        JobLookupService lookup = lookup(Duration.ofMinutes(5), 10_000);
+        answerWithCatalog();
+        int total = JobServiceClient.MAX_BATCH_SIZE * 2 + 1;
+
+        Map<String, JobServiceClient.JobPosting> found = lookup.findAll(IntStream.range(0, total).mapToObj(i -> "job-" + i).toList());
+
+        assertEquals(total, found.size());
+        List<Collection<String>> requests = requests(3);
+        assertEquals(List.of(JobServiceClient.MAX_BATCH_SIZE, JobServiceClient.MAX_BATCH_SIZE, 1),
+            requests.stream().map(Collection::size).toList());
+    }
+
+    @Test
+    void findAll_DuplicateAndNullIds_AreRequestedOnce() {
+        JobLookupService lookup = lookup(Duration.ofMinutes(5), 100);
+        answerWithCatalog();
+
+        lookup.findAll(Arrays.asList("a", null, "a", "b"));
+
+        assertEquals(List.of("a", "b"), new ArrayList<>(requests(1).get(0)));
+    }
+
+    @Test
+    void findAll_MissingJobs_AreNotCached() {
+        JobLookupService lookup = lookup(Duration.ofMinutes(5), 100);
+        when(jobServiceClient.findJobs(anyCollection()))
+            .thenReturn(new JobServiceClient.JobBatch(1L, List.of(), List.of("gone")));
+
+        assertNull(lookup.find("gone"));
+        assertNull(lookup.find("gone"));
+
+        verify(jobServiceClient, times(2)).findJobs(anyCollection());
+    }
+
+    @Test
+    void findAll_CacheFull_IsClearedBeforeAddingMore() {
+        JobLookupService lookup = lookup(Duration.ofMinutes(5), 2);
+        answerWithCatalog();
+
+        lookup.findAll(List.of("a", "b"));
+        lookup.findAll(List.of("c"));
+        lookup.findAll(List.of("a"));
+
+        List<Collection<String>> requests = requests(3);
+        assertEquals(List.of("a"), new ArrayList<>(requests.get(2)));
+    }
+
+    private JobLookupService lookup(Duration ttl, int maxEntries) {
+        return new JobLookupService(jobServiceClient, ttl, maxEntries);
+    }
+
+    // job-service răspunde cu câte un job pentru fiecare id cerut
+    private void answerWithCatalog() {
+        when(jobServiceClient.findJobs(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return new JobServiceClient.JobBatch(1L, ids.stream()
+                .map(id -> new JobServiceClient.JobPosting(id, "Title " + id, "Corp", "Berlin", "http://example.com/" + id, false, List.of()))
+                .toList(), List.of());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<String>> requests(int count) {
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jobServiceClient, times(count)).findJobs(captor.capture());
+        // subList-urile trimise sunt vederi peste aceeași listă: le copiem înainte să le comparăm
+        return captor.getAllValues().stream().map(ids -> (Collection<String>) List.copyOf(ids)).toList();
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.Preferences;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.UserRepository;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Actualizarea preferințelor unui utilizator cu 1.000 de aplicări încă în document (forma de dinainte de
+ * ApplicationsMigration): findById + save() ca la început, findAndModify care întoarce tot documentul,
+ * și findAndModify cu proiecție ({@link UserService#modifyPreferences}).
+ * Rulare: main() din IDE sau mvn test-compile exec:java -Dexec.classpathScope=test
+ *         -Dexec.mainClass=com.example.userservice.service.ModifyPreferencesBenchmark [-Dmongo.uri=mongodb://...]
+ * Fără mongo.uri rulează pe un Mongo în proces: octeții sunt aceiași, latențele nu sunt cele de producție.
+ * Înainte de JMH, main() afișează câți bytes trimite și primește de la Mongo fiecare variantă, per apel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModifyPreferencesBenchmark {
+
+    @Param({"1000"})
+    public int applications;
+
+    private final ByteCounter bytes = new ByteCounter();
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserService userService;
+    private String userId;
+    private final Preferences preferences = new Preferences("Java Developer", List.of("Cluj", "Remote"), "Full-time", 5000.0);
+
+    @Setup
+    public void seed() {
+        String uri = System.getProperty("mongo.uri");
+        if (uri == null) {
+            server = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = server.bind();
+            uri = "mongodb://localhost:" + address.getPort();
+        }
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(bytes)
+                .build());
+        mongoTemplate = new MongoTemplate(client, "benchmark");
+        if (mongoTemplate.collectionExists("users")) {
+            mongoTemplate.dropCollection("users");
+        }
+
+        List<Document> appliedJobs = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            appliedJobs.add(new Document("externalId", "software-engineer-" + i)
+                    .append("title", "Senior Software Engineer (Java/Kotlin) " + i)
+                    .append("company", "Example Company GmbH")
+                    .append("location", "Berlin")
+                    .append("url", "https://www.arbeitnow.com/jobs/companies/example/software-engineer-" + i)
+                    .append("appliedAt", "2024-05-01T10:15:30.123456"));
+        }
+        ObjectId id = new ObjectId();
+        userId = id.toHexString();
+        mongoTemplate.insert(new Document("_id", id)
+                .append("keycloakId", "3f2a9c1e-5b7d-4e8f-9a0b-1c2d3e4f5a6b")
+                .append("username", "ana")
+                .append("email", "ana@example.com")
+                .append("firstName", "Ana")
+                .append("lastName", "Pop")
+                .append("roles", List.of("app_user"))
+                .append("version", 0L)
+                .append("appliedJobs", appliedJobs), "users");
+
+        UserRepository userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class);
+        userService = new UserService(userRepository, mongoTemplate, mock(NotificationOutbox.class), null,
+                mock(JobAlertService.class), mock(JobLookupService.class), Duration.ofSeconds(30), 100);
+    }
+
+    @TearDown
+    public void close() {
+        client.close();
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    // Cum era la început: citim tot documentul și îl scriem înapoi întreg
+    @Benchmark
+    public Document readAndSaveWholeDocument() {
+        Document user = mongoTemplate.findById(userId, Document.class, "users");
+        user.put("preferences", mongoTemplate.getConverter().convertToMongoType(preferences));
+        return mongoTemplate.save(user, "users");
+    }
+
+    // $set țintit, dar răspunsul aduce tot documentul
+    @Benchmark
+    public User findAndModifyWholeDocument() {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(userId)),
+                new Update().set("preferences", preferences).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    @Benchmark
+    public User findAndModifyProjected() {
+        return userService.modifyPreferences(userId, new Update().set("preferences", preferences));
+    }
+
+    public static void main(String[] args) throws Exception {
+        ModifyPreferencesBenchmark benchmark = new ModifyPreferencesBenchmark();
+        benchmark.applications = 1000;
+        benchmark.seed();
+        try {
+            int calls = 100;
+            report(benchmark, "readAndSaveWholeDocument  ", calls, benchmark::readAndSaveWholeDocument);
+            report(benchmark, "findAndModifyWholeDocument", calls, benchmark::findAndModifyWholeDocument);
+            report(benchmark, "findAndModifyProjected    ", calls, benchmark::findAndModifyProjected);
+        } finally {
+            benchmark.close();
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(ModifyPreferencesBenchmark.class.getSimpleName());
+        if (System.getProperty("mongo.uri") != null) {
+            options.jvmArgsAppend("-Dmongo.uri=" + System.getProperty("mongo.uri"));
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static void report(ModifyPreferencesBenchmark benchmark, String name, int calls, Runnable call) {
+        call.run();
+        benchmark.bytes.reset();
+        benchmark.bytes.enabled = true;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / calls;
+        benchmark.bytes.enabled = false;
+        System.out.printf("%s: sent %,d B, received %,d B, %,d us per call%n", name,
+                benchmark.bytes.sent.get() / calls, benchmark.bytes.received.get() / calls, micros);
+    }
+
+    // Mărimea BSON a comenzilor trimise și a răspunsurilor primite; oprit în timpul măsurătorilor JMH
+    private static final class ByteCounter implements CommandListener {
+
+        private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+        private volatile boolean enabled;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong received = new AtomicLong();
+
+        void reset() {
+            sent.set(0);
+            received.set(0);
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (enabled) {
+                sent.addAndGet(size(event.getCommand()));
+            }
+        }
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent event) {
+            if (enabled) {
+                received.addAndGet(size(event.getResponse()));
+            }
+        }
+
+        private static long size(BsonDocument document) {
+            return document instanceof RawBsonDocument raw
+                    ? raw.getByteBuffer().remaining()
+                    : new RawBsonDocument(document, CODEC).getByteBuffer().remaining();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.NotificationLog;
+import com.example.userservice.model.OutboxMessage;
+import com.example.userservice.repository.NotificationRepository;
+import com.example.userservice.support.EmbeddedMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.ConnectException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxRelayTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private EmbeddedMongo mongo;
+    private NotificationOutbox outbox;
+    private NotificationRepository notificationRepository;
+    private FakeBroker broker;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new EmbeddedMongo();
+        outbox = mock(NotificationOutbox.class);
+        when(outbox.inTransaction(any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(0)).get());
+        notificationRepository = mongo.repository(NotificationRepository.class);
+        broker = new FakeBroker();
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void relayBatch_AllConfirmed_LogsAndMarksEach() {
+        List<String> ids = addMessages(3);
+
+        assertTrue(relay(10).relayBatch());
+
+        assertEquals(ids, broker.published);
+        assertEquals(3, mongo.template().count(new Query(), NotificationLog.class));
+        for (String id : ids) {
+            OutboxMessage message = message(id);
+            assertEquals(clock.instant(), message.getSentAt());
+            assertEquals(1, message.getAttempts());
+        }
+        assertFalse(relay(10).relayBatch());
+    }
+
+    @Test
+    void relayBatch_WritesTheLogsOfABatchInOneBulkInsert() {
+        NotificationRepository repository = mock(NotificationRepository.class, delegatesTo(notificationRepository));
+        addMessages(50);
+
+        new NotificationOutboxRelay(mongo.template(), outbox, broker, repository, 200, POLL_INTERVAL,
+                Duration.ofSeconds(5), LEASE, MAX_ATTEMPTS, clock).relayBatch();
+
+        verify(repository, times(1)).insert(anyList());
+        verify(repository, never()).save(any(NotificationLog.class));
+        assertEquals(50, mongo.template().count(new Query(), NotificationLog.class));
+    }
+
+    @Test
+    void relayBatch_OneNacked_OthersMarkedAndOnlyItIsRetried() {
+        List<String> ids = addMessages(3);
+        broker.nack.put(ids.get(1), 1);
+
+        relay(10).relayBatch();
+
+        assertNotNull(message(ids.get(0)).getSentAt());
+        assertNotNull(message(ids.get(2)).getSentAt());
+        OutboxMessage nacked = message(ids.get(1));
+        assertNull(nacked.getSentAt());
+        assertEquals("nack: broker error", nacked.getLastError());
+        assertEquals(2, mongo.template().count(new Query(), NotificationLog.class));
+
+        // Până la următoarea încercare mesajul nu e luat din nou
+        assertFalse(relay(10).relayBatch());
+        clock.advance(POLL_INTERVAL);
+        broker.published.clear();
+        assertTrue(relay(10).relayBatch());
+
+        assertEquals(List.of(ids.get(1)), broker.published);
+        assertNotNull(message(ids.get(1)).getSentAt());
+        assertEquals(2, message(ids.get(1)).getAttempts());
+        assertEquals(3, mongo.template().count(new Query(), NotificationLog.class));
+    }
+
+    @Test
+    void relayBatch_PoisonMessage_IsDeadLetteredAfterMaxAttempts() {
+        List<String> ids = addMessages(2);
+        broker.nack.put(ids.get(0), Integer.MAX_VALUE);
+        NotificationOutboxRelay relay = relay(10);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            assertTrue(relay.relayBatch());
+            clock.advance(Duration.ofMinutes(1));
+        }
+        assertFalse(relay.relayBatch());
+
+        OutboxMessage poison = message(ids.get(0));
+        assertNull(poison.getSentAt());
+        assertNotNull(poison.getFailedAt());
+        assertEquals(MAX_ATTEMPTS, poison.getAttempts());
+        // Mesajul bun a plecat o singură dată, nu la fiecare reîncercare a celui stricat
+        assertEquals(1, broker.published.stream().filter(ids.get(1)::equals).count());
+        assertEquals(MAX_ATTEMPTS, broker.published.stream().filter(ids.get(0)::equals).count());
+    }
+
+    @Test
+    void claim_SecondReplicaDoesNotTakeClaimedMessages_UntilLeaseExpires() {
+        addMessages(4);
+        NotificationOutboxRelay first = relay(10);
+        NotificationOutboxRelay second = relay(10);
+
+        assertEquals(4, first.claim("first").size());
+        assertTrue(second.claim("second").isEmpty());
+
+        // Primul relay s-a oprit fără să marcheze nimic: după lease, mesajele sunt preluate
+        clock.advance(LEASE);
+        assertEquals(4, second.claim("second").size());
+    }
+
+    @Test
+    void claim_TakesAtMostBatchSize_OldestFirst() {
+        List<String> ids = addMessages(5);
+
+        List<OutboxMessage> claimed = relay(2).claim("token");
+
+        assertEquals(ids.subList(0, 2), claimed.stream().map(OutboxMessage::getId).toList());
+    }
+
+    @Test
+    void relayBatch_BrokerDown_ReleasesWithoutCountingAttempt() {
+        List<String> ids = addMessages(2);
+        broker.down = true;
+
+        assertThrows(AmqpConnectException.class, () -> relay(10).relayBatch());
+
+        for (String id : ids) {
+            OutboxMessage message = message(id);
+            assertEquals(0, message.getAttempts());
+            assertNull(message.getClaimedUntil());
+            assertNull(message.getSentAt());
+        }
+        broker.down = false;
+        assertTrue(relay(10).relayBatch());
+        assertEquals(2, mongo.template().count(new Query(), NotificationLog.class));
+    }
+
+    @Test
+    void markSent_LeaseTakenOverByAnotherRelay_DoesNotLogTwice() {
+        List<String> ids = addMessages(1);
+        NotificationOutboxRelay slow = relay(10);
+        // Relay-ul lent a revendicat mesajul, iar până la confirmare lease-ul a expirat și l-a trimis altul
+        broker.onPublish = () -> {
+            clock.advance(LEASE);
+            broker.onPublish = null;
+            relay(10).relayBatch();
+        };
+
+        slow.relayBatch();
+
+        assertEquals(1, mongo.template().count(new Query(), NotificationLog.class));
+        assertNotNull(message(ids.get(0)).getSentAt());
+    }
+
+    @Test
+    void leaseNotLongerThanConfirmTimeout_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationOutboxRelay(mongo.template(), outbox, broker,
+                notificationRepository, 10, POLL_INTERVAL, Duration.ofSeconds(5), Duration.ofSeconds(5), MAX_ATTEMPTS, clock));
+    }
+
+    private NotificationOutboxRelay relay(int batchSize) {
+        return new NotificationOutboxRelay(mongo.template(), outbox, broker, notificationRepository, batchSize,
+                POLL_INTERVAL, Duration.ofSeconds(5), LEASE, MAX_ATTEMPTS, clock);
+    }
+
+    private List<String> addMessages(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(mongo.template().insert(OutboxMessage.pending("user" + i + "@example.com", "Subject " + i, "Body", clock.instant())).getId());
+        }
+        return ids;
+    }
+
+    private OutboxMessage message(String id) {
+        return mongo.template().findOne(Query.query(Criteria.where("_id").is(id)), OutboxMessage.class);
+    }
+
+    // Confirmă tot, în afară de mesajele din nack (de câte ori să le refuze) sau dacă e oprit
+    private static final class FakeBroker extends NotificationProducer {
+
+        private final List<String> published = new ArrayList<>();
+        private final Map<String, Integer> nack = new HashMap<>();
+        private boolean down;
+        private Runnable onPublish;
+
+        FakeBroker() {
+            super(null);
+        }
+
+        @Override
+        public Map<String, String> sendConfirmed(Map<String, NotificationRequest> requests, Duration confirmTimeout) {
+            if (down) {
+                throw new AmqpConnectException(new ConnectException("Connection refused"));
+            }
+            published.addAll(requests.keySet());
+            if (onPublish != null) {
+                onPublish.run();
+            }
+            Map<String, String> failed = new HashMap<>();
+            for (String id : requests.keySet()) {
+                Integer remaining = nack.get(id);
+                if (remaining != null && remaining > 0) {
+                    nack.put(id, remaining - 1);
+                    failed.put(id, "nack: broker error");
+                }
+            }
+            return failed;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
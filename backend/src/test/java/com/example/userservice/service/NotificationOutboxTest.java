@@ -0,0 +1,152 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.OutboxMessage;
+import com.example.userservice.support.EmbeddedMongo;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxTest {
+
+    @Test
+    void standaloneMongo_FailsAtStartup() {
+        try (EmbeddedMongo mongo = new EmbeddedMongo()) {
+            NotificationOutbox outbox = new NotificationOutbox(mongo.template(), mongo.template().getMongoDatabaseFactory());
+
+            IllegalStateException error = assertThrows(IllegalStateException.class, outbox::requireTransactions);
+            assertTrue(error.getMessage().contains("replica set"));
+        }
+    }
+
+    /**
+     * Fără Docker: MongoTransactionManager și MongoTemplate adevărate, peste un driver simulat. Arată că scrierea
+     * schimbării și insert-ul din outbox trec prin aceeași sesiune a tranzacției, iar o eroare după insert face
+     * abort, nu commit; ce înseamnă abort pe server verifică testele OnReplicaSet.
+     */
+    @Test
+    void inTransaction_FailureAfterOutboxWrite_AbortsTheTransactionBothWritesJoined() {
+        MongoClient client = mock(MongoClient.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        ClientSession session = mock(ClientSession.class);
+        MongoCollection<Document> changes = collection(database, "changes");
+        MongoCollection<Document> outboxMessages = collection(database, "notification_outbox");
+        when(client.getDatabase("userdb")).thenReturn(database);
+        when(client.startSession(any(ClientSessionOptions.class))).thenReturn(session);
+        when(session.hasActiveTransaction()).thenReturn(true);
+        MongoTemplate mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, "userdb"));
+        NotificationOutbox outbox = new NotificationOutbox(mongoTemplate, mongoTemplate.getMongoDatabaseFactory());
+
+        assertThrows(IllegalStateException.class, () -> outbox.inTransaction(() -> {
+            mongoTemplate.insert(new Document("change", 1), "changes");
+            outbox.add(new NotificationProducer.NotificationRequest("ana@example.com", "Subject", "Body"));
+            throw new IllegalStateException("crash before commit");
+        }));
+
+        verify(changes).insertOne(eq(session), any(Document.class));
+        verify(outboxMessages).insertMany(eq(session), anyList());
+        verify(changes, never()).insertOne(any(Document.class));
+        verify(outboxMessages, never()).insertMany(anyList());
+        verify(session).startTransaction();
+        verify(session).abortTransaction();
+        verify(session, never()).commitTransaction();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<Document> collection(MongoDatabase database, String name) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(database.getCollection(name, Document.class)).thenReturn(collection);
+        when(collection.withWriteConcern(any())).thenReturn(collection);
+        return collection;
+    }
+
+    /**
+     * Pe un replica set adevărat: schimbarea și mesajul din outbox se scriu împreună sau deloc. Are nevoie de Docker.
+     */
+    @Nested
+    @Testcontainers(disabledWithoutDocker = true)
+    class OnReplicaSet {
+
+        @Container
+        static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+        private static MongoClient client;
+        private static MongoTemplate mongoTemplate;
+
+        private NotificationOutbox outbox;
+
+        @BeforeAll
+        static void connect() {
+            client = MongoClients.create(MONGO.getReplicaSetUrl("userdb"));
+            mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(client, "userdb"));
+            // În tranzacții colecțiile trebuie să existe deja
+            mongoTemplate.createCollection(OutboxMessage.class);
+            mongoTemplate.createCollection("changes");
+        }
+
+        @AfterAll
+        static void close() {
+            client.close();
+        }
+
+        @BeforeEach
+        void setUp() {
+            mongoTemplate.remove(new Query(), OutboxMessage.class);
+            mongoTemplate.remove(new Query(), "changes");
+            outbox = new NotificationOutbox(mongoTemplate, mongoTemplate.getMongoDatabaseFactory());
+            outbox.requireTransactions();
+        }
+
+        @Test
+        void inTransaction_Commit_WritesChangeAndMessage() {
+            outbox.inTransaction(() -> {
+                mongoTemplate.insert(new Document("change", 1), "changes");
+                outbox.add(new NotificationProducer.NotificationRequest("ana@example.com", "Subject", "Body"));
+                return null;
+            });
+
+            assertEquals(1, mongoTemplate.count(new Query(), "changes"));
+            assertEquals(1, mongoTemplate.count(new Query(), OutboxMessage.class));
+        }
+
+        @Test
+        void inTransaction_FailureAfterOutboxWrite_WritesNeither() {
+            AtomicBoolean added = new AtomicBoolean();
+            assertThrows(IllegalStateException.class, () -> outbox.inTransaction(() -> {
+                mongoTemplate.insert(new Document("change", 1), "changes");
+                outbox.add(new NotificationProducer.NotificationRequest("ana@example.com", "Subject", "Body"));
+                added.set(true);
+                throw new IllegalStateException("crash before commit");
+            }));
+
+            assertTrue(added.get());
+            assertEquals(0, mongoTemplate.count(new Query(), "changes"));
+            assertEquals(0, mongoTemplate.count(new Query(), OutboxMessage.class));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.Preferences;
+import com.example.userservice.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreferenceIndexTest {
+
+    @Test
+    void match_TitleWithAllSpecificRoleWords_Matches() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java Developer", null, null)));
+
+        List<PreferenceIndex.Match> matches = index.match(List.of(job("1", "Senior Java Developer (m/w/d)", "Berlin", false)));
+
+        assertEquals(1, matches.size());
+        assertEquals("u1", matches.get(0).subscriber().userId());
+        assertEquals("1", matches.get(0).jobs().get(0).id());
+    }
+
+    @Test
+    void match_OnlyGenericWordsInCommon_DoesNotMatch() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java Developer", null, null)));
+
+        assertTrue(index.match(List.of(job("1", "Senior Python Developer", "Berlin", false))).isEmpty());
+    }
+
+    @Test
+    void match_RequiresEverySpecificWord() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java Spring Engineer", null, null)));
+
+        assertTrue(index.match(List.of(job("1", "Java Engineer", "Berlin", false))).isEmpty());
+        assertEquals(1, index.match(List.of(job("2", "Backend Engineer (Java / Spring Boot)", "Berlin", false))).size());
+    }
+
+    @Test
+    void match_AllGenericRole_UsesGenericWords() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Senior Developer", null, null)));
+
+        assertEquals(1, index.match(List.of(job("1", "Senior Go Developer", "Berlin", false))).size());
+        assertTrue(index.match(List.of(job("2", "Junior Go Developer", "Berlin", false))).isEmpty());
+    }
+
+    @Test
+    void roleWords_DropsGenericWordsAndFoldsDiacritics() {
+        assertEquals(Set.of("kotlin"), PreferenceIndex.roleWords("Senior Kotlin Developer (m/w/d)"));
+        assertEquals(Set.of("senior", "developer"), PreferenceIndex.roleWords("Senior Developer"));
+        assertEquals(Set.of("munchen", "ubersetzer"), PreferenceIndex.tokenize("München Übersetzer"));
+    }
+
+    @Test
+    void match_Location_RequiresAllLocationWordsInJobLocation() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", List.of("Frankfurt am Main"), null)));
+
+        assertEquals(1, index.match(List.of(job("1", "Java Dev", "Frankfurt am Main, Hessen", false))).size());
+        assertTrue(index.match(List.of(job("2", "Java Dev", "Frankfurt (Oder)", false))).isEmpty());
+    }
+
+    @Test
+    void match_RemotePreference_AcceptsRemoteJobsAnywhere() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", List.of("Berlin", "Remote"), null)));
+
+        assertEquals(1, index.match(List.of(job("1", "Java Dev", "Hamburg", true))).size());
+        assertEquals(1, index.match(List.of(job("2", "Java Dev", "Berlin", false))).size());
+        assertTrue(index.match(List.of(job("3", "Java Dev", "Hamburg", false))).isEmpty());
+    }
+
+    @Test
+    void match_NoLocations_AcceptsAnyLocation() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", List.of(), null)));
+
+        assertEquals(1, index.match(List.of(job("1", "Java Dev", "Lisbon", false))).size());
+    }
+
+    @Test
+    void match_JobType_MustBeAmongJobTypes() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", null, "Full-time")));
+
+        assertEquals(1, index.match(List.of(job("1", "Java Dev", "Berlin", false, "full time", "remote"))).size());
+        assertTrue(index.match(List.of(job("2", "Java Dev", "Berlin", false, "internship"))).isEmpty());
+    }
+
+    @Test
+    void match_JobWithoutJobTypes_MatchesUserWithJobType() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", null, "Full-time")));
+
+        assertEquals(1, index.match(List.of(job("1", "Java Dev", "Berlin", false))).size());
+        assertEquals(1, index.match(List.of(job("2", "Java Dev", "Berlin", false, " "))).size());
+        assertEquals(1, index.match(List.of(new JobServiceClient.JobPosting("3", "Java Dev", "Corp", "Berlin",
+            "http://example.com/3", false, null))).size());
+    }
+
+    @Test
+    void build_SkipsUsersWithoutRoleOrEmail() {
+        User noEmail = user("u2", "Java", null, null);
+        noEmail.setEmail(null);
+        User noPreferences = user("u3", "Java", null, null);
+        noPreferences.setPreferences(null);
+
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", null, null), user("u4", " ", null, null),
+            noEmail, noPreferences));
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void match_GroupsJobsPerUser() {
+        PreferenceIndex index = PreferenceIndex.build(List.of(user("u1", "Java", null, null), user("u2", "Go", null, null)));
+
+        List<PreferenceIndex.Match> matches = index.match(List.of(
+            job("1", "Java Dev", "Berlin", false), job("2", "Go Dev", "Berlin", false), job("3", "Java Lead", "Berlin", false)));
+
+        assertEquals(2, matches.size());
+        assertEquals(List.of("1", "3"), matches.get(0).jobs().stream().map(JobServiceClient.JobPosting::id).toList());
+        assertEquals(List.of("2"), matches.get(1).jobs().stream().map(JobServiceClient.JobPosting::id).toList());
+    }
+
+    static User user(String id, String role, List<String> locations, String jobType) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setPreferences(new Preferences(role, locations, jobType, null));
+        return user;
+    }
+
+    static JobServiceClient.JobPosting job(String id, String title, String location, boolean remote, String... jobTypes) {
+        return new JobServiceClient.JobPosting(id, title, "Corp", location, "http://example.com/" + id, remote, List.of(jobTypes));
+    }
+}
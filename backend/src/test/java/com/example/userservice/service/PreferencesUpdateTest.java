@@ -0,0 +1,153 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.Preferences;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.support.EmbeddedMongo;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Preferințele se scriu cu un findAndModify care aduce înapoi utilizatorul întreg (fără appliedJobs vechi),
+ * restul documentului rămânând neatins; cache-ul /me și indexul alertelor află de schimbare după commit.
+ */
+class PreferencesUpdateTest {
+
+    private EmbeddedMongo mongo;
+    private NotificationOutbox notificationOutbox;
+    private JobAlertService jobAlertService;
+    private UserService userService;
+    private String userId;
+    private String keycloakId;
+
+    @BeforeEach
+    void setUp() {
+        mongo = new EmbeddedMongo();
+        UserRepository userRepository = mongo.repository(UserRepository.class);
+        User user = UserServiceTest.user(null);
+        user.setEmail("ana@example.com");
+        user.setUsername("ana");
+        user.setRoles(List.of("app_user"));
+        userId = userRepository.save(user).getId();
+        keycloakId = user.getKeycloakId();
+
+        notificationOutbox = mock(NotificationOutbox.class);
+        when(notificationOutbox.inTransaction(any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(0)).get());
+        jobAlertService = mock(JobAlertService.class);
+        userService = new UserService(userRepository, mongo.template(), notificationOutbox, null,
+                jobAlertService, mock(JobLookupService.class), Duration.ofSeconds(30), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void updateUserPreferences_ReturnsTheWholeUser_AndKeepsTheRest() {
+        Preferences preferences = new Preferences("Java Developer", List.of("Cluj"), "Full-time", 5000.0);
+
+        User updated = userService.updateUserPreferences(userId, preferences);
+
+        assertEquals(preferences, updated.getPreferences());
+        assertEquals(userId, updated.getId());
+        assertEquals("ana@example.com", updated.getEmail());
+        assertEquals("ana", updated.getUsername());
+        assertEquals(List.of("app_user"), updated.getRoles());
+        assertNotNull(updated.getKeycloakId());
+        assertEquals(1L, updated.getVersion());
+
+        Document stored = mongo.template().findById(userId, Document.class, "users");
+        assertEquals("ana", stored.getString("username"));
+        assertEquals(List.of("app_user"), stored.getList("roles", String.class));
+        assertEquals("Java Developer", stored.get("preferences", Document.class).getString("desiredRole"));
+        assertEquals(1L, ((Number) stored.get("version")).longValue());
+
+        ArgumentCaptor<NotificationProducer.NotificationRequest> notification =
+                ArgumentCaptor.forClass(NotificationProducer.NotificationRequest.class);
+        verify(notificationOutbox).add(notification.capture());
+        assertEquals("ana@example.com", notification.getValue().getToEmail());
+        verify(jobAlertService).preferencesChanged();
+    }
+
+    @Test
+    void updateUserPreferences_LegacyAppliedJobs_AreNotSentBack() {
+        mongo.template().updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().set("appliedJobs", List.of(new Document("externalId", "job-1"))), "users");
+
+        User updated = userService.updateUserPreferences(userId, new Preferences("Java Developer", List.of(), null, null));
+
+        assertEquals("ana", updated.getUsername());
+        Document stored = mongo.template().findById(userId, Document.class, "users");
+        assertTrue(stored.containsKey("appliedJobs"));
+    }
+
+    @Test
+    void updateUserPreferences_CacheAndAlertIndexAreRefreshedOnlyAfterCommit() {
+        Jwt jwt = UserServiceTest.token(keycloakId, "ana@example.com", "Ana");
+        userService.syncUserFromToken(jwt);
+        List<User> seenInsideTransaction = new ArrayList<>();
+        doAnswer(call -> {
+            Object result = ((Supplier<?>) call.getArgument(0)).get();
+            // Înainte de commit: nici indexul alertelor, nici cache-ul /me nu au aflat de schimbare
+            verify(jobAlertService, never()).preferencesChanged();
+            seenInsideTransaction.add(userService.syncUserFromToken(jwt));
+            return result;
+        }).when(notificationOutbox).inTransaction(any());
+
+        userService.updateUserPreferences(userId, new Preferences("Java Developer", List.of(), null, null));
+
+        assertNull(seenInsideTransaction.get(0).getPreferences());
+        verify(jobAlertService).preferencesChanged();
+        assertEquals("Java Developer", userService.syncUserFromToken(jwt).getPreferences().getDesiredRole());
+    }
+
+    @Test
+    void updateUserPreferences_RolledBack_LeavesCacheAndAlertIndexAlone() {
+        doThrow(new IllegalStateException("transaction aborted")).when(notificationOutbox).inTransaction(any());
+
+        assertThrows(IllegalStateException.class,
+                () -> userService.updateUserPreferences(userId, new Preferences("Java Developer", List.of(), null, null)));
+
+        verify(jobAlertService, never()).preferencesChanged();
+    }
+
+    @Test
+    void deleteUserPreferences_UnsetsOnlyPreferences() {
+        userService.updateUserPreferences(userId, new Preferences("Java Developer", List.of(), null, null));
+
+        User updated = userService.deleteUserPreferences(userId);
+
+        assertNull(updated.getPreferences());
+        Document stored = mongo.template().findById(userId, Document.class, "users");
+        assertFalse(stored.containsKey("preferences"));
+        assertEquals("ana", stored.getString("username"));
+    }
+
+    @Test
+    void updateUserPreferences_UnknownUser_Fails() {
+        assertThrows(RuntimeException.class,
+                () -> userService.updateUserPreferences("000000000000000000000000", new Preferences()));
+    }
+}
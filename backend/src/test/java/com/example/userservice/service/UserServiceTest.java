@@ -0,0 +1,210 @@
+package com.example.userservice.service;
+
+import com.example.userservice.model.Job;
+import com.example.userservice.model.Preferences;
+import com.example.userservice.model.User;
+import com.example.userservice.repository.ApplicationRepository;
+import com.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private JobAlertService jobAlertService;
+
+    @Mock
+    private JobLookupService jobLookupService;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, mongoTemplate, notificationOutbox, applicationRepository,
+                jobAlertService, jobLookupService, Duration.ofSeconds(30), 100);
+    }
+
+    @Test
+    void syncUserFromToken_SameFingerprintInDatabase_WritesNothing() {
+        Jwt jwt = token("sub-u1", "u1@example.com", "Ana");
+        User stored = user("u1");
+        stored.setClaimsFingerprint(UserService.claimsFingerprint("u1@example.com", "ana", "Ana", "Pop", List.of("app_user")));
+        when(userRepository.findByKeycloakId("sub-u1")).thenReturn(Optional.of(stored));
+
+        userService.syncUserFromToken(jwt);
+
+        verify(userRepository, never()).updateClaims(anyString(), any(), any(), any(), any(), anyList(), anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void syncUserFromToken_SameTokenAgain_IsServedFromCacheWithoutMongo() {
+        Jwt jwt = token("sub-u1", "u1@example.com", "Ana");
+        when(userRepository.findByKeycloakId("sub-u1")).thenReturn(Optional.of(user("u1")));
+
+        userService.syncUserFromToken(jwt);
+        userService.syncUserFromToken(jwt);
+        userService.syncUserFromToken(jwt);
+
+        verify(userRepository, times(1)).findByKeycloakId("sub-u1");
+        verify(userRepository, times(1)).updateClaims(anyString(), any(), any(), any(), any(), anyList(), anyString());
+    }
+
+    @Test
+    void syncUserFromToken_ChangedClaims_UpdatesOnlyTokenFields() {
+        when(userRepository.findByKeycloakId("sub-u1")).thenReturn(Optional.of(user("u1")));
+
+        userService.syncUserFromToken(token("sub-u1", "u1@example.com", "Ana"));
+        User renamed = userService.syncUserFromToken(token("sub-u1", "u1@example.com", "Ioana"));
+
+        assertEquals("Ioana", renamed.getFirstName());
+        verify(userRepository, times(2)).findByKeycloakId("sub-u1");
+        verify(userRepository, times(2)).updateClaims(anyString(), any(), any(), any(), any(), anyList(), anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void syncUserFromToken_CallerMutation_DoesNotLeakIntoCache() {
+        Jwt jwt = token("sub-u1", "u1@example.com", "Ana");
+        User stored = user("u1");
+        stored.setPreferences(new Preferences("Java Developer", new ArrayList<>(List.of("Cluj")), "Full-time", null));
+        when(userRepository.findByKeycloakId("sub-u1")).thenReturn(Optional.of(stored));
+
+        User first = userService.syncUserFromToken(jwt);
+        first.setEmail("changed@example.com");
+        first.getRoles().add("app_admin");
+        first.getPreferences().getLocations().add("Remote");
+
+        User second = userService.syncUserFromToken(jwt);
+
+        assertNotSame(first, second);
+        assertEquals("u1@example.com", second.getEmail());
+        assertEquals(List.of("app_user"), second.getRoles());
+        assertEquals(List.of("Cluj"), second.getPreferences().getLocations());
+    }
+
+    @Test
+    void deleteUser_DeletesByIdWithoutVersionCheck() {
+        User stale = user("u1");
+        stale.setVersion(0L);
+        when(userRepository.findById("u1")).thenReturn(Optional.of(stale));
+
+        runsInTransaction();
+
+        userService.deleteUser("u1");
+
+        verify(userRepository).deleteById("u1");
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    @Test
+    void deleteUser_DeletesApplicationsFirst_InsideTheTransaction() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1")));
+        runsInTransaction();
+
+        userService.deleteUser("u1");
+
+        InOrder order = inOrder(notificationOutbox, applicationRepository, userRepository);
+        order.verify(notificationOutbox).inTransaction(any());
+        order.verify(applicationRepository).deleteByUserId("u1");
+        order.verify(userRepository).deleteById("u1");
+    }
+
+    @Test
+    void applyToJob_JobServiceUnavailable_RejectsWithoutSavingClientData() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1")));
+        when(jobLookupService.find("ext-1")).thenThrow(new ResourceAccessException("Connection refused"));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> userService.applyToJob("u1", job("ext-1")));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatusCode());
+        verifyNoInteractions(applicationRepository, notificationOutbox);
+    }
+
+    @Test
+    void applyToJob_JobNotInCatalog_IsNotFound() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1")));
+        when(jobLookupService.find("ext-1")).thenReturn(null);
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> userService.applyToJob("u1", job("ext-1")));
+
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+        verify(applicationRepository, never()).insert(any(com.example.userservice.model.Application.class));
+    }
+
+    // Mock-ul outbox-ului rulează schimbarea direct, ca o tranzacție care reușește
+    private void runsInTransaction() {
+        when(notificationOutbox.inTransaction(any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(0)).get());
+    }
+
+    static Jwt token(String sub, String email, String firstName) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", sub)
+                .claim("email", email)
+                .claim("preferred_username", "ana")
+                .claim("given_name", firstName)
+                .claim("family_name", "Pop")
+                .claim("realm_access", Map.of("roles", List.of("app_user", "offline_access")))
+                .build();
+    }
+
+    static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setKeycloakId("sub-" + id);
+        user.setEmail(id + "@example.com");
+        return user;
+    }
+
+    // Clientul trimite și titlul/compania, dar acestea trebuie să vină din catalog
+    static Job job(String externalId) {
+        Job job = new Job();
+        job.setExternalId(externalId);
+        job.setTitle("Title from client");
+        job.setCompany("Company from client");
+        return job;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.userservice.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Un Mongo în memorie, în procesul testului, cu un MongoTemplate și repository-uri Spring Data peste el.
+ */
+public class EmbeddedMongo implements AutoCloseable {
+
+    private final MongoServer server;
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+    private final MongoRepositoryFactory repositories;
+
+    public EmbeddedMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://localhost:" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "userdb");
+        repositories = new MongoRepositoryFactory(mongoTemplate);
+    }
+
+    public MongoTemplate template() {
+        return mongoTemplate;
+    }
+
+    public <T> T repository(Class<T> repositoryInterface) {
+        return repositories.getRepository(repositoryInterface);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdown();
+    }
+}
@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import axios from "axios";
-import type { Job, UserProfile, NotificationLog } from "../types";
+import type { CatalogDelta, Job, JobSearchResult, UserProfile, NotificationLog } from "../types";
 import keycloak from "../keycloak";
 
 const API_JOB_SERVICE = "/api/jobs";
@@ -9,6 +9,7 @@ const API_BACKEND = "/api/users";
 const HomePage = () => {
     // General State
     const [jobs, setJobs] = useState<Job[]>([]);
+    const [totalJobs, setTotalJobs] = useState(0);
     const [loading, setLoading] = useState(true);
     
     // Admin State
@@ -24,21 +25,65 @@ const HomePage = () => {
     });
     const [currentPage, setCurrentPage] = useState(1);
     const itemsPerPage = 20;
+    // Câte joburi noi au apărut de la ultima încărcare (din fluxul SSE al job-service)
+    const [newJobsCount, setNewJobsCount] = useState(0);
+    const [catalogReloaded, setCatalogReloaded] = useState(false);
 
     const isAdmin = keycloak.hasRealmRole("app_admin");
 
     useEffect(() => {
         if (isAdmin) {
             fetchAdminData();
-        } else {
-            fetchJobs();
         }
     }, [isAdmin]);
 
+    // Filtrarea și paginarea se fac pe server; așteptăm puțin cât utilizatorul tastează
+    useEffect(() => {
+        if (isAdmin) return;
+        const timer = setTimeout(fetchJobs, 250);
+        return () => clearTimeout(timer);
+    }, [isAdmin, jobFilters, currentPage]);
+
+    // Nu mai re-descărcăm lista periodic: job-service ne anunță doar ce s-a schimbat.
+    // EventSource se reconectează singur și trimite Last-Event-ID, deci nu pierdem versiuni.
+    useEffect(() => {
+        if (isAdmin) return;
+        const source = new EventSource(`${API_JOB_SERVICE}/stream`);
+        source.addEventListener("delta", (event) => {
+            const delta: CatalogDelta = JSON.parse((event as MessageEvent).data);
+            if (delta.full) {
+                setCatalogReloaded(true);
+            } else if (delta.added.length > 0) {
+                setNewJobsCount(count => count + delta.added.length);
+            }
+        });
+        return () => source.close();
+    }, [isAdmin]);
+
+    const showNewJobs = () => {
+        setNewJobsCount(0);
+        setCatalogReloaded(false);
+        if (currentPage === 1) {
+            fetchJobs();
+        } else {
+            setCurrentPage(1);
+        }
+        window.scrollTo(0, 0);
+    };
+
     const fetchJobs = async () => {
         try {
-            const response = await axios.get<Job[]>(API_JOB_SERVICE);
-            setJobs(response.data);
+            const response = await axios.get<JobSearchResult>(`${API_JOB_SERVICE}/search`, {
+                params: {
+                    q: jobFilters.keyword || undefined,
+                    location: jobFilters.location || undefined,
+                    company: jobFilters.company || undefined,
+                    page: currentPage - 1,
+                    size: itemsPerPage
+                }
+            });
+            setJobs(response.data.jobs);
+            setTotalJobs(response.data.total);
         } catch (error) {
             console.error("Error fetching jobs:", error);
         } finally {
@@ -206,20 +251,9 @@ const HomePage = () => {
     }
 
     // --- REGULAR USER / GUEST VIEW ---
-    // Filter Jobs
-    const filteredJobs = jobs.filter(job => {
-        const matchKeyword = !jobFilters.keyword || job.title.toLowerCase().includes(jobFilters.keyword.toLowerCase());
-        const matchLocation = !jobFilters.location || job.location.toLowerCase().includes(jobFilters.location.toLowerCase());
-        const matchCompany = !jobFilters.company || job.company.toLowerCase().includes(jobFilters.company.toLowerCase());
-        return matchKeyword && matchLocation && matchCompany;
-    });
-
-    // Pagination
-    const totalPages = Math.ceil(filteredJobs.length / itemsPerPage);
-    const displayedJobs = filteredJobs.slice(
-        (currentPage - 1) * itemsPerPage,
-        currentPage * itemsPerPage
-    );
+    // Pagination (jobs conține deja doar pagina curentă, filtrată de job-service)
+    const totalPages = Math.ceil(totalJobs / itemsPerPage);
+    const displayedJobs = jobs;
 
     const handlePageChange = (newPage: number) => {
         if (newPage >= 1 && newPage <= totalPages) {
@@ -254,8 +288,15 @@ const HomePage = () => {
                 />
             </div>
 
+            {(newJobsCount > 0 || catalogReloaded) && (
+                <div className="glass-panel" style={{ marginBottom: "1.5rem", display: "flex", justifyContent: "space-between", alignItems: "center" }}>
+                    <span>{newJobsCount > 0 ? `${newJobsCount} new ${newJobsCount === 1 ? "position" : "positions"} posted` : "The job list was updated"}</span>
+                    <button onClick={showNewJobs} style={{ padding: "0.5rem 1rem", fontSize: "0.85rem" }}>Show</button>
+                </div>
+            )}
+
             <p style={{ marginBottom: "2rem", color: "#6b7280", fontSize: "0.95rem" }}>
-                Showing {displayedJobs.length} of {filteredJobs.length} positions
+                Showing {displayedJobs.length} of {totalJobs} positions
             </p>
 
             <div className="grid-layout">
@@ -265,10 +306,11 @@ const HomePage = () => {
                         <p style={{ color: "#6b7280", marginBottom: "1rem", fontSize: "0.95rem" }}>
                             {job.company} · {job.location}
                         </p>
-                        <div 
-                            dangerouslySetInnerHTML={{ __html: job.description }} 
-                            style={{ fontSize: "0.9rem", color: "#4b5563", maxHeight: "120px", overflow: "hidden", marginBottom: "1.5rem", lineHeight: "1.6" }} 
-                        />
+                        <div
+                            style={{ fontSize: "0.9rem", color: "#4b5563", maxHeight: "120px", overflow: "hidden", marginBottom: "1.5rem", lineHeight: "1.6" }}
+                        >
+                            {job.description}
+                        </div>
                         <div style={{ display: "flex", justifyContent: "space-between", alignItems: "center", paddingTop: "1rem", borderTop: "1px solid var(--border-color)" }}>
                             <a href={job.url} target="_blank" rel="noreferrer" style={{ fontSize: "0.85rem" }}>View details →</a>
                             <button onClick={() => handleApply(job)} style={{ padding: "0.6rem 1.25rem", fontSize: "0.85rem" }}>Apply</button>
@@ -2,9 +2,11 @@ import { useEffect, useState } from "react";
 import axios from "axios";
 import type { UserProfile } from "../types";
 import type { Preferences } from "../types";
+import type { Application } from "../types";
 import keycloak from "../keycloak";
 
 const API_BACKEND = "/api/users";
+const APPLICATIONS_PAGE_SIZE = 20;
 
 const ProfilePage = () => {
     const [profile, setProfile] = useState<UserProfile | null>(null);
@@ -15,6 +17,8 @@ const ProfilePage = () => {
         minSalary: 0
     });
     const [saving, setSaving] = useState(false);
+    const [applications, setApplications] = useState<Application[]>([]);
+    const [applicationsTotal, setApplicationsTotal] = useState(0);
 
     useEffect(() => {
         if (keycloak.authenticated) {
@@ -31,11 +35,26 @@ const ProfilePage = () => {
             if (response.data.preferences) {
                 setPreferences(response.data.preferences);
             }
+            fetchApplications(response.data.id, 0);
         } catch (error) {
             console.error("Error fetching profile:", error);
         }
     };
 
+    // Aplicările vin separat, pagină cu pagină
+    const fetchApplications = async (userId: string, page: number) => {
+        try {
+            const response = await axios.get<Application[]>(`${API_BACKEND}/${userId}/jobs`, {
+                params: { page, size: APPLICATIONS_PAGE_SIZE },
+                headers: { Authorization: `Bearer ${keycloak.token}` }
+            });
+            setApplications(previous => page === 0 ? response.data : [...previous, ...response.data]);
+            setApplicationsTotal(Number(response.headers["x-total-count"] ?? response.data.length));
+        } catch (error) {
+            console.error("Error fetching applications:", error);
+        }
+    };
+
     const handleSavePreferences = async () => {
         if (!profile) return;
         setSaving(true);
@@ -155,12 +174,12 @@ const ProfilePage = () => {
                 </div>
             </div>
 
-            {profile.jobs && profile.jobs.length > 0 && (
+            {applications.length > 0 && (
                 <div className="glass-panel" style={{ marginTop: "2rem" }}>
                     <h3 style={{ marginTop: 0 }}>Applied Jobs</h3>
                     <ul style={{ listStyle: 'none', padding: 0, display: 'grid', gap: '1rem' }}>
-                        {profile.jobs.map((job: any, index) => (
-                            <li key={index} style={{ 
+                        {applications.map(job => (
+                            <li key={job.id} style={{ 
                                 padding: '1rem', 
                                 background: 'rgba(255,255,255,0.5)', 
                                 borderRadius: '12px',
@@ -169,11 +188,20 @@ const ProfilePage = () => {
                                 <div style={{ fontWeight: '700', fontSize: '1.1rem' }}>{job.title}</div>
                                 <div style={{ display: 'flex', justifyContent: 'space-between', marginTop: '0.25rem', fontSize: '0.9rem', color: '#666' }}>
                                     <span>{job.company}</span>
-                                    <span>Applied: {job.appliedAt}</span>
+                                    <span>Applied: {new Date(job.appliedAt).toLocaleString()}</span>
                                 </div>
                             </li>
                         ))}
                     </ul>
+                    {applications.length < applicationsTotal && (
+                        <button
+                            onClick={() => fetchApplications(profile.id, Math.floor(applications.length / APPLICATIONS_PAGE_SIZE))}
+                            className="btn-primary"
+                            style={{ marginTop: '1rem' }}
+                        >
+                            Show more ({applicationsTotal - applications.length})
+                        </button>
+                    )}
                 </div>
             )}
         </div>
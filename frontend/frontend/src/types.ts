@@ -5,6 +5,28 @@ export interface Job {
   location: string;
   description: string;
   url: string;
+  remote?: boolean;
+  tags?: string[];
+  jobTypes?: string[];
+  createdAt?: number;
+}
+
+export interface JobSearchResult {
+  catalogVersion: number;
+  total: number;
+  page: number;
+  size: number;
+  jobs: Job[];
+}
+
+// Eveniment "delta" din /api/jobs/stream; full = clientul trebuie să reîncarce lista
+export interface CatalogDelta {
+  fromVersion: number;
+  toVersion: number;
+  full: boolean;
+  added: Job[];
+  changed: Job[];
+  removed: string[];
 }
 
 export interface Preferences {
@@ -23,7 +45,17 @@ export interface UserProfile {
   lastName?: string;
   roles: string[];
   preferences?: Preferences;
-  jobs?: any[]; // Applied jobs
+}
+
+// O aplicare din GET /api/users/{id}/jobs (paginat, totalul în X-Total-Count)
+export interface Application {
+  id: string;
+  externalId: string;
+  title: string;
+  company: string;
+  location?: string;
+  url?: string;
+  appliedAt: string; // ISO-8601 UTC (Instant)
 }
 
 export interface NotificationLog {
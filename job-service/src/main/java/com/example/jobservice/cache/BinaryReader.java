@@ -0,0 +1,131 @@
+package com.example.jobservice.cache;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Perechea de citire a lui {@link BinaryWriter}. Orice depășire a datelor înseamnă o valoare
+ * coruptă și se raportează ca {@link SerializationException}.
+ */
+public final class BinaryReader {
+
+    private final byte[] data;
+    private int position;
+    private int limit;
+
+    public BinaryReader(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new SerializationException("Varint prea mare pentru int: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Varint corupt");
+    }
+
+    public long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] value = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Intră într-o înregistrare scrisă cu {@link BinaryWriter#writeRecord}. Cititorul e limitat la ea
+     * până la {@link #endRecord}, care sare peste câmpurile adăugate de o versiune mai nouă.
+     *
+     * @return limita anterioară, de dat înapoi lui {@link #endRecord}
+     */
+    public int beginRecord() {
+        int length = readVarInt();
+        require(length);
+        int outerLimit = limit;
+        limit = position + length;
+        return outerLimit;
+    }
+
+    public void endRecord(int outerLimit) {
+        position = limit;
+        limit = outerLimit;
+    }
+
+    /**
+     * Lungimea unei colecții citite din date: fiecare element ocupă cel puțin un byte, deci o valoare
+     * mai mare decât ce a rămas înseamnă date corupte (și nu alocăm pe baza ei).
+     */
+    public int readCount() {
+        int count = readVarInt();
+        if (count < 0 || count > limit - position) {
+            throw new SerializationException("Număr de elemente invalid: " + count);
+        }
+        return count;
+    }
+
+    int position() {
+        return position;
+    }
+
+    /** Mai sunt câmpuri în înregistrarea curentă (scrise de aceeași versiune sau de una mai nouă). */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || position + bytes > limit) {
+            throw new SerializationException("Valoare din cache trunchiată sau coruptă");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.jobservice.cache;
+
+/**
+ * Eveniment local publicat după ce altă replică a modificat o intrare din cache-ul partajat.
+ * Permite serviciilor (ex: JobCatalogService) să preia imediat valoarea nouă din Redis.
+ */
+public record CacheInvalidatedEvent(String cacheName, String key) {
+}
@@ -0,0 +1,39 @@
+package com.example.jobservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.io.IOException;
+
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, ObjectMapper objectMapper,
+                                     ApplicationEventPublisher eventPublisher, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+            // Propriile scrieri sunt deja în L1
+            if (nodeId.equals(invalidation.getOrigin())) {
+                return;
+            }
+            cacheManager.invalidateLocal(invalidation.getCacheName(), invalidation.getKey());
+            eventPublisher.publishEvent(new CacheInvalidatedEvent(invalidation.getCacheName(), invalidation.getKey()));
+        } catch (IOException e) {
+            System.err.println("Mesaj de invalidare invalid: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.jobservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Mesajul trimis pe canalul Redis când o replică scrie sau șterge o intrare (key == null -> clear)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationMessage {
+    private String origin;
+    private String cacheName;
+    private String key;
+}
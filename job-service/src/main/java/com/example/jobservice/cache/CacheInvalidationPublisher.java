@@ -0,0 +1,30 @@
+package com.example.jobservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "jobs:cache-invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId;
+    }
+
+    public void publish(String cacheName, Object key) {
+        try {
+            CacheInvalidationMessage message = new CacheInvalidationMessage(nodeId, cacheName, key != null ? key.toString() : null);
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Celelalte replici vor vedea oricum valoarea nouă când le expiră L1
+            System.err.println("Nu am putut publica invalidarea cache-ului: " + e.getMessage());
+        }
+    }
+}
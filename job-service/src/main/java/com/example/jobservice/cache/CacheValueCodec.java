@@ -0,0 +1,23 @@
+package com.example.jobservice.cache;
+
+/**
+ * Format binar pentru un tip de valoare din cache, înregistrat în {@link CompactCacheSerializer}.
+ *
+ * Reguli de versionare, ca replicile pe build-uri diferite să-și poată citi intrările:
+ * câmpurile noi se adaugă doar la finalul unei înregistrări (cititorii vechi le sar), iar
+ * {@link #decode} trebuie să accepte orice versiune de schemă mai mică sau egală cu cea curentă.
+ */
+public interface CacheValueCodec<T> {
+
+    /** Identificator stabil, scris în antetul fiecărei valori; nu se refolosește niciodată. */
+    int typeId();
+
+    /** Versiunea schemei pe care o scrie {@link #encode}. */
+    int schemaVersion();
+
+    Class<T> type();
+
+    void encode(T value, BinaryWriter out);
+
+    T decode(BinaryReader in, int schemaVersion);
+}
@@ -0,0 +1,163 @@
+package com.example.jobservice.cache;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializer pentru valorile din cache-urile Redis.
+ *
+ * Tipurile care au un {@link CacheValueCodec} se scriu compact: antet
+ * [MAGIC, versiunea containerului, flags, typeId, versiunea schemei] urmat de payload,
+ * comprimat cu Deflate când e mare. Orice alt tip se scrie cu serializarea JDK, ca înainte.
+ * La citire recunoaștem și intrările JDK (0xACED), deci replicile pe build-ul vechi și cele
+ * noi pot rula o vreme împreună pe același Redis.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final int MAGIC = 0xC5;
+    static final int CONTAINER_VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+
+    // Sub pragul ăsta compresia costă mai mult decât câștigă
+    private static final int DEFLATE_THRESHOLD = 1024;
+
+    private static final int JDK_MAGIC_0 = 0xAC;
+    private static final int JDK_MAGIC_1 = 0xED;
+
+    private final Map<Class<?>, CacheValueCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Integer, CacheValueCodec<?>> codecsById = new HashMap<>();
+    private final JdkSerializationRedisSerializer fallback;
+
+    public CompactCacheSerializer(List<CacheValueCodec<?>> codecs, ClassLoader classLoader) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codecsById.put(codec.typeId(), codec) != null) {
+                throw new IllegalArgumentException("typeId duplicat în codec-urile de cache: " + codec.typeId());
+            }
+            codecsByType.put(codec.type(), codec);
+        }
+        this.fallback = new JdkSerializationRedisSerializer(classLoader);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        CacheValueCodec<?> codec = codecsByType.get(value.getClass());
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+
+        BinaryWriter payload = new BinaryWriter(4096);
+        encode(codec, value, payload);
+
+        boolean deflate = payload.size() >= DEFLATE_THRESHOLD;
+        BinaryWriter out = new BinaryWriter(deflate ? payload.size() / 3 + 16 : payload.size() + 16);
+        out.writeByte(MAGIC);
+        out.writeByte(CONTAINER_VERSION);
+        out.writeByte(deflate ? FLAG_DEFLATE : 0);
+        out.writeVarInt(codec.typeId());
+        out.writeVarInt(codec.schemaVersion());
+        if (deflate) {
+            out.writeVarInt(payload.size());
+            deflate(payload, out);
+        } else {
+            out.writeBytes(payload.buffer(), 0, payload.size());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        int first = bytes[0] & 0xFF;
+        if (first == JDK_MAGIC_0 && bytes.length > 1 && (bytes[1] & 0xFF) == JDK_MAGIC_1) {
+            return fallback.deserialize(bytes);
+        }
+        if (first != MAGIC) {
+            throw new SerializationException("Format necunoscut pentru valoarea din cache");
+        }
+
+        BinaryReader header = new BinaryReader(bytes, 1, bytes.length - 1);
+        int containerVersion = header.readByte();
+        if (containerVersion > CONTAINER_VERSION) {
+            throw new SerializationException("Valoare scrisă de un build mai nou (container v" + containerVersion + ")");
+        }
+        int flags = header.readByte();
+        int typeId = header.readVarInt();
+        int schemaVersion = header.readVarInt();
+        CacheValueCodec<?> codec = codecsById.get(typeId);
+        if (codec == null) {
+            throw new SerializationException("Niciun codec pentru tipul " + typeId);
+        }
+
+        BinaryReader payload;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            int length = header.readVarInt();
+            byte[] inflated = inflate(bytes, header.position(), length);
+            payload = new BinaryReader(inflated, 0, inflated.length);
+        } else {
+            payload = new BinaryReader(bytes, header.position(), bytes.length - header.position());
+        }
+        return codec.decode(payload, schemaVersion);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void encode(CacheValueCodec<T> codec, Object value, BinaryWriter out) {
+        codec.encode((T) value, out);
+    }
+
+    // BEST_SPEED: catalogul se scrie la fiecare refresh și se citește de fiecare replică
+    private static void deflate(BinaryWriter payload, BinaryWriter out) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload.buffer(), 0, payload.size());
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, written);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length) {
+        // Deflate nu comprimă mai mult de ~1032:1; o lungime declarată peste asta e coruptă
+        if (length < 0 || length > (long) (bytes.length - offset) * 1032) {
+            throw new SerializationException("Lungime invalidă pentru valoarea din cache: " + length);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] out = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(out, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("Valoare din cache trunchiată (" + read + " din " + length + " bytes)");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Valoare din cache coruptă", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
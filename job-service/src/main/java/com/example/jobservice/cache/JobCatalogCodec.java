@@ -0,0 +1,162 @@
+package com.example.jobservice.cache;
+
+import com.example.jobservice.dto.CompactJobList;
+import com.example.jobservice.dto.JobCatalog;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Catalogul din cache-ul "jobs" (cheia allJobs) în format binar compact.
+ *
+ * Schema v1: o înregistrare cu versiunea și fetchedAt, un dicționar cu valorile care se repetă
+ * între joburi (companie, locație, tag-uri, tipuri de job), apoi câte o înregistrare per job,
+ * cu referințe în dicționar în loc de string-uri.
+ *
+ * Schema v2: dicționarul e chiar cel al {@link CompactJobList}, iar textul complet nu mai e scris
+ * necomprimat în câmpul din v1 (rămâne null) ci la finalul înregistrării, comprimat exact cum e ținut
+ * în listă. Encode și decode lucrează direct pe coloane: nicio listă de JobDto, nicio recomprimare.
+ * Un build cu v1 citește înregistrările v2 fără textul complet.
+ */
+public class JobCatalogCodec implements CacheValueCodec<JobCatalog> {
+
+    public static final int TYPE_ID = 1;
+    private static final int SCHEMA_VERSION = 2;
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int schemaVersion() {
+        return SCHEMA_VERSION;
+    }
+
+    @Override
+    public Class<JobCatalog> type() {
+        return JobCatalog.class;
+    }
+
+    @Override
+    public void encode(JobCatalog catalog, BinaryWriter out) {
+        BinaryWriter record = new BinaryWriter(256);
+        record.writeLong(catalog.getVersion());
+        record.writeSignedVarLong(catalog.getFetchedAt() != null ? catalog.getFetchedAt().toEpochMilli() : -1);
+        out.writeRecord(record);
+
+        CompactJobList jobs = CompactJobList.of(catalog.getJobs());
+        List<String> dictionary = jobs.dictionary();
+        out.writeVarInt(dictionary.size());
+        dictionary.forEach(out::writeString);
+
+        out.writeVarInt(jobs.size());
+        for (int row = 0; row < jobs.size(); row++) {
+            record.reset();
+            record.writeString(jobs.idAt(row));
+            record.writeString(jobs.titleAt(row));
+            writeRef(record, jobs.companyCodeAt(row));
+            writeRef(record, jobs.locationCodeAt(row));
+            record.writeString(jobs.descriptionAt(row));
+            record.writeString(jobs.urlAt(row));
+            record.writeBoolean(jobs.remoteAt(row));
+            writeRefs(record, jobs.tagCodesAt(row));
+            writeRefs(record, jobs.jobTypeCodesAt(row));
+            record.writeVarLong(jobs.createdAtOf(row));
+            // Textul complet necomprimat din v1
+            record.writeString(null);
+            // v2: textul complet comprimat
+            byte[] deflated = jobs.deflatedFullTextAt(row);
+            record.writeSignedVarLong(jobs.fullTextLengthAt(row));
+            record.writeVarInt(deflated.length);
+            record.writeBytes(deflated, 0, deflated.length);
+            out.writeRecord(record);
+        }
+    }
+
+    @Override
+    public JobCatalog decode(BinaryReader in, int schemaVersion) {
+        int outer = in.beginRecord();
+        long version = in.readLong();
+        long fetchedAtMillis = in.readSignedVarLong();
+        in.endRecord(outer);
+
+        String[] dictionary = new String[in.readCount()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readString();
+        }
+
+        int count = in.readCount();
+        try {
+            CompactJobList.EncodedBuilder jobs = new CompactJobList.EncodedBuilder(Arrays.asList(dictionary), count);
+            for (int i = 0; i < count; i++) {
+                outer = in.beginRecord();
+                String id = in.readString();
+                String title = in.readString();
+                int company = readRef(in, dictionary);
+                int location = readRef(in, dictionary);
+                String description = in.readString();
+                String url = in.readString();
+                boolean remote = in.readBoolean();
+                int[] tags = readRefs(in, dictionary);
+                int[] jobTypes = readRefs(in, dictionary);
+                long createdAt = in.readVarLong();
+                String fullText = in.readString();
+                if (schemaVersion >= 2 && in.hasRemaining()) {
+                    long length = in.readSignedVarLong();
+                    if (length < -1 || length > Integer.MAX_VALUE) {
+                        throw new SerializationException("Lungime invalidă a textului complet: " + length);
+                    }
+                    byte[] deflated = in.readBytes(in.readCount());
+                    jobs.addDeflated(id, title, company, location, description, url, remote, tags, jobTypes, createdAt,
+                        (int) length, deflated);
+                } else {
+                    jobs.add(id, title, company, location, description, url, remote, tags, jobTypes, createdAt, fullText);
+                }
+                // Câmpurile adăugate după v2 se citesc aici, doar dacă in.hasRemaining()
+                in.endRecord(outer);
+            }
+            return new JobCatalog(version, jobs.build(), fetchedAtMillis >= 0 ? Instant.ofEpochMilli(fetchedAtMillis) : null);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Catalog invalid în cache: " + e.getMessage(), e);
+        }
+    }
+
+    // 0 = null, altfel codul din dicționar + 1
+    private static void writeRef(BinaryWriter out, int code) {
+        out.writeVarInt(code + 1);
+    }
+
+    private static void writeRefs(BinaryWriter out, int[] codes) {
+        if (codes == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(codes.length);
+        for (int code : codes) {
+            writeRef(out, code);
+        }
+    }
+
+    // Codul din dicționar sau -1 pentru null; o referință în afara dicționarului înseamnă date corupte
+    private static int readRef(BinaryReader in, String[] dictionary) {
+        int ref = in.readVarInt();
+        if (ref < 0 || ref > dictionary.length) {
+            throw new SerializationException("Referință invalidă în dicționar: " + ref);
+        }
+        return ref - 1;
+    }
+
+    private static int[] readRefs(BinaryReader in, String[] dictionary) {
+        int[] codes = new int[in.readCount()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = readRef(in, dictionary);
+            if (codes[i] < 0) {
+                throw new SerializationException("Valoare null într-o listă de tag-uri");
+            }
+        }
+        return codes;
+    }
+}
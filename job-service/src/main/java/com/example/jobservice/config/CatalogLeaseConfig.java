@@ -0,0 +1,38 @@
+package com.example.jobservice.config;
+
+import com.example.jobservice.service.CatalogLease;
+import com.example.jobservice.service.LocalCatalogLease;
+import com.example.jobservice.service.RedisCatalogLease;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CatalogLeaseConfig {
+
+    // Cu Redis ca cache partajat, lease-ul e tot în Redis: o singură replică apelează Arbeitnow
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public CatalogLease redisCatalogLease(StringRedisTemplate redisTemplate,
+                                          @Value("${jobs.catalog.lease-ttl:PT4M}") Duration ttl,
+                                          @Value("${jobs.sources.timeout:PT2M}") Duration sourceTimeout) {
+        // Un rebuild durează cel mult cât sursele plus scrierea în cache; un lease expirat la jumătate
+        // ar lăsa altă replică să pornească și ea un rebuild
+        if (ttl.compareTo(sourceTimeout.multipliedBy(3).dividedBy(2)) < 0) {
+            throw new IllegalArgumentException("jobs.catalog.lease-ttl (" + ttl
+                    + ") must be at least 1.5 x jobs.sources.timeout (" + sourceTimeout + ")");
+        }
+        return new RedisCatalogLease(redisTemplate, ttl);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CatalogLease.class)
+    public CatalogLease localCatalogLease() {
+        return new LocalCatalogLease();
+    }
+}
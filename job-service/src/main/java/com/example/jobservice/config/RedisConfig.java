@@ -1,17 +1,29 @@
 package com.example.jobservice.config;
 
+import com.example.jobservice.cache.CompactCacheSerializer;
+import com.example.jobservice.cache.JobCatalogCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public CompactCacheSerializer cacheValueSerializer() {
+        // Tipurile fără codec (alte cache-uri) rămân pe serializarea JDK
+        return new CompactCacheSerializer(List.of(new JobCatalogCodec()), RedisConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public RedisCacheConfiguration cacheConfiguration(CompactCacheSerializer cacheValueSerializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofMinutes(20)) // Cache-ul expiră după 20 minute
-            .disableCachingNullValues();
+            .disableCachingNullValues()
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
     }
 }
@@ -0,0 +1,12 @@
+package com.example.jobservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Refresh-ul periodic al catalogului poate fi oprit (ex: în teste) cu jobs.catalog.refresh-enabled=false
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "jobs.catalog.refresh-enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
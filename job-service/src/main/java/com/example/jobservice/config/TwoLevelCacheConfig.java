@@ -0,0 +1,65 @@
+package com.example.jobservice.config;
+
+import com.example.jobservice.cache.CacheInvalidationListener;
+import com.example.jobservice.cache.CacheInvalidationPublisher;
+import com.example.jobservice.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// L1 local (Caffeine) peste cache-ul Redis; în teste (spring.cache.type=simple) nu se activează
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class TwoLevelCacheConfig {
+
+    // Identifică replica, ca să-și ignore propriile mesaje de invalidare
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        return new CacheInvalidationPublisher(redisTemplate, objectMapper, nodeId);
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             RedisCacheConfiguration cacheConfiguration,
+                                             CacheInvalidationPublisher publisher,
+                                             @Value("${jobs.cache.local.max-size:100}") long maxSize,
+                                             @Value("${jobs.cache.local.ttl:PT5M}") Duration ttl) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(cacheConfiguration)
+            .build();
+        redisCacheManager.initializeCaches();
+
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl);
+        return new TwoLevelCacheManager(redisCacheManager, localSpec, publisher);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager,
+                                                                            ObjectMapper objectMapper,
+                                                                            ApplicationEventPublisher eventPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            new CacheInvalidationListener(cacheManager, objectMapper, eventPublisher, nodeId),
+            new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
+    }
+}
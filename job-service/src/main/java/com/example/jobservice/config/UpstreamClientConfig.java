@@ -0,0 +1,74 @@
+package com.example.jobservice.config;
+
+import com.example.jobservice.upstream.CircuitBreaker;
+import com.example.jobservice.upstream.ResilientUpstream;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+// Clientul HTTP pentru Arbeitnow: conexiuni keep-alive din pool, timeout-uri stricte, reîncercări și circuit breaker
+@Configuration
+public class UpstreamClientConfig {
+
+    // Ca bean, factory-ul își închide pool-ul de conexiuni la oprirea aplicației
+    @Bean
+    public HttpComponentsClientHttpRequestFactory upstreamRequestFactory(
+            @Value("${jobs.upstream.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${jobs.upstream.read-timeout:PT10S}") Duration readTimeout,
+            @Value("${jobs.upstream.max-connections:8}") int maxConnections) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient(connectTimeout, readTimeout, maxConnections));
+    }
+
+    @Bean
+    public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory upstreamRequestFactory) {
+        return new RestTemplate(upstreamRequestFactory);
+    }
+
+    @Bean
+    public ResilientUpstream resilientUpstream(@Value("${jobs.upstream.max-attempts:3}") int maxAttempts,
+                                               @Value("${jobs.upstream.base-backoff:PT0.2S}") Duration baseBackoff,
+                                               @Value("${jobs.upstream.max-backoff:PT2S}") Duration maxBackoff,
+                                               @Value("${jobs.upstream.circuit.failure-threshold:5}") int failureThreshold,
+                                               @Value("${jobs.upstream.circuit.open-duration:PT1M}") Duration openDuration) {
+        return new ResilientUpstream(maxAttempts, baseBackoff, maxBackoff, new CircuitBreaker(failureThreshold, openDuration));
+    }
+
+    static CloseableHttpClient httpClient(Duration connectTimeout, Duration readTimeout, int maxConnections) {
+        // Socket timeout-ul se aplică fiecărei citiri, deci prinde și un răspuns care se blochează la jumătate
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(connectTimeout))
+            .setSocketTimeout(Timeout.of(readTimeout))
+            .setTimeToLive(TimeValue.ofMinutes(5))
+            .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setDefaultConnectionConfig(connectionConfig)
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections)
+            .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+            // Cât așteptăm o conexiune liberă din pool
+            .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+            .setResponseTimeout(Timeout.of(readTimeout))
+            .build();
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictIdleConnections(TimeValue.ofSeconds(30))
+            .evictExpiredConnections()
+            // Reîncercările le face ResilientUpstream, cu backoff și circuit breaker
+            .disableAutomaticRetries()
+            .build();
+    }
+}
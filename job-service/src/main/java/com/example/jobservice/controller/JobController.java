@@ -1,11 +1,34 @@
 package com.example.jobservice.controller;
 
+import com.example.jobservice.dto.CatalogDeltaDto;
+import com.example.jobservice.dto.CatalogStatusDto;
+import com.example.jobservice.dto.JobBatchDto;
+import com.example.jobservice.dto.JobCatalog;
 import com.example.jobservice.dto.JobDto;
-import com.example.jobservice.service.JobService;
+import com.example.jobservice.dto.JobSearchQuery;
+import com.example.jobservice.dto.JobSearchResultDto;
+import com.example.jobservice.dto.PreferencesDto;
+import com.example.jobservice.dto.RecommendationResultDto;
+import com.example.jobservice.service.CatalogChangeFeed;
+import com.example.jobservice.service.JobCatalogService;
+import com.example.jobservice.service.JobListingService;
+import com.example.jobservice.service.JobSearchService;
+import com.example.jobservice.service.RecommendationService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -15,17 +38,130 @@ import java.util.List;
 @RequestMapping("/api/jobs")
 public class JobController {
 
-    private final JobService jobService;
+    private final JobCatalogService catalogService;
+    private final JobSearchService searchService;
+    private final JobListingService listingService;
+    private final CatalogChangeFeed changeFeed;
+    private final RecommendationService recommendationService;
 
-    public JobController(JobService jobService) {
-        this.jobService = jobService;
+    public JobController(JobCatalogService catalogService, JobSearchService searchService, JobListingService listingService,
+                         CatalogChangeFeed changeFeed, RecommendationService recommendationService) {
+        this.catalogService = catalogService;
+        this.searchService = searchService;
+        this.listingService = listingService;
+        this.changeFeed = changeFeed;
+        this.recommendationService = recommendationService;
     }
 
+    // Servim mereu ultimul snapshot din memorie; vârsta lui e expusă în headere.
+    // Fără page/size întoarcem tot catalogul, ca înainte; bytes-ii sunt deja serializați per versiune.
     @GetMapping
-    public List<JobDto> getJobs() {
-        return jobService.fetchJobs();
+    public ResponseEntity<byte[]> getJobs(@RequestParam(required = false) Integer page,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        JobListingService.EncodedPage encoded = listingService.getPage(page, size);
+        JobCatalog catalog = encoded.catalog();
+        boolean gzip = JobListingService.acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(encoded.etag(gzip));
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.set("X-Catalog-Version", String.valueOf(catalog.getVersion()));
+        headers.set("X-Catalog-Age", String.valueOf(catalog.ageSeconds()));
+        headers.set("X-Total-Count", String.valueOf(encoded.total()));
+        if (encoded.hasNext()) {
+            headers.add(HttpHeaders.LINK, "</api/jobs?page=" + (encoded.page() + 1) + "&size=" + encoded.size() + ">; rel=\"next\"");
+        }
+
+        if (encoded.matches(ifNoneMatch, gzip)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(encoded.gzip(), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(encoded.json(), headers, HttpStatus.OK);
+    }
+
+    // GET /api/jobs?since=42 -> doar joburile adăugate/schimbate/șterse față de versiunea 42
+    // (full=true dacă versiunea nu mai e în istoric și clientul trebuie să reîncarce lista)
+    @GetMapping(params = "since")
+    public CatalogDeltaDto getChanges(@RequestParam long since) {
+        return changeFeed.changesSince(since);
+    }
+
+    // GET /api/jobs/stream -> Server-Sent Events "delta" la fiecare versiune nouă; id-ul evenimentului e versiunea,
+    // deci EventSource trimite singur Last-Event-ID la reconectare și primește diferența cumulată
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Long since,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long from = since;
+        if (from == null && lastEventId != null) {
+            try {
+                from = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                from = null;
+            }
+        }
+        SseEmitter emitter = changeFeed.subscribe(from)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Prea mulți abonați la fluxul de joburi"));
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            // nginx nu trebuie să țină evenimentele în buffer
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+
+    // GET /api/jobs/search?q=java&location=berlin&remote=true&tag=...&jobType=...&page=0&size=20
+    @GetMapping("/search")
+    public JobSearchResultDto search(JobSearchQuery query) {
+        return searchService.search(query);
     }
-    
+
+    // GET /api/jobs/recommendations?desiredRole=Java%20Developer&locations=Berlin&locations=Remote&jobType=Full-time&limit=10
+    @GetMapping("/recommendations")
+    public RecommendationResultDto getRecommendations(PreferencesDto preferences, @RequestParam(required = false) Integer limit) {
+        return recommendationService.recommend(preferences, limit);
+    }
+
+    // Aceleași recomandări cu preferințele ca JSON, exact cum le ține backend-ul în profilul utilizatorului
+    @PostMapping("/recommendations")
+    public RecommendationResultDto recommend(@RequestBody PreferencesDto preferences, @RequestParam(required = false) Integer limit) {
+        return recommendationService.recommend(preferences, limit);
+    }
+
+    // GET /api/jobs/{id} -> un singur job din snapshot-ul curent; 404 dacă nu (mai) e în catalog
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDto> getJob(@PathVariable String id) {
+        JobCatalog catalog = catalogService.getCatalog();
+        JobDto job = catalog.findJob(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Jobul " + id + " nu este în catalog");
+        }
+        return ResponseEntity.ok()
+            .header("X-Catalog-Version", String.valueOf(catalog.getVersion()))
+            .body(job);
+    }
+
+    // POST /api/jobs/batch cu ["id1", "id2", ...] -> joburile găsite și id-urile lipsă, într-un singur drum
+    @PostMapping("/batch")
+    public JobBatchDto getJobsByIds(@RequestBody List<String> ids) {
+        if (ids.size() > JobCatalogService.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Cel mult " + JobCatalogService.MAX_BATCH_SIZE + " id-uri per cerere");
+        }
+        return catalogService.findJobs(ids);
+    }
+
+    // GET /api/jobs/catalog -> versiunea, vârsta și starea refresh-ului
+    @GetMapping("/catalog")
+    public CatalogStatusDto getCatalogStatus() {
+        return catalogService.getStatus();
+    }
+
     @GetMapping("/info")
     public String getInfo() {
         try {
@@ -0,0 +1,34 @@
+package com.example.jobservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Diferența dintre două versiuni ale catalogului, pe id.
+ * full == true: versiunea de la care cere clientul nu mai e în istoric, deci trebuie să reîncarce
+ * lista completă din GET /api/jobs (added/changed/removed sunt atunci goale).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogDeltaDto {
+    private long fromVersion;
+    private long toVersion;
+    private boolean full;
+    private List<JobDto> added;
+    private List<JobDto> changed;
+    private List<String> removed;
+
+    public static CatalogDeltaDto fullReload(long fromVersion, long toVersion) {
+        return new CatalogDeltaDto(fromVersion, toVersion, true, List.of(), List.of(), List.of());
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !full && added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+}
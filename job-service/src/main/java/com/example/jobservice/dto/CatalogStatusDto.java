@@ -0,0 +1,23 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogStatusDto {
+    private long version;
+    private int size;
+    private Instant fetchedAt;
+    private long ageSeconds;
+    private boolean refreshing;
+    private Instant lastAttemptAt;
+    private String lastError;
+    // Starea fiecărei surse; o sursă cu circuitul OPEN contribuie cu ultima ei listă bună
+    private List<SourceStatusDto> sources;
+}
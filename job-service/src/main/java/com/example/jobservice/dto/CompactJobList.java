@@ -0,0 +1,684 @@
+package com.example.jobservice.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Lista de joburi a unui catalog, păstrată pe coloane în loc de mii de obiecte mici.
+ *
+ * Companiile, locațiile, tag-urile și tipurile de job se repetă mult, deci sunt codificate într-un
+ * dicționar comun (fiecare valoare distinctă apare o singură dată). Id-urile, titlurile, url-urile și
+ * rezumatele stau ca UTF-8 într-un singur byte[] per coloană, data și flag-ul remote în vectori
+ * primitivi, iar textul complet (folosit doar la indexare) e comprimat per rând.
+ *
+ * {@link #get(int)} construiește un {@link JobDto} nou la fiecare apel, doar pentru rândurile cerute;
+ * textul complet se decomprimă abia când cineva apelează getFullText(). Lista e imutabilă.
+ */
+public final class CompactJobList extends AbstractList<JobDto> implements RandomAccess, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final CompactJobList EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final Utf8Column ids;
+    private final Utf8Column titles;
+    private final Utf8Column urls;
+    private final Utf8Column descriptions;
+    private final DeflatedColumn fullTexts;
+    // Dicționarul comun; -1 = null
+    private final String[] dictionary;
+    private final int[] companies;
+    private final int[] locations;
+    private final CodeListColumn tags;
+    private final CodeListColumn jobTypes;
+    private final long[] createdAt;
+    private final BitSet remote;
+    // Index hash id -> rând, construit o dată per listă (deci per versiune de catalog)
+    private final int[] rowsById;
+
+    private CompactJobList(Builder builder) {
+        this.size = builder.size;
+        this.ids = builder.ids.build();
+        this.titles = builder.titles.build();
+        this.urls = builder.urls.build();
+        this.descriptions = builder.descriptions.build();
+        this.fullTexts = builder.fullTexts.build();
+        this.dictionary = builder.dictionary.toArray(new String[0]);
+        this.companies = Arrays.copyOf(builder.companies, size);
+        this.locations = Arrays.copyOf(builder.locations, size);
+        this.tags = builder.tags.build();
+        this.jobTypes = builder.jobTypes.build();
+        this.createdAt = Arrays.copyOf(builder.createdAt, size);
+        this.remote = builder.remote;
+        this.rowsById = hashRowsById(ids, size);
+    }
+
+    public static CompactJobList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compactează o listă de joburi; o listă deja compactă e întoarsă ca atare.
+     * Ca List.copyOf, respinge elementele null.
+     */
+    public static CompactJobList of(Collection<? extends JobDto> jobs) {
+        if (jobs instanceof CompactJobList compact) {
+            return compact;
+        }
+        if (jobs.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(jobs.size());
+        for (JobDto job : jobs) {
+            builder.add(job);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public JobDto get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+        return new JobView(this, row);
+    }
+
+    public String idAt(int row) {
+        return ids.get(row);
+    }
+
+    // Accesul pe coloane de mai jos e pentru formatul binar din cache (JobCatalogCodec): fără JobDto
+    // intermediare și fără să decomprimăm textul complet.
+
+    public String titleAt(int row) {
+        return titles.get(row);
+    }
+
+    public String descriptionAt(int row) {
+        return descriptions.get(row);
+    }
+
+    public String urlAt(int row) {
+        return urls.get(row);
+    }
+
+    public boolean remoteAt(int row) {
+        return remote.get(row);
+    }
+
+    public long createdAtOf(int row) {
+        return createdAt[row];
+    }
+
+    // Codurile de mai jos sunt poziții în dictionary(); -1 = null
+    public List<String> dictionary() {
+        return Collections.unmodifiableList(Arrays.asList(dictionary));
+    }
+
+    public int companyCodeAt(int row) {
+        return companies[row];
+    }
+
+    public int locationCodeAt(int row) {
+        return locations[row];
+    }
+
+    public int[] tagCodesAt(int row) {
+        return tags.get(row);
+    }
+
+    public int[] jobTypeCodesAt(int row) {
+        return jobTypes.get(row);
+    }
+
+    // Lungimea textului complet în octeți UTF-8, -1 = null
+    public int fullTextLengthAt(int row) {
+        return fullTexts.lengths[row];
+    }
+
+    // Textul complet al rândului, comprimat Deflate (raw), exact cum e ținut în listă
+    public byte[] deflatedFullTextAt(int row) {
+        return Arrays.copyOfRange(fullTexts.data, fullTexts.offsets[row], fullTexts.offsets[row + 1]);
+    }
+
+    /**
+     * Jobul cu id-ul dat, sau null. O(1), fără să materializeze alte rânduri.
+     */
+    public JobDto findById(String id) {
+        int row = rowOf(id);
+        return row >= 0 ? get(row) : null;
+    }
+
+    public int rowOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int mask = rowsById.length - 1;
+        for (int slot = Utf8Column.hash(key, 0, key.length) & mask; rowsById[slot] != 0; slot = (slot + 1) & mask) {
+            int row = rowsById[slot] - 1;
+            if (ids.matches(row, key)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // Tabelă cu adresare deschisă, cel mult pe jumătate plină; sloturile țin rândul + 1 (0 = liber).
+    // La id-uri duplicate câștigă primul rând.
+    private static int[] hashRowsById(Utf8Column ids, int size) {
+        int[] slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size)) << 2)];
+        int mask = slots.length - 1;
+        for (int row = 0; row < size; row++) {
+            if (ids.isNull(row)) {
+                continue;
+            }
+            int slot = ids.hash(row) & mask;
+            while (slots[slot] != 0 && ids.compare(slots[slot] - 1, row) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = row + 1;
+            }
+        }
+        return slots;
+    }
+
+    private String decode(int code) {
+        return code < 0 ? null : dictionary[code];
+    }
+
+    private List<String> decodeList(CodeListColumn column, int row) {
+        int[] codes = column.get(row);
+        if (codes == null) {
+            return null;
+        }
+        String[] values = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            values[i] = dictionary[codes[i]];
+        }
+        return List.of(values);
+    }
+
+    /**
+     * Un rând materializat. Câmpurile ieftine sunt copiate la construcție; textul complet e citit din
+     * coloana comprimată doar la cerere și nu e reținut, deci view-ul rămâne mic.
+     */
+    private static final class JobView extends JobDto {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient CompactJobList source;
+        private final transient int row;
+        private transient boolean fullTextOverridden;
+
+        JobView(CompactJobList source, int row) {
+            super(source.ids.get(row), source.titles.get(row), source.decode(source.companies[row]),
+                source.decode(source.locations[row]), source.descriptions.get(row), source.urls.get(row),
+                source.remote.get(row), source.decodeList(source.tags, row), source.decodeList(source.jobTypes, row),
+                source.createdAt[row], null);
+            this.source = source;
+            this.row = row;
+        }
+
+        @Override
+        public String getFullText() {
+            return fullTextOverridden ? super.getFullText() : source.fullTexts.get(row);
+        }
+
+        @Override
+        public void setFullText(String fullText) {
+            super.setFullText(fullText);
+            fullTextOverridden = true;
+        }
+
+        // La serializare Java devine un JobDto obișnuit, fără referință la toată lista
+        @Serial
+        private Object writeReplace() {
+            return new JobDto(getId(), getTitle(), getCompany(), getLocation(), getDescription(), getUrl(), isRemote(),
+                getTags(), getJobTypes(), getCreatedAt(), getFullText());
+        }
+    }
+
+    /**
+     * Construiește lista direct din coloane: coduri dintr-un dicționar dat și text complet deja comprimat
+     * (vezi {@link #deflatedFullTextAt}). Folosit la citirea catalogului din cache.
+     */
+    public static final class EncodedBuilder {
+
+        private final Builder builder;
+        private final int dictionarySize;
+
+        public EncodedBuilder(List<String> dictionary, int capacity) {
+            this.builder = new Builder(capacity);
+            for (String value : dictionary) {
+                builder.code(value);
+            }
+            if (builder.dictionary.size() != dictionary.size()) {
+                throw new IllegalArgumentException("Dicționarul conține valori null sau duplicate");
+            }
+            this.dictionarySize = dictionary.size();
+        }
+
+        public EncodedBuilder add(String id, String title, int company, int location, String description, String url,
+                                  boolean remote, int[] tags, int[] jobTypes, long createdAt, String fullText) {
+            addColumns(id, title, company, location, description, url, remote, tags, jobTypes, createdAt);
+            builder.fullTexts.add(fullText);
+            return this;
+        }
+
+        public EncodedBuilder addDeflated(String id, String title, int company, int location, String description, String url,
+                                          boolean remote, int[] tags, int[] jobTypes, long createdAt,
+                                          int fullTextLength, byte[] deflatedFullText) {
+            if (fullTextLength < -1 || (fullTextLength == -1 && deflatedFullText.length > 0)) {
+                throw new IllegalArgumentException("Lungime invalidă a textului complet: " + fullTextLength);
+            }
+            addColumns(id, title, company, location, description, url, remote, tags, jobTypes, createdAt);
+            builder.fullTexts.addDeflated(fullTextLength, deflatedFullText);
+            return this;
+        }
+
+        public CompactJobList build() {
+            return builder.build();
+        }
+
+        private void addColumns(String id, String title, int company, int location, String description, String url,
+                               boolean remote, int[] tags, int[] jobTypes, long createdAt) {
+            checkCode(company, true);
+            checkCode(location, true);
+            checkCodes(tags);
+            checkCodes(jobTypes);
+            int row = builder.startRow();
+            builder.ids.add(id);
+            builder.titles.add(title);
+            builder.urls.add(url);
+            builder.descriptions.add(description);
+            builder.companies[row] = company;
+            builder.locations[row] = location;
+            builder.tags.add(tags);
+            builder.jobTypes.add(jobTypes);
+            builder.createdAt[row] = createdAt;
+            builder.remote.set(row, remote);
+        }
+
+        private void checkCodes(int[] codes) {
+            if (codes != null) {
+                for (int code : codes) {
+                    checkCode(code, false);
+                }
+            }
+        }
+
+        private void checkCode(int code, boolean nullable) {
+            if (code < (nullable ? -1 : 0) || code >= dictionarySize) {
+                throw new IllegalArgumentException("Cod de dicționar invalid: " + code);
+            }
+        }
+    }
+
+    private static final class Builder {
+
+        private int size;
+        private final Utf8Column.Builder ids;
+        private final Utf8Column.Builder titles;
+        private final Utf8Column.Builder urls;
+        private final Utf8Column.Builder descriptions;
+        private final DeflatedColumn.Builder fullTexts;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int[] companies;
+        private int[] locations;
+        private final CodeListColumn.Builder tags;
+        private final CodeListColumn.Builder jobTypes;
+        private long[] createdAt;
+        private final BitSet remote = new BitSet();
+
+        Builder(int capacity) {
+            this.ids = new Utf8Column.Builder(capacity);
+            this.titles = new Utf8Column.Builder(capacity);
+            this.urls = new Utf8Column.Builder(capacity);
+            this.descriptions = new Utf8Column.Builder(capacity);
+            this.fullTexts = new DeflatedColumn.Builder(capacity);
+            this.companies = new int[capacity];
+            this.locations = new int[capacity];
+            this.tags = new CodeListColumn.Builder(capacity);
+            this.jobTypes = new CodeListColumn.Builder(capacity);
+            this.createdAt = new long[capacity];
+        }
+
+        void add(JobDto job) {
+            if (job == null) {
+                throw new NullPointerException("job");
+            }
+            int row = startRow();
+            ids.add(job.getId());
+            titles.add(job.getTitle());
+            urls.add(job.getUrl());
+            descriptions.add(job.getDescription());
+            // Un rând venit dintr-o altă listă compactă își păstrează textul comprimat, fără decompresie
+            if (job instanceof JobView view && !view.fullTextOverridden) {
+                fullTexts.copyFrom(view.source.fullTexts, view.row);
+            } else {
+                fullTexts.add(job.getFullText());
+            }
+            companies[row] = code(job.getCompany());
+            locations[row] = code(job.getLocation());
+            tags.add(codes(job.getTags()));
+            jobTypes.add(codes(job.getJobTypes()));
+            createdAt[row] = job.getCreatedAt();
+            remote.set(row, job.isRemote());
+        }
+
+        // Capacitatea dată la construcție e doar o estimare când lista vine din cache
+        int startRow() {
+            if (size == companies.length) {
+                int capacity = Math.max(4, size * 2);
+                companies = Arrays.copyOf(companies, capacity);
+                locations = Arrays.copyOf(locations, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+            }
+            return size++;
+        }
+
+        CompactJobList build() {
+            return new CompactJobList(this);
+        }
+
+        private int code(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        private int[] codes(List<String> values) {
+            if (values == null) {
+                return null;
+            }
+            int[] result = new int[values.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = code(values.get(i));
+                if (result[i] < 0) {
+                    // List.of nu acceptă null; un tag null nu are oricum sens
+                    throw new NullPointerException("null element in tag list of job " + ids.last());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Șiruri UTF-8 lipite într-un singur byte[]; rândul i e [offsets[i], offsets[i + 1]).
+     */
+    private static final class Utf8Column implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int[] offsets;
+        private final BitSet nulls;
+
+        Utf8Column(byte[] data, int[] offsets, BitSet nulls) {
+            this.data = data;
+            this.offsets = offsets;
+            this.nulls = nulls;
+        }
+
+        String get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            return new String(data, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+        }
+
+        int compare(int a, int b) {
+            return Arrays.compareUnsigned(data, offsets[a], offsets[a + 1], data, offsets[b], offsets[b + 1]);
+        }
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        boolean matches(int row, byte[] key) {
+            return !nulls.get(row) && Arrays.equals(data, offsets[row], offsets[row + 1], key, 0, key.length);
+        }
+
+        int hash(int row) {
+            return hash(data, offsets[row], offsets[row + 1]);
+        }
+
+        static int hash(byte[] bytes, int from, int to) {
+            int h = 1;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + bytes[i];
+            }
+            // Biții de sus contează și ei la masca tabelei
+            return h ^ (h >>> 16);
+        }
+
+        static final class Builder {
+
+            private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            private int[] offsets;
+            private final BitSet nulls = new BitSet();
+            private int size;
+            private String last;
+
+            Builder(int capacity) {
+                this.offsets = new int[capacity + 1];
+            }
+
+            void add(String value) {
+                if (size + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                if (value == null) {
+                    nulls.set(size);
+                } else {
+                    data.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                }
+                last = value;
+                offsets[++size] = data.size();
+            }
+
+            String last() {
+                return last;
+            }
+
+            Utf8Column build() {
+                return new Utf8Column(data.toByteArray(), Arrays.copyOf(offsets, size + 1), nulls);
+            }
+        }
+    }
+
+    /**
+     * Text UTF-8 comprimat cu Deflate, rând cu rând, ca să se poată decomprima un singur rând.
+     */
+    private static final class DeflatedColumn implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int[] offsets;
+        // Lungimea necomprimată (octeți UTF-8); -1 = null
+        private final int[] lengths;
+
+        DeflatedColumn(byte[] data, int[] offsets, int[] lengths) {
+            this.data = data;
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+
+        String get(int row) {
+            int length = lengths[row];
+            if (length < 0) {
+                return null;
+            }
+            byte[] plain = new byte[length];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data, offsets[row], offsets[row + 1] - offsets[row]);
+                int read = 0;
+                while (read < length) {
+                    int n = inflater.inflate(plain, read, length - read);
+                    if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                        break;
+                    }
+                    read += n;
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Text comprimat invalid pe rândul " + row, e);
+            } finally {
+                inflater.end();
+            }
+            return new String(plain, StandardCharsets.UTF_8);
+        }
+
+        static final class Builder {
+
+            private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            private final byte[] buffer = new byte[8192];
+            private int[] offsets;
+            private int[] lengths;
+            private int size;
+
+            Builder(int capacity) {
+                this.offsets = new int[capacity + 1];
+                this.lengths = new int[capacity];
+            }
+
+            void add(String value) {
+                ensureCapacity();
+                if (value == null) {
+                    lengths[size] = -1;
+                } else {
+                    byte[] plain = value.getBytes(StandardCharsets.UTF_8);
+                    lengths[size] = plain.length;
+                    deflater.reset();
+                    deflater.setInput(plain);
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int n = deflater.deflate(buffer);
+                        data.write(buffer, 0, n);
+                    }
+                }
+                offsets[++size] = data.size();
+            }
+
+            void copyFrom(DeflatedColumn source, int row) {
+                addDeflated(source.lengths[row], source.data, source.offsets[row], source.offsets[row + 1] - source.offsets[row]);
+            }
+
+            void addDeflated(int length, byte[] deflated) {
+                addDeflated(length, deflated, 0, deflated.length);
+            }
+
+            private void addDeflated(int length, byte[] deflated, int offset, int count) {
+                ensureCapacity();
+                lengths[size] = length;
+                data.write(deflated, offset, count);
+                offsets[++size] = data.size();
+            }
+
+            DeflatedColumn build() {
+                deflater.end();
+                return new DeflatedColumn(data.toByteArray(), Arrays.copyOf(offsets, size + 1), Arrays.copyOf(lengths, size));
+            }
+
+            private void ensureCapacity() {
+                if (size == lengths.length) {
+                    lengths = Arrays.copyOf(lengths, Math.max(4, lengths.length * 2));
+                    offsets = Arrays.copyOf(offsets, lengths.length + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * O listă de coduri de dicționar per rând (tag-uri, tipuri de job), în format CSR.
+     */
+    private static final class CodeListColumn implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] codes;
+        private final int[] offsets;
+        private final BitSet nulls;
+
+        CodeListColumn(int[] codes, int[] offsets, BitSet nulls) {
+            this.codes = codes;
+            this.offsets = offsets;
+            this.nulls = nulls;
+        }
+
+        int[] get(int row) {
+            return nulls.get(row) ? null : Arrays.copyOfRange(codes, offsets[row], offsets[row + 1]);
+        }
+
+        static final class Builder {
+
+            private int[] codes = new int[16];
+            private int[] offsets;
+            private final BitSet nulls = new BitSet();
+            private int size;
+            private int count;
+
+            Builder(int capacity) {
+                this.offsets = new int[capacity + 1];
+            }
+
+            void add(int[] values) {
+                if (size + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                if (values == null) {
+                    nulls.set(size);
+                } else {
+                    if (count + values.length > codes.length) {
+                        codes = Arrays.copyOf(codes, Math.max(codes.length * 2, count + values.length));
+                    }
+                    System.arraycopy(values, 0, codes, count, values.length);
+                    count += values.length;
+                }
+                offsets[++size] = count;
+            }
+
+            CodeListColumn build() {
+                return new CodeListColumn(Arrays.copyOf(codes, count), Arrays.copyOf(offsets, size + 1), nulls);
+            }
+        }
+    }
+}
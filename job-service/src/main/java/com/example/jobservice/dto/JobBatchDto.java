@@ -0,0 +1,18 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobBatchDto {
+    private long catalogVersion;
+    // În ordinea id-urilor cerute, fără duplicate
+    private List<JobDto> jobs;
+    // Id-urile care nu (mai) sunt în catalog
+    private List<String> missing;
+}
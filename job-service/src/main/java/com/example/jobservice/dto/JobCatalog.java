@@ -0,0 +1,61 @@
+package com.example.jobservice.dto;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot imutabil al catalogului de joburi.
+ * Se înlocuiește atomic la fiecare refresh reușit, deci cititorii nu văd niciodată o listă parțială.
+ * Joburile sunt ținute pe coloane ({@link CompactJobList}); getJobs() materializează doar rândurile citite.
+ */
+@Getter
+public class JobCatalog implements Serializable {
+
+    // Fixat la valoarea implicită de până acum, la fel ca în JobDto
+    @Serial
+    private static final long serialVersionUID = -2236802244922532253L;
+
+    private static final JobCatalog EMPTY = new JobCatalog(0L, List.of(), null);
+
+    private final long version;
+    private final List<JobDto> jobs;
+    private final Instant fetchedAt;
+
+    public JobCatalog(long version, List<JobDto> jobs, Instant fetchedAt) {
+        this.version = version;
+        this.jobs = CompactJobList.of(jobs);
+        this.fetchedAt = fetchedAt;
+    }
+
+    public static JobCatalog empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return jobs.isEmpty();
+    }
+
+    // Jobul cu id-ul dat sau null, din indexul hash al versiunii (fără să parcurgem lista)
+    public JobDto findJob(String id) {
+        return ((CompactJobList) jobs).findById(id);
+    }
+
+    // Intrările serializate Java înainte de CompactJobList au o listă obișnuită: o compactăm la citire
+    @Serial
+    private Object readResolve() {
+        return jobs instanceof CompactJobList ? this : new JobCatalog(version, jobs, fetchedAt);
+    }
+
+    // Vârsta snapshot-ului în secunde (-1 dacă nu am avut încă niciun fetch reușit)
+    public long ageSeconds() {
+        if (fetchedAt == null) {
+            return -1;
+        }
+        return Duration.between(fetchedAt, Instant.now()).toSeconds();
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.jobservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serial;
 import java.io.Serializable;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,10 +14,33 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class JobDto implements Serializable {
+
+    // Valoarea calculată implicit până acum, ca intrările deja scrise în Redis și snapshot-urile de pe disc
+    // să se citească în continuare; se schimbă doar la o modificare incompatibilă a câmpurilor
+    @Serial
+    private static final long serialVersionUID = -8150376922092978629L;
+
     private String id;
     private String title;
     private String company;
     private String location;
     private String description;
     private String url;
+    private boolean remote;
+    private List<String> tags = List.of();
+    private List<String> jobTypes = List.of();
+    private long createdAt; // epoch seconds, ca în Arbeitnow
+
+    // Descrierea completă ca text simplu, doar pentru indexul de căutare; nu ajunge în răspunsurile JSON
+    @JsonIgnore
+    private String fullText;
+
+    public JobDto(String id, String title, String company, String location, String description, String url) {
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.location = location;
+        this.description = description;
+        this.url = url;
+    }
 }
@@ -0,0 +1,20 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Parametrii pentru GET /api/jobs/search (toate opționale)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSearchQuery {
+    private String q;          // cuvinte cheie în titlu / descriere
+    private String company;
+    private String location;
+    private Boolean remote;
+    private String tag;
+    private String jobType;
+    private int page = 0;
+    private int size = 20;
+}
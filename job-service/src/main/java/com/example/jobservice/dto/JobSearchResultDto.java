@@ -0,0 +1,18 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSearchResultDto {
+    private long catalogVersion;
+    private int total;
+    private int page;
+    private int size;
+    private List<JobDto> jobs;
+}
@@ -0,0 +1,19 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Preferințele utilizatorului, în forma din backend (model.Preferences); toate opționale
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PreferencesDto {
+    private String desiredRole;      // ex. "Java Developer"
+    private List<String> locations;  // ex. ["Berlin", "Remote"]
+    private String jobType;          // ex. "Full-time"
+    // Arbeitnow nu publică salarii, deci deocamdată nu filtrează nimic
+    private Double minSalary;
+}
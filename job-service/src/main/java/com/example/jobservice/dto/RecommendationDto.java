@@ -0,0 +1,14 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendationDto {
+    private JobDto job;
+    // Între 0 și 1: cât din preferințe potrivește jobul
+    private double score;
+}
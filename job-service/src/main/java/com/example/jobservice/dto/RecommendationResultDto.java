@@ -0,0 +1,17 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendationResultDto {
+    private long catalogVersion;
+    // Câte joburi au potrivit cel puțin un criteriu, înainte de top-K
+    private int candidates;
+    private List<RecommendationDto> jobs;
+}
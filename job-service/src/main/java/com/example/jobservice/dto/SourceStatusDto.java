@@ -0,0 +1,20 @@
+package com.example.jobservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SourceStatusDto {
+    private String name;
+    // Starea legăturii cu sursa (ex. CLOSED/OPEN pentru circuit breaker)
+    private String state;
+    // Câte joburi a contribuit sursa la ultimul catalog
+    private int jobs;
+    private Instant lastSuccessAt;
+    private String lastError;
+}
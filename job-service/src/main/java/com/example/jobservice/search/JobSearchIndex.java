@@ -0,0 +1,241 @@
+package com.example.jobservice.search;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.JobSearchQuery;
+import com.example.jobservice.dto.JobSearchResultDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Index inversat imutabil peste o versiune a catalogului, construit o singură dată per refresh.
+ * O căutare intersectează listele de postări ale filtrelor (începând cu cea mai scurtă),
+ * apoi ordonează doar candidații rămași; nu se parcurge niciodată tot catalogul.
+ */
+public class JobSearchIndex {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Un termen găsit în titlu cântărește mai mult decât unul găsit doar în descriere / tag-uri
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+
+    private final long version;
+    private final List<JobDto> jobs;
+    private final int[] allDocs;
+    private final PrefixIndex text;
+    private final PrefixIndex titles;
+    private final PrefixIndex companies;
+    private final PrefixIndex locations;
+    private final Map<String, int[]> tags;
+    private final Map<String, int[]> jobTypes;
+    private final int[] remoteDocs;
+
+    private JobSearchIndex(long version, List<JobDto> jobs, PrefixIndex text, PrefixIndex titles,
+                           PrefixIndex companies, PrefixIndex locations, Map<String, int[]> tags,
+                           Map<String, int[]> jobTypes, int[] remoteDocs) {
+        this.version = version;
+        this.jobs = jobs;
+        this.allDocs = IntStream.range(0, jobs.size()).toArray();
+        this.text = text;
+        this.titles = titles;
+        this.companies = companies;
+        this.locations = locations;
+        this.tags = tags;
+        this.jobTypes = jobTypes;
+        this.remoteDocs = remoteDocs;
+    }
+
+    public static JobSearchIndex build(JobCatalog catalog) {
+        List<JobDto> jobs = catalog.getJobs();
+        Map<String, PostingsBuilder> text = new HashMap<>();
+        Map<String, PostingsBuilder> titles = new HashMap<>();
+        Map<String, PostingsBuilder> companies = new HashMap<>();
+        Map<String, PostingsBuilder> locations = new HashMap<>();
+        Map<String, PostingsBuilder> tags = new HashMap<>();
+        Map<String, PostingsBuilder> jobTypes = new HashMap<>();
+        PostingsBuilder remote = new PostingsBuilder();
+
+        // Documentele sunt adăugate în ordine crescătoare, deci listele ies deja sortate
+        for (int doc = 0; doc < jobs.size(); doc++) {
+            JobDto job = jobs.get(doc);
+            for (String token : Tokenizer.tokenize(job.getTitle())) {
+                add(titles, token, doc);
+                add(text, token, doc);
+            }
+            // Rezumatul din listă are doar 200 de caractere; indexăm toată descrierea când o avem
+            String description = job.getFullText() != null ? job.getFullText() : job.getDescription();
+            for (String token : Tokenizer.tokenize(description)) {
+                add(text, token, doc);
+            }
+            for (String token : Tokenizer.tokenize(job.getCompany())) {
+                add(companies, token, doc);
+                add(text, token, doc);
+            }
+            for (String token : Tokenizer.tokenize(job.getLocation())) {
+                add(locations, token, doc);
+            }
+            if (job.getTags() != null) {
+                for (String tag : job.getTags()) {
+                    add(tags, Tokenizer.normalize(tag), doc);
+                    for (String token : Tokenizer.tokenize(tag)) {
+                        add(text, token, doc);
+                    }
+                }
+            }
+            if (job.getJobTypes() != null) {
+                for (String jobType : job.getJobTypes()) {
+                    add(jobTypes, Tokenizer.normalize(jobType), doc);
+                }
+            }
+            if (job.isRemote()) {
+                remote.add(doc);
+            }
+        }
+
+        return new JobSearchIndex(catalog.getVersion(), jobs, new PrefixIndex(text), new PrefixIndex(titles),
+            new PrefixIndex(companies), new PrefixIndex(locations), freeze(tags), freeze(jobTypes), remote.toArray());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public JobSearchResultDto search(JobSearchQuery query) {
+        int page = Math.max(0, query.getPage());
+        int size = Math.min(Math.max(1, query.getSize()), MAX_PAGE_SIZE);
+
+        List<String> keywords = Tokenizer.tokenize(query.getQ());
+        List<int[]> required = new ArrayList<>();
+        for (String keyword : keywords) {
+            required.add(text.postingsFor(keyword));
+        }
+        for (String token : Tokenizer.tokenize(query.getCompany())) {
+            required.add(companies.postingsFor(token));
+        }
+        for (String token : Tokenizer.tokenize(query.getLocation())) {
+            required.add(locations.postingsFor(token));
+        }
+        if (query.getTag() != null && !query.getTag().isBlank()) {
+            required.add(tags.getOrDefault(Tokenizer.normalize(query.getTag()), PostingLists.EMPTY));
+        }
+        if (query.getJobType() != null && !query.getJobType().isBlank()) {
+            required.add(jobTypes.getOrDefault(Tokenizer.normalize(query.getJobType()), PostingLists.EMPTY));
+        }
+        if (Boolean.TRUE.equals(query.getRemote())) {
+            required.add(remoteDocs);
+        }
+
+        int[] candidates = required.isEmpty() ? allDocs : PostingLists.intersect(required);
+        if (Boolean.FALSE.equals(query.getRemote())) {
+            candidates = PostingLists.subtract(candidates, remoteDocs);
+        }
+        int[] ranked = keywords.isEmpty() ? candidates : rank(candidates, keywords);
+
+        int from = (int) Math.min((long) page * size, ranked.length);
+        int to = Math.min(from + size, ranked.length);
+        List<JobDto> results = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            results.add(jobs.get(ranked[i]));
+        }
+        return new JobSearchResultDto(version, ranked.length, page, size, results);
+    }
+
+    // Scor = suma ponderilor pe cuvinte cheie; la egalitate păstrăm ordinea din catalog (cele mai noi întâi)
+    private int[] rank(int[] candidates, List<String> keywords) {
+        int[][] titleHits = new int[keywords.size()][];
+        for (int k = 0; k < keywords.size(); k++) {
+            titleHits[k] = titles.postingsFor(keywords.get(k));
+        }
+
+        long[] keyed = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            int doc = candidates[i];
+            int score = 0;
+            for (int[] hits : titleHits) {
+                score += PostingLists.contains(hits, doc) ? TITLE_WEIGHT : TEXT_WEIGHT;
+            }
+            // Scorul negat în biții de sus: sortarea crescătoare dă scor descrescător, apoi doc crescător
+            keyed[i] = ((long) -score << 32) | doc;
+        }
+        Arrays.sort(keyed);
+
+        int[] ranked = new int[keyed.length];
+        for (int i = 0; i < keyed.length; i++) {
+            ranked[i] = (int) keyed[i];
+        }
+        return ranked;
+    }
+
+    private static void add(Map<String, PostingsBuilder> postings, String term, int doc) {
+        if (!term.isEmpty()) {
+            postings.computeIfAbsent(term, t -> new PostingsBuilder()).add(doc);
+        }
+    }
+
+    private static Map<String, int[]> freeze(Map<String, PostingsBuilder> postings) {
+        Map<String, int[]> frozen = new HashMap<>(postings.size() * 2);
+        postings.forEach((term, builder) -> frozen.put(term, builder.toArray()));
+        return frozen;
+    }
+
+    /**
+     * Dicționar sortat de termeni: permite potrivire după prefix ("dev" -> "developer", "devops"),
+     * cum se așteaptă utilizatorul când tastează în bara de căutare.
+     */
+    static final class PrefixIndex {
+
+        private final String[] terms;
+        private final int[][] postings;
+
+        PrefixIndex(Map<String, PostingsBuilder> source) {
+            this.terms = source.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            this.postings = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                postings[i] = source.get(terms[i]).toArray();
+            }
+        }
+
+        int[] postingsFor(String prefix) {
+            int start = Arrays.binarySearch(terms, prefix);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            List<int[]> matches = new ArrayList<>();
+            for (int i = start; i < terms.length && terms[i].startsWith(prefix); i++) {
+                matches.add(postings[i]);
+            }
+            if (matches.isEmpty()) {
+                return PostingLists.EMPTY;
+            }
+            return PostingLists.union(matches);
+        }
+    }
+
+    static final class PostingsBuilder {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // Același termen de mai multe ori în același document -> o singură postare
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
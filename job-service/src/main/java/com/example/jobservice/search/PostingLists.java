@@ -0,0 +1,93 @@
+package com.example.jobservice.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Operații pe liste de postări: vectori int sortați crescător cu id-urile documentelor.
+ */
+public final class PostingLists {
+
+    static final int[] EMPTY = new int[0];
+
+    private PostingLists() {
+    }
+
+    // Intersecția pornește de la lista cea mai scurtă, deci costul e dictat de filtrul cel mai selectiv
+    public static int[] intersect(List<int[]> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        int[][] sorted = lists.toArray(new int[0][]);
+        Arrays.sort(sorted, Comparator.comparingInt(list -> list.length));
+        int[] result = sorted[0];
+        for (int i = 1; i < sorted.length && result.length > 0; i++) {
+            result = intersect(result, sorted[i]);
+        }
+        return result;
+    }
+
+    // Căutare exponențială în lista lungă pentru fiecare element din cea scurtă
+    public static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int count = 0;
+        int from = 0;
+        for (int doc : small) {
+            int bound = 1;
+            while (from + bound < large.length && large[from + bound] < doc) {
+                bound <<= 1;
+            }
+            int idx = Arrays.binarySearch(large, from, Math.min(from + bound + 1, large.length), doc);
+            if (idx >= 0) {
+                out[count++] = doc;
+                from = idx + 1;
+            } else {
+                from = -idx - 1;
+            }
+            if (from >= large.length) {
+                break;
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    public static int[] union(List<int[]> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] all = new int[total];
+        int offset = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, all, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(all);
+        int count = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (count == 0 || all[count - 1] != all[i]) {
+                all[count++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, count);
+    }
+
+    public static int[] subtract(int[] from, int[] excluded) {
+        int[] out = new int[from.length];
+        int count = 0;
+        for (int doc : from) {
+            if (!contains(excluded, doc)) {
+                out[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    public static boolean contains(int[] list, int doc) {
+        return list != null && Arrays.binarySearch(list, doc) >= 0;
+    }
+}
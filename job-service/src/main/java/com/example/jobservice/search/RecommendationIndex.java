@@ -0,0 +1,219 @@
+package com.example.jobservice.search;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.PreferencesDto;
+import com.example.jobservice.dto.RecommendationDto;
+import com.example.jobservice.dto.RecommendationResultDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Caracteristicile fiecărui job (termenii din titlu și tag-uri, locația, tipul de job), indexate
+ * o singură dată per versiune de catalog. O recomandare citește doar listele de postări ale termenilor
+ * din preferințe și ține cei mai buni K candidați într-un heap mărginit.
+ *
+ * Spre deosebire de căutare, termenii se potrivesc exact: "java" nu trebuie să recomande "javascript".
+ */
+public class RecommendationIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Rolul dorit contează cel mai mult; locația și tipul de job doar departajează
+    private static final double ROLE_WEIGHT = 0.6;
+    private static final double LOCATION_WEIGHT = 0.25;
+    private static final double JOB_TYPE_WEIGHT = 0.15;
+    // Un termen din rol găsit doar în tag-uri valorează jumătate din unul găsit în titlu
+    private static final double TAG_MATCH = 0.5;
+    // Scorul se ține în heap ca întreg, cu 6 zecimale
+    private static final int SCORE_SCALE = 1_000_000;
+
+    private static final String REMOTE = "remote";
+
+    private final long version;
+    private final List<JobDto> jobs;
+    private final Map<String, int[]> titleTerms;
+    private final Map<String, int[]> tagTerms;
+    private final Map<String, int[]> locationTerms;
+    private final Map<String, int[]> jobTypes;
+    private final int[] remoteDocs;
+
+    private RecommendationIndex(long version, List<JobDto> jobs, Map<String, int[]> titleTerms, Map<String, int[]> tagTerms,
+                                Map<String, int[]> locationTerms, Map<String, int[]> jobTypes, int[] remoteDocs) {
+        this.version = version;
+        this.jobs = jobs;
+        this.titleTerms = titleTerms;
+        this.tagTerms = tagTerms;
+        this.locationTerms = locationTerms;
+        this.jobTypes = jobTypes;
+        this.remoteDocs = remoteDocs;
+    }
+
+    public static RecommendationIndex build(JobCatalog catalog) {
+        List<JobDto> jobs = catalog.getJobs();
+        Map<String, JobSearchIndex.PostingsBuilder> titles = new HashMap<>();
+        Map<String, JobSearchIndex.PostingsBuilder> tags = new HashMap<>();
+        Map<String, JobSearchIndex.PostingsBuilder> locations = new HashMap<>();
+        Map<String, JobSearchIndex.PostingsBuilder> jobTypes = new HashMap<>();
+        JobSearchIndex.PostingsBuilder remote = new JobSearchIndex.PostingsBuilder();
+
+        for (int doc = 0; doc < jobs.size(); doc++) {
+            JobDto job = jobs.get(doc);
+            for (String token : Tokenizer.tokenize(job.getTitle())) {
+                add(titles, token, doc);
+            }
+            if (job.getTags() != null) {
+                for (String tag : job.getTags()) {
+                    for (String token : Tokenizer.tokenize(tag)) {
+                        add(tags, token, doc);
+                    }
+                }
+            }
+            for (String token : Tokenizer.tokenize(job.getLocation())) {
+                add(locations, token, doc);
+            }
+            if (job.getJobTypes() != null) {
+                for (String jobType : job.getJobTypes()) {
+                    add(jobTypes, Criteria.jobTypeKey(jobType), doc);
+                }
+            }
+            if (job.isRemote()) {
+                remote.add(doc);
+            }
+        }
+        return new RecommendationIndex(catalog.getVersion(), jobs, freeze(titles), freeze(tags), freeze(locations),
+            freeze(jobTypes), remote.toArray());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public RecommendationResultDto recommend(Criteria criteria, int limit) {
+        int k = Math.min(Math.max(1, limit), MAX_LIMIT);
+
+        // Rolul: fiecare termen cântărește după raritate (idf), deci "java" contează mai mult decât "developer"
+        int roleTerms = criteria.roleTokens().size();
+        int[][] roleTitles = new int[roleTerms][];
+        int[][] roleTags = new int[roleTerms][];
+        double[] roleWeights = new double[roleTerms];
+        double roleWeightSum = 0;
+        List<int[]> roleCandidates = new ArrayList<>();
+        for (int t = 0; t < roleTerms; t++) {
+            String token = criteria.roleTokens().get(t);
+            roleTitles[t] = titleTerms.getOrDefault(token, PostingLists.EMPTY);
+            roleTags[t] = tagTerms.getOrDefault(token, PostingLists.EMPTY);
+            int documentFrequency = roleTitles[t].length + roleTags[t].length;
+            roleWeights[t] = Math.log(1 + (double) (jobs.size() + 1) / (documentFrequency + 1));
+            roleWeightSum += roleWeights[t];
+            roleCandidates.add(roleTitles[t]);
+            roleCandidates.add(roleTags[t]);
+        }
+
+        // O locație cu mai multe cuvinte ("Berlin Mitte") trebuie să le conțină pe toate
+        List<int[]> locationMatches = new ArrayList<>();
+        for (List<String> location : criteria.locations()) {
+            List<int[]> tokens = new ArrayList<>();
+            for (String token : location) {
+                tokens.add(locationTerms.getOrDefault(token, PostingLists.EMPTY));
+            }
+            locationMatches.add(PostingLists.intersect(tokens));
+        }
+        if (criteria.remote()) {
+            locationMatches.add(remoteDocs);
+        }
+        int[] locationDocs = locationMatches.isEmpty() ? PostingLists.EMPTY : PostingLists.union(locationMatches);
+        int[] jobTypeDocs = criteria.jobType().isEmpty() ? PostingLists.EMPTY
+            : jobTypes.getOrDefault(criteria.jobType(), PostingLists.EMPTY);
+
+        // Cu un rol dat recomandăm doar joburi pe rolul acela; altfel orice potrivire de locație / tip
+        int[] candidates;
+        if (roleTerms > 0) {
+            candidates = PostingLists.union(roleCandidates);
+        } else {
+            candidates = PostingLists.union(List.of(locationDocs, jobTypeDocs));
+        }
+
+        TopK top = new TopK(k);
+        for (int doc : candidates) {
+            double score = 0;
+            if (roleTerms > 0) {
+                double matched = 0;
+                for (int t = 0; t < roleTerms; t++) {
+                    if (PostingLists.contains(roleTitles[t], doc)) {
+                        matched += roleWeights[t];
+                    } else if (PostingLists.contains(roleTags[t], doc)) {
+                        matched += roleWeights[t] * TAG_MATCH;
+                    }
+                }
+                score += ROLE_WEIGHT * matched / roleWeightSum;
+            }
+            if (PostingLists.contains(locationDocs, doc)) {
+                score += LOCATION_WEIGHT;
+            }
+            if (PostingLists.contains(jobTypeDocs, doc)) {
+                score += JOB_TYPE_WEIGHT;
+            }
+            top.offer(TopK.key((int) Math.round(score * SCORE_SCALE), doc));
+        }
+
+        long[] best = top.sortedDescending();
+        List<RecommendationDto> results = new ArrayList<>(best.length);
+        for (long key : best) {
+            results.add(new RecommendationDto(jobs.get(TopK.doc(key)), (double) TopK.score(key) / SCORE_SCALE));
+        }
+        return new RecommendationResultDto(version, candidates.length, results);
+    }
+
+    private static void add(Map<String, JobSearchIndex.PostingsBuilder> postings, String term, int doc) {
+        if (!term.isEmpty()) {
+            postings.computeIfAbsent(term, t -> new JobSearchIndex.PostingsBuilder()).add(doc);
+        }
+    }
+
+    private static Map<String, int[]> freeze(Map<String, JobSearchIndex.PostingsBuilder> postings) {
+        Map<String, int[]> frozen = new HashMap<>(postings.size() * 2);
+        postings.forEach((term, builder) -> frozen.put(term, builder.toArray()));
+        return frozen;
+    }
+
+    /**
+     * Preferințele normalizate: două payload-uri care diferă doar prin litere mari, diacritice, ordinea
+     * locațiilor sau "Full-time" vs "full time" dau același obiect, deci și aceeași intrare în cache.
+     */
+    public record Criteria(List<String> roleTokens, List<List<String>> locations, boolean remote, String jobType) {
+
+        public static Criteria of(PreferencesDto preferences) {
+            if (preferences == null) {
+                return new Criteria(List.of(), List.of(), false, "");
+            }
+            TreeSet<List<String>> locations = new TreeSet<>((a, b) -> String.join(" ", a).compareTo(String.join(" ", b)));
+            boolean remote = false;
+            if (preferences.getLocations() != null) {
+                for (String location : preferences.getLocations()) {
+                    List<String> tokens = Tokenizer.tokenize(location);
+                    if (tokens.equals(List.of(REMOTE))) {
+                        remote = true;
+                    } else if (!tokens.isEmpty()) {
+                        locations.add(tokens);
+                    }
+                }
+            }
+            return new Criteria(List.copyOf(new TreeSet<>(Tokenizer.tokenize(preferences.getDesiredRole()))),
+                List.copyOf(locations), remote, jobTypeKey(preferences.getJobType()));
+        }
+
+        public boolean isEmpty() {
+            return roleTokens.isEmpty() && locations.isEmpty() && !remote && jobType.isEmpty();
+        }
+
+        // "Full-time", "full time", "FULL_TIME" -> "full time"
+        static String jobTypeKey(String jobType) {
+            return String.join(" ", Tokenizer.tokenize(jobType));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.jobservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Păstrează cele mai mari K chei dintr-un flux, într-un min-heap de long-uri: O(n log K) în loc să
+ * sorteze toți candidații. Cheia codifică scorul în biții de sus și documentul în cei de jos.
+ */
+final class TopK {
+
+    private final long[] heap;
+    private int size;
+
+    TopK(int k) {
+        this.heap = new long[Math.max(0, k)];
+    }
+
+    // Scor mai mare câștigă; la egalitate documentul cu id mai mic (mai sus în catalog)
+    static long key(int score, int doc) {
+        return ((long) score << 32) | (Integer.MAX_VALUE - doc);
+    }
+
+    static int doc(long key) {
+        return Integer.MAX_VALUE - (int) key;
+    }
+
+    static int score(long key) {
+        return (int) (key >> 32);
+    }
+
+    void offer(long key) {
+        if (size < heap.length) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (size > 0 && key > heap[0]) {
+            heap[0] = key;
+            siftDown(0);
+        }
+    }
+
+    // Cheile, de la cea mai bună la cea mai slabă
+    long[] sortedDescending() {
+        long[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            long tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        long key = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    private void siftDown(int i) {
+        long key = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.CompactJobList;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.text.HtmlText;
+import com.example.jobservice.upstream.ResilientUpstream;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prima sursă de joburi: API-ul public gratuit Arbeitnow, parcurs pagină cu pagină.
+ * Joburile neschimbate față de ciclul anterior nu mai sunt re-mapate, deci costul crește cu
+ * numărul de modificări, nu cu dimensiunea catalogului.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "jobs.sources.arbeitnow.enabled", havingValue = "true", matchIfMissing = true)
+public class ArbeitnowJobSource implements JobSource {
+
+    public static final String NAME = "arbeitnow";
+
+    private static final String API_URL = "https://arbeitnow.com/api/job-board-api";
+    private static final int SUMMARY_LENGTH = 200;
+
+    private final RestTemplate restTemplate;
+    private final ResilientUpstream upstream;
+
+    @Value("${jobs.ingest.api-url:" + API_URL + "}")
+    private String apiUrl = API_URL;
+
+    // Câte pagini cerem în paralel de la Arbeitnow
+    @Value("${jobs.ingest.parallelism:4}")
+    private int parallelism = 4;
+
+    // Limită de siguranță, ca o paginare greșită upstream să nu ne țină într-o buclă infinită
+    @Value("${jobs.ingest.max-pages:50}")
+    private int maxPages = 50;
+
+    // Câte joburi păstrăm cel mult; după atâtea nu mai citim restul răspunsului
+    @Value("${jobs.ingest.max-jobs:5000}")
+    private int maxJobs = 5000;
+
+    // Joburile ingestiei anterioare (compacte) și amprenta fiecăruia, pentru refresh incremental
+    private volatile PreviousIngest previous = PreviousIngest.EMPTY;
+
+    public ArbeitnowJobSource(RestTemplate restTemplate, ResilientUpstream upstream) {
+        this.restTemplate = restTemplate;
+        this.upstream = upstream;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Parcurge toate paginile Arbeitnow și le unește într-o listă fără duplicate (cheie: slug).
+     * Paginile sunt citite în flux: fiecare job e mapat pe loc, iar HTML-ul brut nu e păstrat
+     * în memorie până la finalul ingestiei. Ne oprim după jobs.ingest.max-jobs joburi.
+     * Orice eroare (inclusiv circuitul deschis) se propagă spre JobService.
+     */
+    @Override
+    public List<JobDto> fetchJobs() {
+        System.out.println("--- Fetching jobs from Real API (Arbeitnow) ---");
+
+        PreviousIngest previous = this.previous;
+        FetchedPage firstPage = fetchPage(apiUrl, previous, maxJobs);
+        if (firstPage == null || !firstPage.page().hasData()) {
+            return List.of();
+        }
+
+        List<FetchedPage> pages = new ArrayList<>();
+        pages.add(firstPage);
+        pages.addAll(fetchRemainingPages(firstPage, previous));
+        return merge(pages);
+    }
+
+    // Starea circuitului către Arbeitnow: CLOSED, OPEN sau HALF_OPEN
+    @Override
+    public String state() {
+        return upstream.circuitState().name();
+    }
+
+    // Urmărim link-ul "next" primit de la API, dar cerem paginile în valuri de câte `parallelism`
+    private List<FetchedPage> fetchRemainingPages(FetchedPage firstPage, PreviousIngest previous) {
+        List<FetchedPage> pages = new ArrayList<>();
+        String nextLink = firstPage.page().next();
+        if (nextLink == null || firstPage.page().capped()) {
+            return pages;
+        }
+
+        Integer lastPage = firstPage.page().lastPage();
+        int lastAllowed = lastPage != null ? Math.min(lastPage, maxPages) : maxPages;
+        int waveSize = Math.max(1, parallelism);
+        int collected = firstPage.jobs().size();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int page = 2;
+            while (page <= lastAllowed) {
+                // Nicio pagină din val nu poate aduce mai mult decât a rămas până la limită
+                int remaining = maxJobs - collected;
+                if (remaining <= 0) {
+                    System.err.println("Am atins limita de " + maxJobs + " joburi la ingestia Arbeitnow");
+                    return pages;
+                }
+
+                List<CompletableFuture<FetchedPage>> wave = new ArrayList<>();
+                for (int p = page; p < page + waveSize && p <= lastAllowed; p++) {
+                    String pageUrl = pageUrl(nextLink, p);
+                    wave.add(CompletableFuture.supplyAsync(() -> fetchPage(pageUrl, previous, remaining), executor));
+                }
+                page += wave.size();
+
+                // Ne oprim la prima pagină goală sau fără "next"; paginile de după ea sunt ignorate
+                for (CompletableFuture<FetchedPage> future : wave) {
+                    FetchedPage response = future.join();
+                    if (response == null || response.jobs().isEmpty()) {
+                        return pages;
+                    }
+                    pages.add(response);
+                    collected += response.jobs().size();
+                    if (response.page().next() == null) {
+                        return pages;
+                    }
+                }
+            }
+        }
+
+        System.err.println("Am atins limita de " + maxPages + " pagini la ingestia Arbeitnow");
+        return pages;
+    }
+
+    private static String pageUrl(String nextLink, int page) {
+        return UriComponentsBuilder.fromHttpUrl(nextLink)
+            .replaceQueryParam("page", page)
+            .toUriString();
+    }
+
+    // Maparea se face pe firul care citește pagina, deci paginile dintr-un val se mapează în paralel.
+    // O pagină întreruptă la jumătate se reia de la capăt, cu tot cu parsare.
+    private FetchedPage fetchPage(String url, PreviousIngest previous, int limit) {
+        return upstream.call("GET " + url, () -> restTemplate.execute(URI.create(url), HttpMethod.GET, null, response -> {
+            List<IngestedJob> jobs = new ArrayList<>();
+            ArbeitnowPageParser.Page page = ArbeitnowPageParser.parse(response.getBody(), limit, apiJob -> {
+                if (apiJob.getSlug() == null) {
+                    return;
+                }
+                long fingerprint = apiJob.fingerprint();
+                JobDto known = previous.find(apiJob.getSlug(), fingerprint);
+                jobs.add(new IngestedJob(fingerprint, known != null ? known : mapToJobDto(apiJob)));
+            });
+            return new FetchedPage(page, jobs);
+        }));
+    }
+
+    private List<JobDto> merge(List<FetchedPage> pages) {
+        Map<String, IngestedJob> current = new LinkedHashMap<>();
+        for (FetchedPage page : pages) {
+            for (IngestedJob job : page.jobs()) {
+                // Același slug poate apărea pe două pagini dacă lista s-a mutat între cereri
+                if (current.size() < maxJobs) {
+                    current.putIfAbsent(job.job().getId(), job);
+                }
+            }
+        }
+        // Joburile neschimbate vin din lista compactă anterioară și își copiază coloanele fără re-mapare
+        CompactJobList jobs = CompactJobList.of(current.values().stream().map(IngestedJob::job).toList());
+        previous = new PreviousIngest(jobs, current.values().stream().mapToLong(IngestedJob::fingerprint).toArray());
+
+        System.out.println("--- Fetched " + jobs.size() + " jobs from " + pages.size() + " Arbeitnow pages ---");
+        return jobs;
+    }
+
+    static JobDto mapToJobDto(ArbeitnowJob apiJob) {
+        // Rezumatul se oprește după SUMMARY_LENGTH caractere, fără să copieze toată descrierea HTML
+        String truncatedDescription = HtmlText.summary(apiJob.getDescription(), SUMMARY_LENGTH) + "...";
+
+        return new JobDto(
+            apiJob.getSlug(),
+            apiJob.getTitle(),
+            apiJob.getCompanyName(),
+            apiJob.getLocation(),
+            truncatedDescription,
+            apiJob.getUrl(),
+            apiJob.isRemote(),
+            apiJob.getTags() != null ? List.copyOf(apiJob.getTags()) : List.of(),
+            apiJob.getJob_types() != null ? List.copyOf(apiJob.getJob_types()) : List.of(),
+            apiJob.getCreated_at(),
+            HtmlText.toPlainText(apiJob.getDescription())
+        );
+    }
+
+    private record IngestedJob(long fingerprint, JobDto job) {
+    }
+
+    // fingerprints[i] e amprenta rândului i din jobs
+    private record PreviousIngest(CompactJobList jobs, long[] fingerprints) {
+        static final PreviousIngest EMPTY = new PreviousIngest(CompactJobList.empty(), new long[0]);
+
+        // Jobul mapat anterior, dacă slug-ul există și conținutul nu s-a schimbat
+        JobDto find(String slug, long fingerprint) {
+            int row = jobs.rowOf(slug);
+            return row >= 0 && fingerprints[row] == fingerprint ? jobs.get(row) : null;
+        }
+    }
+
+    // Joburile deja mapate dintr-o pagină, plus link-urile de paginare citite din ea
+    private record FetchedPage(ArbeitnowPageParser.Page page, List<IngestedJob> jobs) {
+    }
+
+    @Data
+    static class ArbeitnowJob {
+        private String slug;
+        @JsonProperty("company_name")
+        private String companyName;
+        private String title;
+        private String description;
+        private boolean remote;
+        private String url;
+        private List<String> tags;
+        private List<String> job_types;
+        private String location;
+        private long created_at;
+
+        // Amprenta conținutului: dacă nu s-a schimbat, refolosim DTO-ul mapat anterior
+        long fingerprint() {
+            return 31L * created_at + Objects.hash(title, companyName, location, url, description, remote, tags, job_types);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.jobservice.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Citește o pagină Arbeitnow token cu token, fără să lege tot răspunsul în obiecte.
+ * Fiecare job e predat imediat consumatorului, iar câmpurile pe care nu le folosim sunt sărite
+ * fără să fie materializate. Citirea se oprește după {@code maxJobs} joburi.
+ */
+final class ArbeitnowPageParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private ArbeitnowPageParser() {
+    }
+
+    /**
+     * @param consumer primește joburile în ordinea din pagină; instanța nu e refolosită după apel
+     */
+    static Page parse(InputStream body, int maxJobs, Consumer<ArbeitnowJobSource.ArbeitnowJob> consumer) throws IOException {
+        Page page = new Page();
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return page;
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "data" -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        page.hasData = true;
+                        if (!readJobs(parser, page, maxJobs, consumer)) {
+                            // Am atins limita: restul răspunsului nu mai contează
+                            page.capped = true;
+                            return page;
+                        }
+                    }
+                    case "links" -> readLinks(parser, page);
+                    case "meta" -> readMeta(parser, page);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return page;
+    }
+
+    // false -> ne-am oprit la limită înainte de sfârșitul listei
+    private static boolean readJobs(JsonParser parser, Page page, int maxJobs,
+                                    Consumer<ArbeitnowJobSource.ArbeitnowJob> consumer) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (page.jobs >= maxJobs) {
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            consumer.accept(readJob(parser));
+            page.jobs++;
+        }
+        return true;
+    }
+
+    private static ArbeitnowJobSource.ArbeitnowJob readJob(JsonParser parser) throws IOException {
+        ArbeitnowJobSource.ArbeitnowJob job = new ArbeitnowJobSource.ArbeitnowJob();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "slug" -> job.setSlug(parser.getValueAsString());
+                case "company_name" -> job.setCompanyName(parser.getValueAsString());
+                case "title" -> job.setTitle(parser.getValueAsString());
+                case "description" -> job.setDescription(parser.getValueAsString());
+                case "remote" -> job.setRemote(parser.getValueAsBoolean());
+                case "url" -> job.setUrl(parser.getValueAsString());
+                case "location" -> job.setLocation(parser.getValueAsString());
+                case "tags" -> job.setTags(readStrings(parser, value));
+                case "job_types" -> job.setJob_types(readStrings(parser, value));
+                case "created_at" -> job.setCreated_at(parser.getValueAsLong());
+                default -> parser.skipChildren();
+            }
+        }
+        return job;
+    }
+
+    private static List<String> readStrings(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>(4);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.VALUE_STRING) {
+                values.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static void readLinks(JsonParser parser, Page page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if ("next".equals(field)) {
+                page.next = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readMeta(JsonParser parser, Page page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if ("last_page".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                page.lastPage = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /** Ce rămâne dintr-o pagină după ce joburile au fost predate consumatorului. */
+    static final class Page {
+        private boolean hasData;
+        private boolean capped;
+        private int jobs;
+        private String next;
+        private Integer lastPage;
+
+        boolean hasData() {
+            return hasData;
+        }
+
+        boolean capped() {
+            return capped;
+        }
+
+        int jobs() {
+            return jobs;
+        }
+
+        String next() {
+            return next;
+        }
+
+        Integer lastPage() {
+            return lastPage;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.CatalogDeltaDto;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fluxul de modificări al catalogului: ce joburi au apărut, s-au schimbat sau au dispărut între versiuni.
+ *
+ * La fiecare versiune nouă calculăm diferența (pe id) față de cea anterioară, o serializăm o singură dată
+ * și o trimitem abonaților SSE din GET /api/jobs/stream. Pentru ultimele `history` versiuni păstrăm doar
+ * un rezumat (id-uri sortate + amprenta fiecărui job), deci GET /api/jobs?since=v răspunde cu diferența
+ * față de catalogul curent fără să țină cataloagele vechi în memorie. O versiune necunoscută sau prea
+ * veche primește full=true: clientul reîncarcă lista completă.
+ */
+@Service
+public class CatalogChangeFeed {
+
+    static final String EVENT_NAME = "delta";
+
+    // Un abonat care nu consumă atâtea evenimente e deconectat; la reconectare primește diferența cumulată
+    static final int MAX_PENDING_EVENTS = 16;
+
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final int maxSubscribers;
+    private final Duration emitterTimeout;
+
+    // Rezumatele versiunilor recente, cea mai nouă la final; accesul e sincronizat pe this
+    private final Deque<VersionDigest> history = new ArrayDeque<>();
+    private JobCatalog current = JobCatalog.empty();
+    // Diferențele față de versiunea curentă, pe versiunea de plecare; se golesc la fiecare versiune nouă
+    private volatile Map<Long, CatalogDeltaDto> deltasToCurrent = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogChangeFeed(ObjectMapper objectMapper,
+                             @Value("${jobs.feed.history:20}") int historySize,
+                             @Value("${jobs.feed.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${jobs.feed.emitter-timeout:PT30M}") Duration emitterTimeout,
+                             @Value("${jobs.feed.heartbeat:PT25S}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.historySize = Math.max(1, historySize);
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeout = emitterTimeout;
+        // Proxy-urile (nginx, load balancere) închid conexiunile inactive; un comentariu SSE le ține deschise
+        long heartbeatMillis = Math.max(1, heartbeat.toMillis());
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        JobCatalog next = event.catalog();
+        synchronized (this) {
+            if (next.getVersion() == current.getVersion()) {
+                return;
+            }
+            VersionDigest previous = history.peekLast();
+            VersionDigest digest = VersionDigest.of(next);
+            // Primul catalog al replicii (ex. restaurat din snapshot): cine s-a abonat înainte îl reîncarcă complet
+            CatalogDeltaDto delta = previous == null
+                ? CatalogDeltaDto.fullReload(current.getVersion(), next.getVersion())
+                : diff(previous, digest, next);
+            current = next;
+            history.addLast(digest);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            deltasToCurrent = new ConcurrentHashMap<>();
+            if (previous != null) {
+                deltasToCurrent.put(previous.version(), delta);
+            }
+            // Tot sub lock: un abonat nou înregistrat în paralel primește fie diferența asta, fie catalogul deja nou
+            broadcast(delta);
+        }
+    }
+
+    /**
+     * Ce s-a schimbat de la versiunea `since` până la catalogul curent.
+     */
+    public CatalogDeltaDto changesSince(long since) {
+        Map<Long, CatalogDeltaDto> cached = deltasToCurrent;
+        CatalogDeltaDto delta = cached.get(since);
+        if (delta != null) {
+            return delta;
+        }
+        synchronized (this) {
+            return computeSince(since);
+        }
+    }
+
+    /**
+     * Deschide un flux SSE. Primul eveniment aduce clientul la zi: diferența de la `since` dacă o știm
+     * (ex. din Last-Event-ID la reconectare), altfel o diferență goală care îi spune doar versiunea curentă.
+     *
+     * @return gol dacă replica are deja maxSubscribers conexiuni deschise
+     */
+    public Optional<SseEmitter> subscribe(Long since) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            long version = current.getVersion();
+            CatalogDeltaDto initial = since == null
+                ? new CatalogDeltaDto(version, version, false, List.of(), List.of(), List.of())
+                : computeSince(since);
+            subscribers.add(subscriber);
+            subscriber.enqueue(initial.getToVersion(), encode(initial));
+        }
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    // Apelat sub lock
+    private CatalogDeltaDto computeSince(long since) {
+        long version = current.getVersion();
+        if (since == version) {
+            return new CatalogDeltaDto(since, version, false, List.of(), List.of(), List.of());
+        }
+        VersionDigest latest = history.peekLast();
+        if (latest == null || latest.version() != version) {
+            return CatalogDeltaDto.fullReload(since, version);
+        }
+        for (VersionDigest base : history) {
+            if (base.version() == since) {
+                CatalogDeltaDto delta = diff(base, latest, current);
+                deltasToCurrent.put(since, delta);
+                return delta;
+            }
+        }
+        return CatalogDeltaDto.fullReload(since, version);
+    }
+
+    /**
+     * Interclasează id-urile sortate ale celor două versiuni. added/changed păstrează ordinea din catalogul nou.
+     */
+    static CatalogDeltaDto diff(VersionDigest base, VersionDigest target, JobCatalog targetCatalog) {
+        List<JobDto> jobs = targetCatalog.getJobs();
+        int[] added = new int[target.ids().length];
+        int[] changed = new int[target.ids().length];
+        int addedCount = 0;
+        int changedCount = 0;
+        List<String> removed = new ArrayList<>();
+
+        int i = 0;
+        int j = 0;
+        while (i < base.ids().length || j < target.ids().length) {
+            int cmp = i == base.ids().length ? 1
+                : j == target.ids().length ? -1
+                : base.ids()[i].compareTo(target.ids()[j]);
+            if (cmp < 0) {
+                removed.add(base.ids()[i++]);
+            } else if (cmp > 0) {
+                added[addedCount++] = target.positions()[j++];
+            } else {
+                if (base.fingerprints()[i] != target.fingerprints()[j]) {
+                    changed[changedCount++] = target.positions()[j];
+                }
+                i++;
+                j++;
+            }
+        }
+        return new CatalogDeltaDto(base.version(), target.version(), false,
+            inCatalogOrder(jobs, added, addedCount), inCatalogOrder(jobs, changed, changedCount), removed);
+    }
+
+    private static List<JobDto> inCatalogOrder(List<JobDto> jobs, int[] positions, int count) {
+        Arrays.sort(positions, 0, count);
+        List<JobDto> result = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            result.add(jobs.get(positions[k]));
+        }
+        return result;
+    }
+
+    private void broadcast(CatalogDeltaDto delta) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json = encode(delta);
+        subscribers.forEach(subscriber -> subscriber.enqueue(delta.getToVersion(), json));
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    private String encode(CatalogDeltaDto delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu am putut serializa diferența de catalog", e);
+        }
+    }
+
+    /**
+     * Rezumatul unei versiuni: id-urile sortate, amprenta jobului cu id-ul respectiv și poziția lui în catalog.
+     */
+    record VersionDigest(long version, String[] ids, long[] fingerprints, int[] positions) {
+
+        static VersionDigest of(JobCatalog catalog) {
+            // Fiecare rând se materializează o singură dată, nu la fiecare comparație din sortare
+            List<JobDto> jobs = catalog.getJobs();
+            String[] rowIds = new String[jobs.size()];
+            long[] rowFingerprints = new long[jobs.size()];
+            Integer[] order = new Integer[jobs.size()];
+            for (int k = 0; k < order.length; k++) {
+                JobDto job = jobs.get(k);
+                rowIds[k] = job.getId();
+                rowFingerprints[k] = fingerprint(job);
+                order[k] = k;
+            }
+            Arrays.sort(order, (a, b) -> rowIds[a].compareTo(rowIds[b]));
+
+            String[] ids = new String[order.length];
+            long[] fingerprints = new long[order.length];
+            int[] positions = new int[order.length];
+            for (int k = 0; k < order.length; k++) {
+                ids[k] = rowIds[order[k]];
+                fingerprints[k] = rowFingerprints[order[k]];
+                positions[k] = order[k];
+            }
+            return new VersionDigest(catalog.getVersion(), ids, fingerprints, positions);
+        }
+
+        // 64 de biți din câmpurile vizibile clientului; fullText derivă din description, deci nu intră
+        static long fingerprint(JobDto job) {
+            long hash = 1;
+            for (Object field : new Object[] {job.getTitle(), job.getCompany(), job.getLocation(), job.getDescription(),
+                    job.getUrl(), job.isRemote(), job.getTags(), job.getJobTypes(), job.getCreatedAt()}) {
+                hash = hash * 1_000_003L + Objects.hashCode(field);
+                hash ^= hash >>> 29;
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Un client SSE. Evenimentele lui se trimit în ordine, de un singur fir virtual la un moment dat,
+     * deci un client lent nu ține pe loc nici refresh-ul, nici ceilalți abonați.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(long version, String json) {
+            offer(SseEmitter.event().id(String.valueOf(version)).name(EVENT_NAME).data(json, MediaType.APPLICATION_JSON));
+        }
+
+        void heartbeat() {
+            // Dacă are deja evenimente în coadă, conexiunea nu e inactivă
+            if (pendingCount.get() == 0) {
+                offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                disconnect();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Clientul a închis conexiunea; containerul notifică emitter-ul, noi doar îl uităm
+                        subscribers.remove(this);
+                        pending.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void disconnect() {
+            subscribers.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
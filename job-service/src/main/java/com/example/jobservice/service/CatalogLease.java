@@ -0,0 +1,11 @@
+package com.example.jobservice.service;
+
+/**
+ * Lease care garantează că o singură replică reconstruiește catalogul la un moment dat.
+ */
+public interface CatalogLease {
+
+    boolean tryAcquire();
+
+    void release();
+}
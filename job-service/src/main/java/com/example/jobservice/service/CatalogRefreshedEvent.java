@@ -0,0 +1,10 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+
+/**
+ * Publicat după fiecare refresh reușit sau catalog preluat, chiar dacă versiunea a rămas aceeași
+ * (atunci doar fetchedAt e mai nou). Pentru cine persistă snapshot-ul cu vârsta lui, nu pentru indecși.
+ */
+public record CatalogRefreshedEvent(JobCatalog catalog) {
+}
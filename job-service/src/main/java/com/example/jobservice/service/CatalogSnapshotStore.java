@@ -0,0 +1,191 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.cache.CompactCacheSerializer;
+import com.example.jobservice.dto.JobCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot-ul catalogului pe disc, pentru pornirea la cald a unei replici.
+ *
+ * Fiecare versiune nouă a catalogului (și fiecare re-verificare upstream a ei) se scrie într-un fișier
+ * local; la pornire, înainte să se deschidă portul HTTP, replica îl încarcă și servește imediat din el,
+ * iar refresh-ul din fundal aduce apoi catalogul la zi. Fișierul are un antet [MAGIC, versiunea formatului,
+ * CRC32, lungime] urmat de catalogul în formatul compact din cache ({@link CompactCacheSerializer}), deci
+ * evoluția schemei e aceeași ca în Redis. Un fișier lipsă, corupt sau prea vechi e ignorat.
+ */
+@Component
+public class CatalogSnapshotStore implements SmartLifecycle {
+
+    static final int MAGIC = 0x4A43534E; // "JCSN"
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    private final JobCatalogService catalogService;
+    private final CompactCacheSerializer serializer;
+    private final Path path;
+    private final Duration maxAge;
+
+    // Versiunea și fetchedAt din fișier; aceeași versiune re-verificată upstream trebuie rescrisă,
+    // altfel fetchedAt de pe disc îmbătrânește până depășește max-age
+    private volatile Saved saved = new Saved(-1, null);
+    private volatile boolean running;
+
+    public CatalogSnapshotStore(JobCatalogService catalogService,
+                                CompactCacheSerializer serializer,
+                                @Value("${jobs.catalog.snapshot.path:}") String path,
+                                @Value("${jobs.catalog.snapshot.max-age:P1D}") Duration maxAge) {
+        this.catalogService = catalogService;
+        this.serializer = serializer;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.maxAge = maxAge;
+    }
+
+    // Rulează înainte de pornirea serverului web, deci primul request găsește deja catalogul
+    @Override
+    public void start() {
+        running = true;
+        long start = System.nanoTime();
+        load().ifPresent(snapshot -> {
+            saved = new Saved(snapshot.getVersion(), snapshot.getFetchedAt());
+            catalogService.restore(snapshot);
+            System.out.println("--- Restored job catalog version " + snapshot.getVersion() + " (" + snapshot.getJobs().size()
+                + " jobs) from " + path + " in " + (System.nanoTime() - start) / 1_000_000 + " ms ---");
+        });
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Serverul web pornește în faza DEFAULT_PHASE - 2048; noi trebuie să terminăm înaintea lui
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        save(event.catalog());
+    }
+
+    public Optional<JobCatalog> load() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("dimensiune invalidă: " + channel.size());
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC) {
+                throw new IOException("nu este un snapshot de catalog");
+            }
+            int formatVersion = mapped.getInt();
+            if (formatVersion > FORMAT_VERSION) {
+                throw new IOException("scris de un build mai nou (format v" + formatVersion + ")");
+            }
+            long expectedCrc = mapped.getLong();
+            int length = mapped.getInt();
+            if (length != mapped.remaining()) {
+                throw new IOException("trunchiat (" + mapped.remaining() + " din " + length + " bytes)");
+            }
+            byte[] payload = new byte[length];
+            mapped.get(payload);
+            if (crc(payload) != expectedCrc) {
+                throw new IOException("checksum greșit");
+            }
+
+            JobCatalog catalog = (JobCatalog) serializer.deserialize(payload);
+            if (catalog == null || catalog.isEmpty()) {
+                return Optional.empty();
+            }
+            if (maxAge != null && catalog.ageSeconds() > maxAge.toSeconds()) {
+                System.err.println("Snapshot-ul catalogului e prea vechi (" + catalog.ageSeconds() + "s), îl ignorăm");
+                return Optional.empty();
+            }
+            return Optional.of(catalog);
+        } catch (IOException | RuntimeException e) {
+            // Un snapshot stricat nu trebuie să oprească pornirea: facem fetch ca înainte
+            System.err.println("Nu am putut citi snapshot-ul catalogului din " + path + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Scrie atomic: într-un fișier temporar din același director, apoi rename. Replicile care
+     * împart directorul nu văd niciodată un fișier pe jumătate scris; câștigă ultima scriere.
+     */
+    public void save(JobCatalog catalog) {
+        if (path == null || catalog.isEmpty() || saved.covers(catalog)) {
+            return;
+        }
+        Path temp = null;
+        try {
+            byte[] payload = serializer.serialize(catalog);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(crc(payload))
+                .putInt(payload.length)
+                .flip();
+
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[] {header, body});
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            saved = new Saved(catalog.getVersion(), catalog.getFetchedAt());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Nu am putut scrie snapshot-ul catalogului în " + path + ": " + e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // fișierul temporar rămâne; e suprascris/ignorat la următoarea scriere
+                }
+            }
+        }
+    }
+
+    private record Saved(long version, Instant fetchedAt) {
+
+        boolean covers(JobCatalog catalog) {
+            return catalog.getVersion() == version
+                && (catalog.getFetchedAt() == null || fetchedAt != null && !catalog.getFetchedAt().isAfter(fetchedAt));
+        }
+    }
+
+    private static long crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+}
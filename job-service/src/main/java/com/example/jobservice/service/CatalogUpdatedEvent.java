@@ -0,0 +1,11 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+
+/**
+ * Publicat (sincron, pe firul de refresh) de fiecare dată când replica începe să servească
+ * o versiune nouă a catalogului. Structurile derivate (indecși etc.) se reconstruiesc aici,
+ * nu pe calea request-urilor.
+ */
+public record CatalogUpdatedEvent(JobCatalog catalog) {
+}
@@ -0,0 +1,320 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.cache.CacheInvalidatedEvent;
+import com.example.jobservice.dto.CatalogStatusDto;
+import com.example.jobservice.dto.JobBatchDto;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ține în memorie ultimul catalog bun și îl reîmprospătează în fundal (stale-while-revalidate).
+ * Request-urile citesc doar snapshot-ul curent, deci nu așteaptă niciodată după Arbeitnow.
+ *
+ * Refresh-ul e single-flight pe două niveluri: apelurile concurente din aceeași replică împart
+ * același fetch, iar între replici un lease din Redis lasă o singură replică să apeleze upstream-ul;
+ * celelalte preiau rezultatul din cache-ul partajat.
+ */
+@Service
+public class JobCatalogService {
+
+    public static final String CACHE_NAME = "jobs";
+    public static final String CACHE_KEY = "allJobs";
+
+    // Id-uri per cerere POST /api/jobs/batch
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final long LEASE_POLL_MILLIS = 200;
+
+    private final JobService jobService;
+    private final CacheManager cacheManager;
+    private final CatalogLease lease;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration minRefreshAge;
+    private final Duration leaseWait;
+    private final Duration coldStartWait;
+
+    private final AtomicReference<JobCatalog> current = new AtomicReference<>(JobCatalog.empty());
+    private final AtomicReference<CompletableFuture<JobCatalog>> inFlight = new AtomicReference<>();
+    // Ultimul catalog construit de replica asta; IngestResult.hasChanges() e relativ doar la el
+    private volatile JobCatalog lastBuilt;
+    private volatile Instant lastAttemptAt;
+    private volatile String lastError;
+
+    public JobCatalogService(JobService jobService,
+                             CacheManager cacheManager,
+                             CatalogLease lease,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${jobs.catalog.min-refresh-age:PT4M}") Duration minRefreshAge,
+                             @Value("${jobs.catalog.lease-wait:PT30S}") Duration leaseWait,
+                             @Value("${jobs.catalog.cold-start-wait:PT10S}") Duration coldStartWait) {
+        this.jobService = jobService;
+        this.cacheManager = cacheManager;
+        this.lease = lease;
+        this.eventPublisher = eventPublisher;
+        this.minRefreshAge = minRefreshAge;
+        this.leaseWait = leaseWait;
+        this.coldStartWait = coldStartWait;
+    }
+
+    /**
+     * Snapshot-ul curent. Doar o replică abia pornită, care n-a avut încă niciun catalog,
+     * așteaptă (limitat de jobs.catalog.cold-start-wait) încărcarea în curs.
+     */
+    public JobCatalog getCatalog() {
+        JobCatalog catalog = current.get();
+        if (!catalog.isEmpty() || coldStartWait.isZero()) {
+            return catalog;
+        }
+        try {
+            return refreshAsync().get(coldStartWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return current.get();
+        }
+    }
+
+    /**
+     * Mai multe joburi dintr-un singur snapshot, deci toate din aceeași versiune.
+     * Fiecare id e o căutare în indexul hash al versiunii; duplicatele se răspund o singură dată.
+     */
+    public JobBatchDto findJobs(Collection<String> ids) {
+        JobCatalog catalog = getCatalog();
+        List<JobDto> jobs = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            JobDto job = catalog.findJob(id);
+            if (job != null) {
+                jobs.add(job);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new JobBatchDto(catalog.getVersion(), jobs, missing);
+    }
+
+    public CatalogStatusDto getStatus() {
+        JobCatalog catalog = current.get();
+        return new CatalogStatusDto(
+            catalog.getVersion(),
+            catalog.getJobs().size(),
+            catalog.getFetchedAt(),
+            catalog.ageSeconds(),
+            inFlight.get() != null,
+            lastAttemptAt,
+            lastError,
+            jobService.sourceStatuses()
+        );
+    }
+
+    // Rulează înainte să expire intrarea din Redis (TTL 20 min), deci cache-ul partajat rămâne mereu cald
+    @Scheduled(initialDelayString = "${jobs.catalog.initial-delay:PT0S}",
+               fixedDelayString = "${jobs.catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        refreshAsync().join();
+    }
+
+    // Toți apelanții concurenți din replica asta primesc același future
+    public CompletableFuture<JobCatalog> refreshAsync() {
+        while (true) {
+            CompletableFuture<JobCatalog> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<JobCatalog> started = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, started)) {
+                Thread.ofVirtual().name("job-catalog-refresh").start(() -> {
+                    JobCatalog result = null;
+                    Error fatal = null;
+                    try {
+                        result = doRefresh();
+                    } catch (RuntimeException e) {
+                        lastError = "Refresh failed: " + e.getMessage();
+                        System.err.println(lastError);
+                        result = current.get();
+                    } catch (Error e) {
+                        // OOM, StackOverflow, LinkageError: nu le înghițim, dar nici nu lăsăm slotul blocat
+                        lastError = "Refresh failed: " + e;
+                        fatal = e;
+                        throw e;
+                    } finally {
+                        // Eliberăm slotul înainte de complete, ca un apel imediat următor să pornească un refresh nou
+                        inFlight.compareAndSet(started, null);
+                        if (fatal == null) {
+                            started.complete(result);
+                        } else {
+                            started.completeExceptionally(fatal);
+                        }
+                    }
+                });
+                return started;
+            }
+        }
+    }
+
+    private JobCatalog doRefresh() {
+        // Poate altă replică tocmai a reconstruit catalogul: atunci nu mai apelăm upstream-ul
+        adoptFromCache();
+        JobCatalog shared = current.get();
+        if (!shared.isEmpty() && shared.ageSeconds() < minRefreshAge.toSeconds()) {
+            return shared;
+        }
+
+        if (!lease.tryAcquire()) {
+            return awaitOtherReplica(shared);
+        }
+        try {
+            return rebuild();
+        } finally {
+            lease.release();
+        }
+    }
+
+    private JobCatalog rebuild() {
+        lastAttemptAt = Instant.now();
+        JobService.IngestResult result = jobService.ingestJobs();
+        List<JobDto> jobs = result.getJobs();
+
+        // Un răspuns gol înseamnă aproape sigur o eroare upstream: păstrăm ultimul snapshot bun
+        if (jobs.isEmpty()) {
+            String reason = result.getError() != null ? result.getError() : "Upstream returned no jobs";
+            lastError = reason + ", keeping catalog version " + current.get().getVersion();
+            System.err.println(lastError);
+            return current.get();
+        }
+
+        // Fără modificări păstrăm versiunea; doar vârsta snapshot-ului se resetează
+        JobCatalog previous = current.get();
+        long version = sameContent(previous, result)
+            ? previous.getVersion()
+            : Math.max(System.currentTimeMillis(), previous.getVersion() + 1);
+        JobCatalog next = new JobCatalog(version, jobs, Instant.now());
+        current.set(next);
+        lastBuilt = next;
+        lastError = null;
+        if (next.getVersion() != previous.getVersion()) {
+            eventPublisher.publishEvent(new CatalogUpdatedEvent(next));
+        }
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(next));
+        writeToCache(next);
+        System.out.println("--- Job catalog refreshed: version " + next.getVersion() + ", " + jobs.size() + " jobs ---");
+        return next;
+    }
+
+    /**
+     * hasChanges() compară cu ingestia anterioară a replicii asteia. Dacă între timp am preluat catalogul
+     * altei replici (sau snapshot-ul de pe disc), comparăm cu ce publicăm acum, altfel un conținut diferit
+     * ar pleca sub aceeași versiune (și același ETag).
+     */
+    private boolean sameContent(JobCatalog previous, JobService.IngestResult result) {
+        if (previous.isEmpty()) {
+            return false;
+        }
+        if (previous == lastBuilt) {
+            return !result.hasChanges();
+        }
+        return previous.getJobs().equals(result.getJobs());
+    }
+
+    // Altă replică deține lease-ul: așteptăm să-și publice catalogul în loc să apelăm și noi Arbeitnow
+    private JobCatalog awaitOtherReplica(JobCatalog before) {
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            adoptFromCache();
+            if (current.get() != before) {
+                break;
+            }
+        }
+        return current.get();
+    }
+
+    // Altă replică a scris un catalog nou în Redis: îl preluăm acum, nu abia la următorul refresh
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (CACHE_NAME.equals(event.cacheName()) && (event.key() == null || CACHE_KEY.equals(event.key()))) {
+            adoptFromCache();
+        }
+    }
+
+    /**
+     * Catalogul din snapshot-ul de pe disc, încărcat la pornire înainte să se deschidă portul HTTP.
+     * Îl servim imediat; refresh-ul din fundal îl înlocuiește când aduce ceva mai nou.
+     */
+    public void restore(JobCatalog snapshot) {
+        adopt(snapshot, "local snapshot");
+    }
+
+    // Preluăm catalogul scris de altă replică dacă e mai nou decât al nostru
+    // (la pornire asta evită să servim o listă goală până la primul fetch)
+    private void adoptFromCache() {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            JobCatalog cached = cache != null ? cache.get(CACHE_KEY, JobCatalog.class) : null;
+            adopt(cached, "shared cache");
+        } catch (RuntimeException e) {
+            System.err.println("Nu am putut citi catalogul din cache: " + e.getMessage());
+        }
+    }
+
+    private void adopt(JobCatalog candidate, String origin) {
+        if (candidate == null || candidate.isEmpty()) {
+            return;
+        }
+        JobCatalog before = current.getAndAccumulate(candidate,
+            (mine, theirs) -> isNewer(theirs, mine) ? theirs : mine);
+        if (before != candidate && isNewer(candidate, before)) {
+            System.out.println("--- Adopted job catalog version " + candidate.getVersion() + " from " + origin + " ---");
+            if (candidate.getVersion() != before.getVersion()) {
+                eventPublisher.publishEvent(new CatalogUpdatedEvent(candidate));
+            }
+            eventPublisher.publishEvent(new CatalogRefreshedEvent(candidate));
+        }
+    }
+
+    // Aceeași versiune, dar verificată mai recent upstream, contează tot ca mai nouă
+    private static boolean isNewer(JobCatalog theirs, JobCatalog mine) {
+        if (theirs.getVersion() != mine.getVersion()) {
+            return theirs.getVersion() > mine.getVersion();
+        }
+        return mine.getFetchedAt() != null && theirs.getFetchedAt() != null
+            && theirs.getFetchedAt().isAfter(mine.getFetchedAt());
+    }
+
+    private void writeToCache(JobCatalog catalog) {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.put(CACHE_KEY, catalog);
+            }
+        } catch (RuntimeException e) {
+            // Redis indisponibil nu trebuie să strice snapshot-ul local
+            System.err.println("Nu am putut scrie catalogul în cache: " + e.getMessage());
+        }
+    }
+}
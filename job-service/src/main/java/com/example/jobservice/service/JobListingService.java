@@ -0,0 +1,182 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Paginile din GET /api/jobs, serializate (și comprimate gzip) o singură dată per versiune de catalog.
+ * Catalogul se schimbă doar la refresh, deci pe calea request-ului rămâne doar scrierea unui byte[].
+ */
+@Service
+public class JobListingService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Combinațiile page/size sunt controlate de client: nu păstrăm mai multe de atât per versiune
+    private static final int MAX_CACHED_PAGES = 256;
+
+    private final JobCatalogService catalogService;
+    private final ObjectMapper objectMapper;
+    private volatile EncodedCatalog encoded = new EncodedCatalog(JobCatalog.empty());
+
+    public JobListingService(JobCatalogService catalogService, ObjectMapper objectMapper) {
+        this.catalogService = catalogService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Pregătim lista completă și prima pagină încă de pe firul de refresh
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        EncodedCatalog next = new EncodedCatalog(event.catalog());
+        next.page(null, null);
+        next.page(0, 20);
+        encoded = next;
+    }
+
+    /**
+     * @param page null -> tot catalogul (comportamentul istoric al endpoint-ului)
+     */
+    public EncodedPage getPage(Integer page, Integer size) {
+        JobCatalog catalog = catalogService.getCatalog();
+        EncodedCatalog current = encoded;
+        if (current.catalog.getVersion() != catalog.getVersion()) {
+            current = new EncodedCatalog(catalog);
+            encoded = current;
+        }
+        // Aceeași versiune poate fi re-verificată upstream (fetchedAt nou): bytes-ii rămân, vârsta nu
+        EncodedPage cached = current.page(page, size);
+        return cached.catalog() == catalog ? cached : cached.withCatalog(catalog);
+    }
+
+    // paged == false -> tot catalogul; altfel felia [page * size, (page + 1) * size)
+    private EncodedPage encode(JobCatalog catalog, boolean paged, int page, int size) {
+        List<JobDto> jobs = catalog.getJobs();
+        List<JobDto> slice = jobs;
+        if (paged) {
+            int from = (int) Math.min((long) page * size, jobs.size());
+            slice = jobs.subList(from, Math.min(from + size, jobs.size()));
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(slice);
+            String etag = "W/\"" + catalog.getVersion() + "-" + (paged ? page + "-" + size : "all") + "\"";
+            boolean hasNext = paged && (long) (page + 1) * size < jobs.size();
+            return new EncodedPage(catalog, etag, json, gzip(json), jobs.size(), page, size, hasNext);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu am putut serializa pagina de joburi", e);
+        }
+    }
+
+    /**
+     * true dacă Accept-Encoding acceptă gzip (sau x-gzip, ori * fără gzip listat) cu q > 0.
+     * "gzip;q=0" înseamnă explicit că gzip nu e acceptat.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private final class EncodedCatalog {
+
+        private final JobCatalog catalog;
+        private final Map<String, EncodedPage> pages = new ConcurrentHashMap<>();
+
+        EncodedCatalog(JobCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        EncodedPage page(Integer page, Integer size) {
+            boolean paged = page != null || size != null;
+            int pageNumber = paged ? Math.max(0, page != null ? page : 0) : 0;
+            int pageSize = paged ? Math.min(Math.max(1, size != null ? size : 20), MAX_PAGE_SIZE) : catalog.getJobs().size();
+            String key = paged ? pageNumber + ":" + pageSize : "all";
+
+            EncodedPage cached = pages.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (pages.size() >= MAX_CACHED_PAGES) {
+                return encode(catalog, paged, pageNumber, pageSize);
+            }
+            return pages.computeIfAbsent(key, k -> encode(catalog, paged, pageNumber, pageSize));
+        }
+    }
+
+    public record EncodedPage(JobCatalog catalog, String etag, byte[] json, byte[] gzip,
+                              int total, int page, int size, boolean hasNext) {
+
+        EncodedPage withCatalog(JobCatalog catalog) {
+            return new EncodedPage(catalog, etag, json, gzip, total, page, size, hasNext);
+        }
+
+        // Corpul gzip e altă reprezentare decât cel necomprimat, deci are alt ETag
+        public String etag(boolean gzipped) {
+            return gzipped ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+        }
+
+        // If-None-Match poate conține mai multe etag-uri sau "*"
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            String expected = etag(gzipped);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(expected) || ("W/" + tag).equals(expected)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
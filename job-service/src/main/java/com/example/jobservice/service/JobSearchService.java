@@ -0,0 +1,43 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobSearchQuery;
+import com.example.jobservice.dto.JobSearchResultDto;
+import com.example.jobservice.search.JobSearchIndex;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobSearchService {
+
+    private final JobCatalogService catalogService;
+    private volatile JobSearchIndex index = JobSearchIndex.build(JobCatalog.empty());
+
+    public JobSearchService(JobCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Indexul se reconstruiește pe firul de refresh, imediat după ce apare o versiune nouă
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        indexFor(event.catalog());
+    }
+
+    public JobSearchResultDto search(JobSearchQuery query) {
+        return indexFor(catalogService.getCatalog()).search(query);
+    }
+
+    private JobSearchIndex indexFor(JobCatalog catalog) {
+        JobSearchIndex current = index;
+        if (current.getVersion() == catalog.getVersion()) {
+            return current;
+        }
+        // Un request poate vedea catalogul nou înaintea evenimentului: construim o singură dată
+        synchronized (this) {
+            if (index.getVersion() != catalog.getVersion()) {
+                index = JobSearchIndex.build(catalog);
+            }
+            return index;
+        }
+    }
+}
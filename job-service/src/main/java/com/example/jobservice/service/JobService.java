@@ -1,80 +1,247 @@
 package com.example.jobservice.service;
 
+import com.example.jobservice.dto.CompactJobList;
 import com.example.jobservice.dto.JobDto;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
-import org.springframework.cache.annotation.Cacheable;
+import com.example.jobservice.dto.SourceStatusDto;
+import com.example.jobservice.search.Tokenizer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
+/**
+ * Agregă toate sursele de joburi ({@link JobSource}) într-un singur catalog.
+ *
+ * Sursele se citesc în paralel, fiecare pe firul ei virtual, deci un refresh durează cât cea mai
+ * lentă sursă, limitat de jobs.sources.timeout. O sursă care eșuează sau depășește timpul nu le
+ * blochează pe celelalte: contribuie cu ultima ei listă bună. Același anunț publicat în mai multe
+ * surse (aceeași companie, titlu normalizat și locație) se păstrează o singură dată, din sursa
+ * cu prioritatea cea mai mare.
+ */
 @Service
 public class JobService {
 
-    private final RestTemplate restTemplate;
+    // "(m/w/d)", "(all genders)" etc. nu deosebesc două anunțuri
+    private static final Pattern PARENTHESIZED = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
 
-    public JobService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    private final List<JobSource> sources;
+    private final Duration sourceTimeout;
+
+    // Ultima listă bună a fiecărei surse, folosită cât timp sursa e indisponibilă
+    private final Map<String, SourceSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Catalogul agregat anterior, pentru numărarea modificărilor (căutare după id fără o hartă separată)
+    private volatile CompactJobList previous = CompactJobList.empty();
+
+    public JobService(List<JobSource> sources, @Value("${jobs.sources.timeout:PT2M}") Duration sourceTimeout) {
+        this.sources = List.copyOf(sources);
+        this.sourceTimeout = sourceTimeout;
     }
 
-    // Apel real către API-ul public gratuit Arbeitnow
-    @Cacheable(value = "jobs", key = "'allJobs'")
+    // E apelat doar de JobCatalogService la refresh, niciodată direct dintr-un request.
     public List<JobDto> fetchJobs() {
-        System.out.println("--- Fetching jobs from Real API (Arbeitnow) ---");
-        
-        String apiUrl = "https://arbeitnow.com/api/job-board-api";
-        
+        return ingestJobs().getJobs();
+    }
+
+    public IngestResult ingestJobs() {
+        Map<JobSource, List<JobDto>> fetched = fetchAll();
+        if (fetched.isEmpty()) {
+            String errors = sources.stream()
+                .map(source -> source.name() + ": " + snapshotOf(source).lastError())
+                .reduce((a, b) -> a + "; " + b)
+                .orElse("No job sources configured");
+            // Nicio sursă n-a răspuns: JobCatalogService păstrează ultimul catalog bun
+            return IngestResult.failed(errors);
+        }
+
+        Map<String, JobDto> current = new LinkedHashMap<>();
+        // Cheia de deduplicare -> sursa care a adus-o prima
+        Map<String, String> keyOwners = new HashMap<>();
+        int duplicates = 0;
+        for (JobSource source : sources) {
+            // O sursă care n-a răspuns de data asta contribuie cu ultima ei listă bună
+            List<JobDto> jobs = fetched.getOrDefault(source, snapshotOf(source).jobs());
+            int contributed = 0;
+            for (JobDto job : jobs) {
+                if (current.containsKey(job.getId()) || isCrossSourceDuplicate(job, source, keyOwners)) {
+                    duplicates++;
+                    continue;
+                }
+                current.put(job.getId(), job);
+                contributed++;
+            }
+            int count = contributed;
+            snapshots.computeIfPresent(source.name(), (name, snapshot) -> snapshot.withContributed(count));
+        }
+
+        return diff(current, duplicates);
+    }
+
+    public List<SourceStatusDto> sourceStatuses() {
+        return sources.stream()
+            .map(source -> {
+                SourceSnapshot snapshot = snapshotOf(source);
+                return new SourceStatusDto(source.name(), source.state(), snapshot.contributed(),
+                    snapshot.lastSuccessAt(), snapshot.lastError());
+            })
+            .toList();
+    }
+
+    // Doar sursele care au răspuns cu cel puțin un job; restul își păstrează snapshot-ul anterior
+    private Map<JobSource, List<JobDto>> fetchAll() {
+        Map<JobSource, Future<List<JobDto>>> futures = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
         try {
-            ArbeitnowResponse response = restTemplate.getForObject(apiUrl, ArbeitnowResponse.class);
-            
-            if (response != null && response.getData() != null) {
-                return response.getData().stream()
-                    .map(this::mapToJobDto)
-                    .limit(100) // Limităm la 100 de joburi pentru demo
-                    .collect(Collectors.toList());
+            for (JobSource source : sources) {
+                futures.put(source, executor.submit(source::fetchJobs));
             }
-        } catch (Exception e) {
-            System.err.println("Eroare la apelul API extern: " + e.getMessage());
+
+            long deadline = System.nanoTime() + sourceTimeout.toNanos();
+            Map<JobSource, List<JobDto>> fetched = new HashMap<>();
+            for (Map.Entry<JobSource, Future<List<JobDto>>> entry : futures.entrySet()) {
+                JobSource source = entry.getKey();
+                try {
+                    List<JobDto> jobs = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (jobs == null || jobs.isEmpty()) {
+                        // O listă goală înseamnă aproape sigur o eroare a sursei
+                        recordFailure(source, "returned no jobs");
+                    } else {
+                        fetched.put(source, jobs);
+                        snapshots.put(source.name(), new SourceSnapshot(CompactJobList.of(jobs), Instant.now(), null, jobs.size()));
+                    }
+                } catch (TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    recordFailure(source, "timed out after " + sourceTimeout.toSeconds() + "s");
+                } catch (ExecutionException e) {
+                    recordFailure(source, rootMessage(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    recordFailure(source, "interrupted");
+                }
+            }
+            return fetched;
+        } finally {
+            // Nu așteptăm sursele rămase în urmă; timeout-urile lor HTTP le opresc oricum
+            executor.shutdownNow();
         }
+    }
 
-        // Fallback în caz de eroare
-        return new ArrayList<>();
+    private void recordFailure(JobSource source, String error) {
+        System.err.println("Sursa de joburi " + source.name() + " a eșuat: " + error);
+        snapshots.compute(source.name(), (name, snapshot) -> snapshot == null
+            ? new SourceSnapshot(List.of(), null, error, 0)
+            : new SourceSnapshot(snapshot.jobs(), snapshot.lastSuccessAt(), error, snapshot.contributed()));
     }
 
-    private JobDto mapToJobDto(ArbeitnowJob apiJob) {
-        String plainTextDescription = apiJob.getDescription().replaceAll("<[^>]*>", "");
-        String truncatedDescription = plainTextDescription.substring(0, Math.min(plainTextDescription.length(), 200)) + "...";
-        
-        return new JobDto(
-            apiJob.getSlug(),
-            apiJob.getTitle(),
-            apiJob.getCompanyName(),
-            apiJob.getLocation(),
-            truncatedDescription, 
-            apiJob.getUrl()
-        );
+    private SourceSnapshot snapshotOf(JobSource source) {
+        return snapshots.getOrDefault(source.name(), SourceSnapshot.EMPTY);
     }
 
-@Data
-    static class ArbeitnowResponse {
-        private List<ArbeitnowJob> data;
+    private IngestResult diff(Map<String, JobDto> current, int duplicates) {
+        CompactJobList known = previous;
+        int added = 0;
+        int changed = 0;
+        for (JobDto job : current.values()) {
+            JobDto before = known.findById(job.getId());
+            if (before == null) {
+                added++;
+            } else if (!Objects.equals(before, job)) {
+                changed++;
+            }
+        }
+        int removed = 0;
+        for (int row = 0; row < known.size(); row++) {
+            if (!current.containsKey(known.idAt(row))) {
+                removed++;
+            }
+        }
+
+        // Rândurile venite din snapshot-urile surselor își copiază coloanele fără să fie decomprimate
+        CompactJobList jobs = CompactJobList.of(current.values());
+        previous = jobs;
+        System.out.println("--- Ingested " + jobs.size() + " jobs from " + sources.size() + " sources (added "
+            + added + ", changed " + changed + ", removed " + removed + ", duplicates " + duplicates + ") ---");
+        return new IngestResult(jobs, added, changed, removed);
     }
 
-    @Data
-    static class ArbeitnowJob {
-        private String slug;
-        @JsonProperty("company_name")
-        private String companyName;
-        private String title;
-        private String description;
-        private boolean remote;
-        private String url;
-        private List<String> tags;
-        private List<String> job_types;
-        private String location;
-        private long created_at;
+    // Doar între surse: în aceeași sursă, două anunțuri identice pot fi posturi distincte
+    private static boolean isCrossSourceDuplicate(JobDto job, JobSource source, Map<String, String> keyOwners) {
+        String key = dedupKey(job);
+        if (key == null) {
+            return false;
+        }
+        String owner = keyOwners.putIfAbsent(key, source.name());
+        return owner != null && !owner.equals(source.name());
+    }
+
+    // Companie + titlu + locație, normalizate: diacritice, majuscule, punctuație și "(m/w/d)" nu contează
+    static String dedupKey(JobDto job) {
+        String title = job.getTitle() != null ? PARENTHESIZED.matcher(job.getTitle()).replaceAll(" ") : null;
+        String normalizedTitle = normalizeForKey(title);
+        String normalizedCompany = normalizeForKey(job.getCompany());
+        // Fără titlu și companie nu avem după ce recunoaște același anunț
+        if (normalizedTitle.isEmpty() || normalizedCompany.isEmpty()) {
+            return null;
+        }
+        return normalizedCompany + '|' + normalizedTitle + '|' + normalizeForKey(job.getLocation());
+    }
+
+    // "Backend-Engineer " -> "backend engineer"; spre deosebire de Tokenizer.tokenize, păstrăm și cuvintele de o literă
+    private static String normalizeForKey(String value) {
+        return NON_ALPHANUMERIC.matcher(Tokenizer.normalize(value)).replaceAll(" ").trim();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private record SourceSnapshot(List<JobDto> jobs, Instant lastSuccessAt, String lastError, int contributed) {
+        static final SourceSnapshot EMPTY = new SourceSnapshot(List.of(), null, null, 0);
+
+        SourceSnapshot withContributed(int count) {
+            return new SourceSnapshot(jobs, lastSuccessAt, lastError, count);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IngestResult {
+        private final List<JobDto> jobs;
+        private final int added;
+        private final int changed;
+        private final int removed;
+        // Motivul pentru care ingestia nu a adus niciun job (null dacă a reușit)
+        private final String error;
+
+        public IngestResult(List<JobDto> jobs, int added, int changed, int removed) {
+            this(jobs, added, changed, removed, null);
+        }
+
+        static IngestResult failed(String error) {
+            return new IngestResult(new ArrayList<>(), 0, 0, 0, error);
+        }
+
+        public boolean hasChanges() {
+            return added > 0 || changed > 0 || removed > 0;
+        }
     }
 }
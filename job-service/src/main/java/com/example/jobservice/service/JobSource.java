@@ -0,0 +1,29 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobDto;
+
+import java.util.List;
+
+/**
+ * O sursă de joburi agregată de {@link JobService}. Fiecare sursă e un bean Spring; ordinea
+ * ({@code @Order}) decide care variantă a unui anunț publicat în mai multe surse se păstrează.
+ *
+ * Implementările normalizează singure anunțurile în {@link JobDto}. Id-urile trebuie să fie unice
+ * între surse, deci o sursă nouă își prefixează id-urile (ex. "sursa:123"); Arbeitnow păstrează
+ * slug-urile, pentru că joburile salvate de utilizatori le referă deja.
+ */
+public interface JobSource {
+
+    String name();
+
+    /**
+     * Toate joburile sursei. O eroare se aruncă mai departe: JobService păstrează atunci
+     * ultima listă bună a sursei, fără să blocheze celelalte surse.
+     */
+    List<JobDto> fetchJobs();
+
+    // Starea legăturii cu sursa, afișată în /api/jobs/status (ex. starea circuit breaker-ului)
+    default String state() {
+        return "UP";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.jobservice.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Folosit când nu avem Redis (ex: teste): coordonarea se face doar în interiorul procesului
+public class LocalCatalogLease implements CatalogLease {
+
+    private final AtomicBoolean held = new AtomicBoolean(false);
+
+    @Override
+    public boolean tryAcquire() {
+        return held.compareAndSet(false, true);
+    }
+
+    @Override
+    public void release() {
+        held.set(false);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.PreferencesDto;
+import com.example.jobservice.dto.RecommendationResultDto;
+import com.example.jobservice.search.RecommendationIndex;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recomandări din preferințele utilizatorului, peste indexul de caracteristici al versiunii curente.
+ * Rezultatele se păstrează per preferințe normalizate până la următoarea versiune a catalogului:
+ * mulți utilizatori au aceleași preferințe ("Java Developer", "Berlin"), iar catalogul se schimbă rar.
+ */
+@Service
+public class RecommendationService {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    // Preferințele vin de la clienți: nu păstrăm mai multe combinații de atât per versiune
+    private static final int MAX_CACHED_RESULTS = 1024;
+
+    private final JobCatalogService catalogService;
+    private volatile Recommendations current = new Recommendations(RecommendationIndex.build(JobCatalog.empty()));
+
+    public RecommendationService(JobCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Indexul se construiește pe firul de refresh, ca și cel de căutare
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        forCatalog(event.catalog());
+    }
+
+    public RecommendationResultDto recommend(PreferencesDto preferences, Integer limit) {
+        RecommendationIndex.Criteria criteria = RecommendationIndex.Criteria.of(preferences);
+        int k = Math.min(Math.max(1, limit == null ? DEFAULT_LIMIT : limit), RecommendationIndex.MAX_LIMIT);
+        Recommendations recommendations = forCatalog(catalogService.getCatalog());
+        if (criteria.isEmpty()) {
+            return new RecommendationResultDto(recommendations.index.getVersion(), 0, List.of());
+        }
+        return recommendations.get(new CacheKey(criteria, k));
+    }
+
+    private Recommendations forCatalog(JobCatalog catalog) {
+        Recommendations existing = current;
+        if (existing.index.getVersion() == catalog.getVersion()) {
+            return existing;
+        }
+        synchronized (this) {
+            if (current.index.getVersion() != catalog.getVersion()) {
+                current = new Recommendations(RecommendationIndex.build(catalog));
+            }
+            return current;
+        }
+    }
+
+    private record CacheKey(RecommendationIndex.Criteria criteria, int limit) {
+    }
+
+    private static final class Recommendations {
+
+        private final RecommendationIndex index;
+        private final Map<CacheKey, RecommendationResultDto> results = new ConcurrentHashMap<>();
+
+        Recommendations(RecommendationIndex index) {
+            this.index = index;
+        }
+
+        RecommendationResultDto get(CacheKey key) {
+            RecommendationResultDto cached = results.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            RecommendationResultDto computed = index.recommend(key.criteria(), key.limit());
+            if (results.size() < MAX_CACHED_RESULTS) {
+                results.putIfAbsent(key, computed);
+            }
+            return computed;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.jobservice.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lease partajat între replici: SET NX cu expirare, eliberat doar de cel care îl deține.
+ * Expirarea acoperă cazul în care replica moare în timpul refresh-ului.
+ */
+public class RedisCatalogLease implements CatalogLease {
+
+    static final String KEY = "jobs:catalog:refresh-lease";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final String owner = UUID.randomUUID().toString();
+
+    public RedisCatalogLease(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY, owner, ttl));
+        } catch (RuntimeException e) {
+            // Fără Redis nu avem cu cine să ne coordonăm: mai bine un fetch în plus decât niciun catalog
+            System.err.println("Lease-ul de refresh nu a putut fi obținut din Redis: " + e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void release() {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY), owner);
+        } catch (RuntimeException e) {
+            System.err.println("Lease-ul de refresh nu a putut fi eliberat: " + e.getMessage());
+        }
+    }
+}
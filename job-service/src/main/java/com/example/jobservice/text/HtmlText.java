@@ -0,0 +1,291 @@
+package com.example.jobservice.text;
+
+import java.util.Map;
+
+/**
+ * Transformă descrierile HTML de la Arbeitnow în text simplu, într-o singură trecere peste string.
+ * Elimină tag-urile, comentariile și conținutul din script/style, decodează entitățile și
+ * comprimă spațiile. Varianta cu limită se oprește imediat ce rezumatul e complet, fără să mai
+ * parcurgă restul descrierii.
+ */
+public final class HtmlText {
+
+    // Tag-uri de formatare din interiorul unui rând: nu despart cuvintele
+    private static final String[] INLINE_TAGS = {
+        "a", "abbr", "b", "code", "em", "font", "i", "mark", "s", "small", "span", "strong", "sub", "sup", "u"};
+
+    private static final int MAX_INLINE_TAG_LENGTH = 6;
+
+    // Tag-uri al căror conținut nu e text vizibil (ambele încep cu 's', vezi skipRawContent)
+    private static final String[] RAW_TEXT_TAGS = {"script", "style"};
+
+    private static final Map<String, String> ENTITIES = Map.ofEntries(
+        Map.entry("amp", "&"), Map.entry("lt", "<"), Map.entry("gt", ">"), Map.entry("quot", "\""),
+        Map.entry("apos", "'"), Map.entry("nbsp", "\u00A0"), Map.entry("ndash", "–"), Map.entry("mdash", "—"),
+        Map.entry("hellip", "…"), Map.entry("bull", "•"), Map.entry("middot", "·"), Map.entry("euro", "€"),
+        Map.entry("lsquo", "‘"), Map.entry("rsquo", "’"), Map.entry("ldquo", "“"), Map.entry("rdquo", "”"),
+        Map.entry("bdquo", "„"), Map.entry("laquo", "«"), Map.entry("raquo", "»"), Map.entry("copy", "©"),
+        Map.entry("reg", "®"), Map.entry("trade", "™"), Map.entry("auml", "ä"), Map.entry("ouml", "ö"),
+        Map.entry("uuml", "ü"), Map.entry("Auml", "Ä"), Map.entry("Ouml", "Ö"), Map.entry("Uuml", "Ü"),
+        Map.entry("szlig", "ß"), Map.entry("eacute", "é"), Map.entry("egrave", "è"), Map.entry("agrave", "à"));
+
+    // Cea mai lungă entitate cu nume pe care o recunoaștem, plus marja pentru cele numerice (&#x10FFFF;)
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private HtmlText() {
+    }
+
+    /** Tot textul, pentru indexarea de căutare. */
+    public static String toPlainText(String html) {
+        return strip(html, Integer.MAX_VALUE);
+    }
+
+    /** Cel mult {@code maxChars} caractere de text; restul descrierii nu mai e parcurs. */
+    public static String summary(String html, int maxChars) {
+        return strip(html, maxChars);
+    }
+
+    private static String strip(String html, int maxChars) {
+        if (html == null || html.isEmpty() || maxChars <= 0) {
+            return "";
+        }
+        int length = html.length();
+        // Textul rezultat nu e niciodată mai lung decât HTML-ul sursă, deci bufferul nu crește
+        TextBuffer out = new TextBuffer(Math.min(length, maxChars));
+        int i = 0;
+
+        while (i < length && !out.isFull()) {
+            char c = html.charAt(i);
+
+            if (c == '<' && startsTag(html, i)) {
+                int end = tagEnd(html, i);
+                if (!isInlineTag(html, i)) {
+                    out.space();
+                }
+                i = skipRawContent(html, i, end);
+                continue;
+            }
+
+            if (c == '&') {
+                int semicolon = entityEnd(html, i);
+                String decoded = semicolon > 0 ? decodeEntity(html, i + 1, semicolon) : null;
+                if (decoded != null) {
+                    for (int k = 0; k < decoded.length(); k++) {
+                        out.append(decoded.charAt(k));
+                    }
+                    i = semicolon + 1;
+                    continue;
+                }
+            }
+
+            if (isSpace(c)) {
+                out.space();
+                i++;
+                continue;
+            }
+
+            // Textul obișnuit se copiază în bucăți cât mai mari: o bucată continuă peste spațiile simple
+            // dintre cuvinte și se oprește la tag-uri, entități sau spații multiple
+            int runEnd = i + 1;
+            while (runEnd < length) {
+                char next = html.charAt(runEnd);
+                if (isPlain(next)) {
+                    runEnd++;
+                } else if (next == ' ' && runEnd + 1 < length && isPlain(html.charAt(runEnd + 1))) {
+                    runEnd += 2;
+                } else {
+                    break;
+                }
+            }
+            out.append(html, i, runEnd);
+            i = runEnd;
+        }
+        return out.toString();
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\u00A0' || Character.isWhitespace(c);
+    }
+
+    // Calea rapidă pentru ASCII, care e aproape tot textul din descrieri
+    private static boolean isPlain(char c) {
+        if (c < 0x80) {
+            return c > ' ' && c != '<' && c != '&';
+        }
+        return c != '\u00A0' && !Character.isWhitespace(c);
+    }
+
+    // "a < b" rămâne text; tag-urile încep cu literă, '/', '!' sau '?'
+    private static boolean startsTag(String html, int i) {
+        if (i + 1 >= html.length()) {
+            return false;
+        }
+        char next = html.charAt(i + 1);
+        return Character.isLetter(next) || next == '/' || next == '!' || next == '?';
+    }
+
+    // Indexul lui '>' care închide tag-ul (ține cont de ghilimele din atribute), sau sfârșitul textului
+    private static int tagEnd(String html, int start) {
+        if (html.startsWith("<!--", start)) {
+            int close = html.indexOf("-->", start + 4);
+            return close < 0 ? html.length() - 1 : close + 2;
+        }
+        char quote = 0;
+        for (int i = start + 1; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            }
+        }
+        return html.length() - 1;
+    }
+
+    private static boolean isInlineTag(String html, int start) {
+        int nameStart = start + 1;
+        if (nameStart < html.length() && html.charAt(nameStart) == '/') {
+            nameStart++;
+        }
+        int nameEnd = nameStart;
+        while (nameEnd < html.length() && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        int nameLength = nameEnd - nameStart;
+        if (nameLength == 0 || nameLength > MAX_INLINE_TAG_LENGTH) {
+            return false;
+        }
+        char first = Character.toLowerCase(html.charAt(nameStart));
+        for (String tag : INLINE_TAGS) {
+            if (tag.length() == nameLength && tag.charAt(0) == first
+                && html.regionMatches(true, nameStart, tag, 0, nameLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Conținutul din <script> și <style> nu e text vizibil: sărim direct după tag-ul de închidere
+    private static int skipRawContent(String html, int start, int end) {
+        if (Character.toLowerCase(html.charAt(start + 1)) != 's') {
+            return end + 1;
+        }
+        for (String raw : RAW_TEXT_TAGS) {
+            if (html.regionMatches(true, start + 1, raw, 0, raw.length())) {
+                int close = indexOfClosingTag(html, raw, end + 1);
+                return close < 0 ? html.length() : tagEnd(html, close) + 1;
+            }
+        }
+        return end + 1;
+    }
+
+    private static int indexOfClosingTag(String html, String name, int from) {
+        for (int i = html.indexOf("</", from); i >= 0; i = html.indexOf("</", i + 2)) {
+            if (html.regionMatches(true, i + 2, name, 0, name.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int entityEnd(String html, int ampersand) {
+        int limit = Math.min(html.length(), ampersand + MAX_ENTITY_LENGTH + 2);
+        for (int i = ampersand + 1; i < limit; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                return i > ampersand + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // null -> entitate necunoscută, o lăsăm neschimbată în text
+    private static String decodeEntity(String html, int start, int end) {
+        if (html.charAt(start) != '#') {
+            return ENTITIES.get(html.substring(start, end));
+        }
+        try {
+            boolean hex = start + 1 < end && (html.charAt(start + 1) == 'x' || html.charAt(start + 1) == 'X');
+            int codePoint = hex
+                ? Integer.parseInt(html, start + 2, end, 16)
+                : Integer.parseInt(html, start + 1, end, 10);
+            return Character.isValidCodePoint(codePoint) && codePoint != 0 ? Character.toString(codePoint) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Text acumulat cu spațiile deja comprimate; se oprește singur la limita rezumatului
+    private static final class TextBuffer {
+
+        private final char[] chars;
+        private int count;
+        private boolean pendingSpace;
+        private boolean truncated;
+
+        TextBuffer(int capacity) {
+            this.chars = new char[capacity];
+        }
+
+        boolean isFull() {
+            return truncated || count >= chars.length;
+        }
+
+        // Spațiile consecutive (inclusiv &nbsp; și tag-urile de bloc) devin unul singur, fără spații la capete
+        void space() {
+            pendingSpace = count > 0;
+        }
+
+        void append(char c) {
+            if (isSpace(c)) {
+                space();
+                return;
+            }
+            if (flushSpace()) {
+                chars[count++] = c;
+            }
+        }
+
+        void append(String source, int start, int end) {
+            if (!flushSpace()) {
+                return;
+            }
+            int length = Math.min(end - start, chars.length - count);
+            source.getChars(start, start + length, chars, count);
+            count += length;
+        }
+
+        // false -> după spațiul dintre cuvinte n-ar mai încăpea nimic, deci rezumatul se încheie aici
+        private boolean flushSpace() {
+            if (pendingSpace) {
+                pendingSpace = false;
+                if (count + 1 >= chars.length) {
+                    truncated = true;
+                    return false;
+                }
+                chars[count++] = ' ';
+            }
+            return !isFull();
+        }
+
+        @Override
+        public String toString() {
+            int length = count;
+            // Nu tăiem o pereche de surogate la jumătate și nu lăsăm spațiu la final când limita pică între cuvinte
+            if (length > 0 && Character.isHighSurrogate(chars[length - 1])) {
+                length--;
+            }
+            if (length > 0 && chars[length - 1] == ' ') {
+                length--;
+            }
+            return new String(chars, 0, length);
+        }
+    }
+}
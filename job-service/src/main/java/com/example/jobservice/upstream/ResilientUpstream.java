@@ -0,0 +1,85 @@
+package com.example.jobservice.upstream;
+
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Execută un apel către upstream cu reîncercări limitate și circuit breaker.
+ *
+ * Se reîncearcă doar erorile tranzitorii: I/O și timeout-uri, 5xx și 429. Pauza dintre încercări
+ * e aleasă aleator între 0 și min(maxBackoff, baseBackoff * 2^încercare) ("full jitter"), ca
+ * replicile și paginile dintr-un val să nu lovească upstream-ul din nou în același moment.
+ * Fiecare încercare eșuată contează pentru circuit; cât timp e deschis, apelurile eșuează imediat
+ * cu {@link UpstreamUnavailableException}.
+ */
+public class ResilientUpstream {
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilientUpstream(int maxAttempts, Duration baseBackoff, Duration maxBackoff, CircuitBreaker circuitBreaker) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public <T> T call(String operation, Supplier<T> request) {
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new UpstreamUnavailableException("Circuit deschis, nu apelăm upstream-ul (" + operation + ")");
+            }
+            try {
+                T result = request.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                System.err.println("Încercarea " + attempt + "/" + maxAttempts + " a eșuat pentru "
+                    + operation + ": " + e.getMessage());
+                sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof ResourceAccessException
+            || e instanceof HttpServerErrorException
+            || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Întrerupt în timpul reîncercării");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.jobservice.upstream;
+
+/** Apelul nu a mai plecat spre upstream: circuitul e deschis. */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.jobservice.cache;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.text.HtmlText;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogul din cache-ul Redis, de 1k și 10k joburi (pagina de test multiplicată, mapată ca în
+ * JobService): serializarea JDK folosită până acum vs. {@link CompactCacheSerializer}.
+ * Rulare: main() din IDE sau mvn test-compile exec:java -Dexec.classpathScope=test
+ *         -Dexec.mainClass=com.example.jobservice.cache.CacheSerializerBenchmark
+ * Înainte de JMH, main() afișează câți bytes ocupă valoarea în Redis în fiecare format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int jobs;
+
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+    private final CompactCacheSerializer compact =
+        new CompactCacheSerializer(List.of(new JobCatalogCodec()), CacheSerializerBenchmark.class.getClassLoader());
+
+    private JobCatalog catalog;
+    private byte[] jdkBytes;
+    private byte[] compactBytes;
+
+    @Setup
+    public void buildCatalog() throws IOException {
+        catalog = catalog(jobs);
+        jdkBytes = jdk.serialize(catalog);
+        compactBytes = compact.serialize(catalog);
+    }
+
+    @Benchmark
+    public byte[] jdkEncode() {
+        return jdk.serialize(catalog);
+    }
+
+    @Benchmark
+    public byte[] compactEncode() {
+        return compact.serialize(catalog);
+    }
+
+    @Benchmark
+    public Object jdkDecode() {
+        return jdk.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public Object compactDecode() {
+        return compact.deserialize(compactBytes);
+    }
+
+    static JobCatalog catalog(int size) throws IOException {
+        JsonNode sample;
+        try (InputStream in = CacheSerializerBenchmark.class.getResourceAsStream("/arbeitnow/sample-page.json")) {
+            sample = new ObjectMapper().readTree(in).get("data");
+        }
+        List<JobDto> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            JsonNode job = sample.get(i % sample.size());
+            String description = job.get("description").asText();
+            List<String> tags = new ArrayList<>();
+            job.get("tags").forEach(tag -> tags.add(tag.asText()));
+            List<String> jobTypes = new ArrayList<>();
+            job.get("job_types").forEach(type -> jobTypes.add(type.asText()));
+            jobs.add(new JobDto(
+                job.get("slug").asText() + "-" + i,
+                job.get("title").asText(),
+                job.get("company_name").asText(),
+                job.get("location").asText(),
+                HtmlText.summary(description, 200) + "...",
+                job.get("url").asText() + "-" + i,
+                job.get("remote").asBoolean(),
+                List.copyOf(tags),
+                List.copyOf(jobTypes),
+                job.get("created_at").asLong() + i,
+                HtmlText.toPlainText(description)));
+        }
+        return new JobCatalog(1L, jobs, Instant.now());
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String size : new String[] {"1000", "10000"}) {
+            CacheSerializerBenchmark benchmark = new CacheSerializerBenchmark();
+            benchmark.jobs = Integer.parseInt(size);
+            benchmark.buildCatalog();
+            System.out.printf("%s jobs: jdk %d KB, compact %d KB%n", size,
+                benchmark.jdkBytes.length / 1024, benchmark.compactBytes.length / 1024);
+        }
+
+        new Runner(new OptionsBuilder()
+            .include(CacheSerializerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
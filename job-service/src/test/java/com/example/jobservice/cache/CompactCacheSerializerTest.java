@@ -0,0 +1,190 @@
+package com.example.jobservice.cache;
+
+import com.example.jobservice.dto.CompactJobList;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer =
+        new CompactCacheSerializer(List.of(new JobCatalogCodec()), getClass().getClassLoader());
+
+    @Test
+    void catalog_RoundTripsAllFields() {
+        JobDto full = new JobDto("a", "Java Dev", "Corp", "Berlin", "Summary...", "http://example.com/a",
+            true, List.of("Java", "Spring"), List.of("full time"), 1700000000L, "Full plain text");
+        JobDto sparse = new JobDto("b", null, null, null, null, null);
+        JobCatalog catalog = new JobCatalog(42L, List.of(full, sparse), Instant.ofEpochMilli(1700000000123L));
+
+        JobCatalog decoded = (JobCatalog) serializer.deserialize(serializer.serialize(catalog));
+
+        assertEquals(42L, decoded.getVersion());
+        assertEquals(catalog.getFetchedAt(), decoded.getFetchedAt());
+        assertEquals(catalog.getJobs(), decoded.getJobs());
+    }
+
+    @Test
+    void catalog_WithoutFetchedAt_RoundTrips() {
+        JobCatalog decoded = (JobCatalog) serializer.deserialize(serializer.serialize(JobCatalog.empty()));
+
+        assertNull(decoded.getFetchedAt());
+        assertTrue(decoded.isEmpty());
+    }
+
+    @Test
+    void largeCatalog_IsDeflatedAndSmallerThanJdk() {
+        JobCatalog catalog = catalog(500);
+
+        byte[] compact = serializer.serialize(catalog);
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(catalog);
+
+        assertEquals(CompactCacheSerializer.FLAG_DEFLATE, compact[2] & CompactCacheSerializer.FLAG_DEFLATE);
+        assertTrue(compact.length * 4 < jdk.length, compact.length + " vs " + jdk.length);
+        assertEquals(catalog.getJobs(), ((JobCatalog) serializer.deserialize(compact)).getJobs());
+    }
+
+    @Test
+    void legacyJdkEntry_IsStillReadable() {
+        JobCatalog catalog = catalog(3);
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize(catalog);
+
+        JobCatalog decoded = (JobCatalog) serializer.deserialize(legacy);
+
+        assertEquals(catalog.getJobs(), decoded.getJobs());
+    }
+
+    @Test
+    void typeWithoutCodec_FallsBackToJdk() {
+        ArrayList<String> value = new ArrayList<>(List.of("x", "y"));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(0xAC, bytes[0] & 0xFF);
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void newerContainerVersion_IsRejected() {
+        byte[] bytes = serializer.serialize(catalog(1));
+        bytes[1] = (byte) (CompactCacheSerializer.CONTAINER_VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void truncatedValue_IsRejected() {
+        byte[] bytes = serializer.serialize(catalog(200));
+
+        assertThrows(SerializationException.class,
+            () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test
+    void reader_SkipsFieldsAddedByNewerSchema() {
+        BinaryWriter record = new BinaryWriter(16);
+        record.writeString("known");
+        record.writeVarLong(7);
+        record.writeString("added in v2");
+        BinaryWriter out = new BinaryWriter(16);
+        out.writeRecord(record);
+        out.writeString("next");
+
+        BinaryReader in = new BinaryReader(out.toByteArray(), 0, out.size());
+        int outer = in.beginRecord();
+        assertEquals("known", in.readString());
+        assertEquals(7, in.readVarLong());
+        in.endRecord(outer);
+
+        assertEquals("next", in.readString());
+    }
+
+    @Test
+    void catalog_KeepsCompressedFullTextAsIs() {
+        JobCatalog catalog = catalog(3);
+
+        JobCatalog decoded = (JobCatalog) serializer.deserialize(serializer.serialize(catalog));
+
+        CompactJobList before = (CompactJobList) catalog.getJobs();
+        CompactJobList after = (CompactJobList) decoded.getJobs();
+        for (int row = 0; row < before.size(); row++) {
+            assertArrayEquals(before.deflatedFullTextAt(row), after.deflatedFullTextAt(row));
+            assertEquals(before.fullTextLengthAt(row), after.fullTextLengthAt(row));
+        }
+        assertEquals(before.get(0).getFullText(), after.get(0).getFullText());
+    }
+
+    @Test
+    void schemaV1Entry_IsStillReadable() {
+        BinaryWriter payload = v1Header(1, "Corp", "Java");
+        BinaryWriter record = new BinaryWriter(64);
+        record.writeString("a");
+        record.writeString("Java Dev");
+        record.writeVarInt(1);
+        record.writeVarInt(0);
+        record.writeString("Summary");
+        record.writeString("http://example.com/a");
+        record.writeBoolean(true);
+        record.writeVarInt(1);
+        record.writeVarInt(2);
+        record.writeVarInt(0);
+        record.writeVarLong(1700000000L);
+        record.writeString("Full plain text");
+        payload.writeRecord(record);
+
+        JobCatalog decoded = new JobCatalogCodec().decode(new BinaryReader(payload.toByteArray(), 0, payload.size()), 1);
+
+        assertEquals(List.of(new JobDto("a", "Java Dev", "Corp", null, "Summary", "http://example.com/a",
+            true, List.of("Java"), List.of(), 1700000000L, "Full plain text")), decoded.getJobs());
+    }
+
+    @Test
+    void dictionaryReferenceOutOfRange_IsRejected() {
+        for (int ref : new int[] {2, -1}) {
+            BinaryWriter payload = v1Header(1, "Corp");
+            BinaryWriter record = new BinaryWriter(64);
+            record.writeString("a");
+            record.writeString("Java Dev");
+            record.writeVarInt(ref);
+            payload.writeRecord(record);
+
+            BinaryReader in = new BinaryReader(payload.toByteArray(), 0, payload.size());
+            assertThrows(SerializationException.class, () -> new JobCatalogCodec().decode(in, 2), "ref " + ref);
+        }
+    }
+
+    // Înregistrarea cu versiunea, dicționarul și numărul de joburi, ca în schema v1
+    private static BinaryWriter v1Header(int jobs, String... dictionary) {
+        BinaryWriter payload = new BinaryWriter(128);
+        BinaryWriter record = new BinaryWriter(16);
+        record.writeLong(9L);
+        record.writeSignedVarLong(-1);
+        payload.writeRecord(record);
+        payload.writeVarInt(dictionary.length);
+        for (String value : dictionary) {
+            payload.writeString(value);
+        }
+        payload.writeVarInt(jobs);
+        return payload;
+    }
+
+    private static JobCatalog catalog(int size) {
+        List<JobDto> jobs = IntStream.range(0, size)
+            .mapToObj(i -> new JobDto("job-" + i, "Backend Engineer " + i, "Company " + (i % 20), "Berlin",
+                "Wir suchen Verstärkung für unser Team...", "https://example.com/jobs/" + i, i % 3 == 0,
+                List.of("Java", "Spring"), List.of("full time"), 1700000000L + i,
+                "Wir suchen Verstärkung für unser Team in Berlin. Deine Aufgaben: Java, Spring, Kubernetes."))
+            .toList();
+        return new JobCatalog(1L, jobs, Instant.now());
+    }
+}
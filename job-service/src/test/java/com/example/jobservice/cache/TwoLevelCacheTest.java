@@ -0,0 +1,100 @@
+package com.example.jobservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Rol de Redis (L2) partajat între replici
+    private ConcurrentMapCacheManager remote;
+    private TwoLevelCacheManager replicaA;
+    private TwoLevelCacheManager replicaB;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager();
+        Caffeine<Object, Object> spec = Caffeine.newBuilder().maximumSize(10).expireAfterWrite(Duration.ofMinutes(5));
+        replicaA = new TwoLevelCacheManager(remote, spec, publisher);
+        replicaB = new TwoLevelCacheManager(remote, spec, publisher);
+    }
+
+    @Test
+    void get_LocalHit_DoesNotTouchRemote() {
+        Cache cache = replicaA.getCache("jobs");
+        cache.put("allJobs", "v1");
+
+        // Valoarea din Redis se schimbă, dar L1 o servește pe cea din heap
+        remote.getCache("jobs").put("allJobs", "v2");
+
+        assertEquals("v1", cache.get("allJobs", String.class));
+    }
+
+    @Test
+    void get_LocalMiss_LoadsFromRemoteAndKeepsItLocally() {
+        remote.getCache("jobs").put("allJobs", "v1");
+        Cache cache = replicaB.getCache("jobs");
+
+        assertEquals("v1", cache.get("allJobs", String.class));
+
+        remote.getCache("jobs").evict("allJobs");
+        assertEquals("v1", cache.get("allJobs", String.class));
+    }
+
+    @Test
+    void put_PublishesInvalidation() {
+        replicaA.getCache("jobs").put("allJobs", "v1");
+
+        verify(publisher).publish("jobs", "allJobs");
+    }
+
+    @Test
+    void invalidationFromOtherReplica_EvictsLocalCopyAndPublishesEvent() throws Exception {
+        Cache cacheB = replicaB.getCache("jobs");
+        replicaA.getCache("jobs").put("allJobs", "v1");
+        assertEquals("v1", cacheB.get("allJobs", String.class));
+
+        // Replica A scrie o valoare nouă și anunță prin Redis pub/sub
+        replicaA.getCache("jobs").put("allJobs", "v2");
+        ObjectMapper objectMapper = new ObjectMapper();
+        CacheInvalidationListener listenerB = new CacheInvalidationListener(replicaB, objectMapper, eventPublisher, "node-b");
+        byte[] body = objectMapper.writeValueAsBytes(new CacheInvalidationMessage("node-a", "jobs", "allJobs"));
+        listenerB.onMessage(new DefaultMessage(CacheInvalidationPublisher.CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertEquals("v2", cacheB.get("allJobs", String.class));
+        verify(eventPublisher).publishEvent(new CacheInvalidatedEvent("jobs", "allJobs"));
+    }
+
+    @Test
+    void invalidationFromSameReplica_IsIgnored() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CacheInvalidationListener listener = new CacheInvalidationListener(replicaA, objectMapper, eventPublisher, "node-a");
+        byte[] body = objectMapper.writeValueAsBytes(new CacheInvalidationMessage("node-a", "jobs", "allJobs"));
+
+        listener.onMessage(new DefaultMessage(CacheInvalidationPublisher.CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        verifyNoInteractions(eventPublisher, publisher);
+    }
+}
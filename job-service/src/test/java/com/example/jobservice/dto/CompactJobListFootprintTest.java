@@ -0,0 +1,66 @@
+package com.example.jobservice.dto;
+
+import com.example.jobservice.text.HtmlText;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Amprenta pe heap a catalogului, per 10k joburi: lista de JobDto (cum era înainte) vs CompactJobList.
+ * Joburile vin din pagina Arbeitnow de test multiplicată; fiecare rând primește instanțe String proprii,
+ * ca la un ingest real (fiecare pagină e parsată separat).
+ */
+class CompactJobListFootprintTest {
+
+    private static final int JOBS = 10_000;
+
+    @Test
+    void compactList_UsesFarLessHeapThanJobDtos() throws Exception {
+        List<JobDto> jobs = jobs(JOBS);
+        CompactJobList compact = CompactJobList.of(jobs);
+
+        long before = GraphLayout.parseInstance(jobs).totalSize();
+        long after = GraphLayout.parseInstance(compact).totalSize();
+        System.out.printf("Catalog heap per %d jobs: List<JobDto> %d KB, CompactJobList %d KB (%.1fx)%n",
+            JOBS, before / 1024, after / 1024, (double) before / after);
+
+        assertEquals(jobs, compact);
+        assertTrue(after * 2 < before, "compact " + after + " vs " + before);
+    }
+
+    private static List<JobDto> jobs(int size) throws Exception {
+        JsonNode sample;
+        try (InputStream in = CompactJobListFootprintTest.class.getResourceAsStream("/arbeitnow/sample-page.json")) {
+            sample = new ObjectMapper().readTree(in).get("data");
+        }
+        List<JobDto> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            JsonNode job = sample.get(i % sample.size());
+            String description = job.get("description").asText();
+            List<String> tags = new ArrayList<>();
+            job.get("tags").forEach(tag -> tags.add(new String(tag.asText())));
+            List<String> jobTypes = new ArrayList<>();
+            job.get("job_types").forEach(type -> jobTypes.add(new String(type.asText())));
+            jobs.add(new JobDto(
+                job.get("slug").asText() + "-" + i,
+                new String(job.get("title").asText()),
+                new String(job.get("company_name").asText()),
+                new String(job.get("location").asText()),
+                HtmlText.summary(description, 200) + "...",
+                job.get("url").asText() + "-" + i,
+                job.get("remote").asBoolean(),
+                List.copyOf(tags),
+                List.copyOf(jobTypes),
+                job.get("created_at").asLong() + i,
+                HtmlText.toPlainText(description)));
+        }
+        return jobs;
+    }
+}
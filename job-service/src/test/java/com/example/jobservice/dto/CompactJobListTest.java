@@ -0,0 +1,141 @@
+package com.example.jobservice.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactJobListTest {
+
+    @Test
+    void of_RoundTripsEveryField() {
+        List<JobDto> jobs = List.of(
+            job("b", "Berlin", List.of("java", "spring"), List.of("full-time")),
+            job("a", "München", List.of(), List.of()),
+            job("c", "Berlin", List.of("spring"), List.of("full-time", "remote")));
+
+        CompactJobList compact = CompactJobList.of(jobs);
+
+        assertEquals(jobs, compact);
+        assertEquals(jobs.hashCode(), compact.hashCode());
+        assertEquals(jobs.get(1).getFullText(), compact.get(1).getFullText());
+        assertEquals(List.of("java", "spring"), compact.get(0).getTags());
+    }
+
+    @Test
+    void of_PreservesNullFields() {
+        JobDto sparse = new JobDto("x", null, null, null, null, null);
+        sparse.setTags(null);
+        sparse.setJobTypes(null);
+
+        JobDto restored = CompactJobList.of(List.of(sparse)).get(0);
+
+        assertEquals(sparse, restored);
+        assertNull(restored.getTitle());
+        assertNull(restored.getCompany());
+        assertNull(restored.getFullText());
+        assertNull(restored.getTags());
+    }
+
+    @Test
+    void findById_UsesHashIndex() {
+        List<JobDto> jobs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            jobs.add(job("job-" + (i * 7919 % 100), "Berlin", List.of(), List.of()));
+        }
+        jobs.add(job("ăîș-unicode", "Berlin", List.of(), List.of()));
+        CompactJobList compact = CompactJobList.of(jobs);
+
+        for (JobDto job : jobs) {
+            assertEquals(job, compact.findById(job.getId()));
+        }
+        assertEquals(42, compact.rowOf(jobs.get(42).getId()));
+        assertNull(compact.findById("missing"));
+        assertNull(compact.findById(null));
+    }
+
+    @Test
+    void of_AlreadyCompactOrEmpty_IsNotCopied() {
+        CompactJobList compact = CompactJobList.of(List.of(job("a", "Berlin", List.of(), List.of())));
+
+        assertSame(compact, CompactJobList.of(compact));
+        assertSame(CompactJobList.empty(), CompactJobList.of(List.of()));
+        assertThrows(NullPointerException.class, () -> CompactJobList.of(Arrays.asList(job("a", "Berlin", List.of(), List.of()), null)));
+    }
+
+    @Test
+    void list_IsImmutable_ViewsAreIndependentCopies() {
+        CompactJobList compact = CompactJobList.of(List.of(job("a", "Berlin", List.of("java"), List.of())));
+
+        assertThrows(UnsupportedOperationException.class, () -> compact.add(job("b", "Berlin", List.of(), List.of())));
+        assertThrows(UnsupportedOperationException.class, () -> compact.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> compact.get(1));
+
+        // Modificarea unui view nu atinge lista
+        JobDto view = compact.get(0);
+        view.setTitle("changed");
+        view.setFullText("changed");
+        assertEquals("changed", view.getFullText());
+        assertEquals("Title a", compact.get(0).getTitle());
+        assertEquals("Full text a", compact.get(0).getFullText());
+    }
+
+    @Test
+    void of_CopiesViewsFromAnotherCompactList() {
+        CompactJobList first = CompactJobList.of(List.of(
+            job("a", "Berlin", List.of("java"), List.of()),
+            job("b", "Hamburg", List.of(), List.of())));
+
+        List<JobDto> mixed = new ArrayList<>(first);
+        mixed.add(job("c", "Köln", List.of("go"), List.of()));
+        CompactJobList second = CompactJobList.of(mixed);
+
+        assertEquals(mixed, second);
+        assertEquals("Full text b", second.findById("b").getFullText());
+    }
+
+    @Test
+    void javaSerialization_RoundTripsListAndSingleViews() throws Exception {
+        CompactJobList compact = CompactJobList.of(List.of(
+            job("a", "Berlin", List.of("java"), List.of("full-time")),
+            job("b", "Hamburg", List.of(), List.of())));
+
+        assertEquals(compact, roundTrip(compact));
+        Object view = roundTrip(compact.get(1));
+        assertEquals(JobDto.class, view.getClass());
+        assertEquals(compact.get(1), view);
+    }
+
+    @Test
+    void jobCatalog_StoresJobsCompactly() throws Exception {
+        JobCatalog catalog = new JobCatalog(3L, List.of(job("a", "Berlin", List.of(), List.of())), Instant.now());
+
+        assertInstanceOf(CompactJobList.class, catalog.getJobs());
+        JobCatalog restored = (JobCatalog) roundTrip(catalog);
+        assertInstanceOf(CompactJobList.class, restored.getJobs());
+        assertEquals(catalog.getJobs(), restored.getJobs());
+    }
+
+    private static Object roundTrip(Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private static JobDto job(String id, String location, List<String> tags, List<String> jobTypes) {
+        return new JobDto(id, "Title " + id, "Corp", location, "Desc " + id, "http://example.com/" + id,
+            id.hashCode() % 2 == 0, tags, jobTypes, 1_700_000_000L + id.length(), "Full text " + id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.jobservice.search;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.JobSearchQuery;
+import com.example.jobservice.dto.JobSearchResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<JobDto> jobs = List.of(
+            job("backend", "Senior Java Developer", "Tech Corp", "Berlin", "Spring Boot microservices", true, List.of("Java", "Spring"), List.of("full time")),
+            job("frontend", "React Developer", "Web GmbH", "München", "Build UIs with Java tooling", false, List.of("React"), List.of("full time")),
+            job("devops", "DevOps Engineer", "Tech Corp", "Hamburg", "Kubernetes and CI", true, List.of("Kubernetes"), List.of("contract")),
+            job("intern", "Java Intern", "Start Up", "Berlin Mitte", "Learn the basics", false, List.of("Java"), List.of("internship"))
+        );
+        index = JobSearchIndex.build(new JobCatalog(5L, jobs, Instant.now()));
+    }
+
+    @Test
+    void search_NoFilters_ReturnsWholeCatalogInOrder() {
+        JobSearchResultDto result = index.search(new JobSearchQuery());
+
+        assertEquals(5L, result.getCatalogVersion());
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of("backend", "frontend", "devops", "intern"), ids(result));
+    }
+
+    @Test
+    void search_Keyword_RanksTitleMatchesFirst() {
+        JobSearchResultDto result = index.search(query(q -> q.setQ("java")));
+
+        // "frontend" are "Java" doar in descriere, deci vine dupa potrivirile din titlu
+        assertEquals(List.of("backend", "intern", "frontend"), ids(result));
+    }
+
+    @Test
+    void search_KeywordPrefix_MatchesLongerTerms() {
+        JobSearchResultDto result = index.search(query(q -> q.setQ("dev")));
+
+        assertEquals(List.of("backend", "frontend", "devops"), ids(result));
+    }
+
+    @Test
+    void search_CombinedFilters_IntersectPostingLists() {
+        JobSearchResultDto result = index.search(query(q -> {
+            q.setCompany("tech corp");
+            q.setLocation("berlin");
+            q.setRemote(true);
+        }));
+
+        assertEquals(List.of("backend"), ids(result));
+    }
+
+    @Test
+    void search_RemoteFalse_ExcludesRemoteJobs() {
+        JobSearchResultDto result = index.search(query(q -> q.setRemote(false)));
+
+        assertEquals(List.of("frontend", "intern"), ids(result));
+    }
+
+    @Test
+    void search_TagAndJobType_AreMatchedAfterNormalization() {
+        assertEquals(List.of("backend", "intern"), ids(index.search(query(q -> q.setTag(" JAVA ")))));
+        assertEquals(List.of("backend", "frontend"), ids(index.search(query(q -> q.setJobType("Full Time")))));
+    }
+
+    @Test
+    void search_LocationWithDiacritics_MatchesFoldedQuery() {
+        assertEquals(List.of("frontend"), ids(index.search(query(q -> q.setLocation("munchen")))));
+    }
+
+    @Test
+    void search_UnknownTerm_ReturnsNothing() {
+        JobSearchResultDto result = index.search(query(q -> {
+            q.setQ("java");
+            q.setCompany("nobody");
+        }));
+
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getJobs().isEmpty());
+    }
+
+    @Test
+    void search_Pagination_ReturnsRequestedSlice() {
+        JobSearchResultDto result = index.search(query(q -> {
+            q.setPage(1);
+            q.setSize(3);
+        }));
+
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of("intern"), ids(result));
+    }
+
+    @Test
+    void intersect_UsesSortedPostingLists() {
+        int[] result = PostingLists.intersect(List.of(new int[]{1, 3, 5, 7, 9, 11, 13}, new int[]{3, 4, 13}, new int[]{0, 3, 13, 20}));
+
+        assertArrayEquals(new int[]{3, 13}, result);
+    }
+
+    private static JobSearchQuery query(java.util.function.Consumer<JobSearchQuery> customizer) {
+        JobSearchQuery query = new JobSearchQuery();
+        customizer.accept(query);
+        return query;
+    }
+
+    private static List<String> ids(JobSearchResultDto result) {
+        return result.getJobs().stream().map(JobDto::getId).toList();
+    }
+
+    private static JobDto job(String id, String title, String company, String location, String description,
+                              boolean remote, List<String> tags, List<String> jobTypes) {
+        return new JobDto(id, title, company, location, description, "http://example.com/" + id, remote, tags, jobTypes, 0L, null);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.jobservice.search;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.PreferencesDto;
+import com.example.jobservice.dto.RecommendationDto;
+import com.example.jobservice.dto.RecommendationResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationIndexTest {
+
+    private RecommendationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<JobDto> jobs = List.of(
+            job("backend", "Senior Java Developer", "Berlin", false, List.of("Spring"), List.of("full time")),
+            job("frontend", "JavaScript Developer", "Berlin", false, List.of("React"), List.of("full time")),
+            job("hamburg", "Java Developer", "Hamburg", false, List.of("Java"), List.of("contract")),
+            job("remote", "Backend Engineer", "Anywhere", true, List.of("Java"), List.of("Full-time")),
+            job("intern", "Java Intern", "Berlin Mitte", false, List.of(), List.of("internship"))
+        );
+        index = RecommendationIndex.build(new JobCatalog(3L, jobs, Instant.now()));
+    }
+
+    @Test
+    void recommend_RanksTitleMatchesInPreferredLocationFirst() {
+        RecommendationResultDto result = recommend(new PreferencesDto("Java Developer", List.of("Berlin"), "Full-time", null), 10);
+
+        assertEquals(3L, result.getCatalogVersion());
+        assertEquals("backend", result.getJobs().get(0).getJob().getId());
+        assertEquals(1.0, result.getJobs().get(0).getScore(), 1e-6);
+        // Scorurile sunt descrescătoare
+        List<Double> scores = result.getJobs().stream().map(RecommendationDto::getScore).toList();
+        List<Double> sorted = new ArrayList<>(scores);
+        sorted.sort((a, b) -> Double.compare(b, a));
+        assertEquals(sorted, scores);
+    }
+
+    @Test
+    void recommend_MatchesRoleTermsExactly() {
+        RecommendationResultDto result = recommend(new PreferencesDto("Java", null, null, null), 10);
+
+        // "java" nu potrivește "JavaScript"; un tag "Java" contează, dar mai puțin decât titlul
+        assertFalse(ids(result).contains("frontend"));
+        assertTrue(ids(result).contains("remote"));
+        assertTrue(score(result, "hamburg") > score(result, "remote"));
+    }
+
+    @Test
+    void recommend_RemoteLocationMatchesRemoteJobs() {
+        RecommendationResultDto result = recommend(new PreferencesDto("Backend Engineer", List.of("Remote"), "full time", null), 10);
+
+        assertEquals("remote", result.getJobs().get(0).getJob().getId());
+        assertEquals(1.0, result.getJobs().get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void recommend_MultiWordLocationNeedsAllWords() {
+        RecommendationResultDto result = recommend(new PreferencesDto(null, List.of("Berlin Mitte"), null, null), 10);
+
+        assertEquals(List.of("intern"), ids(result));
+    }
+
+    @Test
+    void recommend_LimitsToK() {
+        RecommendationResultDto result = recommend(new PreferencesDto("Developer", null, null, null), 2);
+
+        assertEquals(3, result.getCandidates());
+        assertEquals(2, result.getJobs().size());
+    }
+
+    @Test
+    void criteria_EquivalentPreferences_AreEqual() {
+        RecommendationIndex.Criteria a = RecommendationIndex.Criteria.of(
+            new PreferencesDto("Java Developer", List.of("Berlin", "Remote"), "Full-time", 5000.0));
+        RecommendationIndex.Criteria b = RecommendationIndex.Criteria.of(
+            new PreferencesDto("developer  JAVA", List.of("remote", "berlin"), "FULL_TIME", null));
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    @Test
+    void topK_KeepsSameJobsAsFullSort() {
+        Random random = new Random(42);
+        long[] keys = new long[10_000];
+        TopK top = new TopK(25);
+        for (int doc = 0; doc < keys.length; doc++) {
+            keys[doc] = TopK.key(random.nextInt(1000), doc);
+            top.offer(keys[doc]);
+        }
+
+        Arrays.sort(keys);
+        long[] expected = new long[25];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = keys[keys.length - 1 - i];
+        }
+        assertArrayEquals(expected, top.sortedDescending());
+    }
+
+    private RecommendationResultDto recommend(PreferencesDto preferences, int limit) {
+        return index.recommend(RecommendationIndex.Criteria.of(preferences), limit);
+    }
+
+    private static List<String> ids(RecommendationResultDto result) {
+        return result.getJobs().stream().map(r -> r.getJob().getId()).toList();
+    }
+
+    private static double score(RecommendationResultDto result, String id) {
+        return result.getJobs().stream().filter(r -> r.getJob().getId().equals(id)).findFirst().orElseThrow().getScore();
+    }
+
+    private static JobDto job(String id, String title, String location, boolean remote, List<String> tags, List<String> jobTypes) {
+        JobDto job = new JobDto(id, title, "Corp", location, "Desc", "http://example.com/" + id);
+        job.setRemote(remote);
+        job.setTags(tags);
+        job.setJobTypes(jobTypes);
+        return job;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un răspuns Arbeitnow mare (pagina de test multiplicată la 1000 de joburi): legarea întregului
+ * răspuns în obiecte și abia apoi maparea, ca înainte, vs. citirea în flux cu maparea pe loc.
+ * Rulare: main() din IDE sau mvn test-compile exec:java -Dexec.classpathScope=test
+ *         -Dexec.mainClass=com.example.jobservice.service.ArbeitnowIngestBenchmark
+ * După JMH, main() afișează și heap-ul reținut la vârf de fiecare variantă.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbeitnowIngestBenchmark {
+
+    private static final int COPIES = 25;
+    private static final int CAP = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private byte[] response;
+
+    @Setup
+    public void buildLargeResponse() throws IOException {
+        response = largeResponse();
+    }
+
+    @Benchmark
+    public List<JobDto> bindThenMap() throws IOException {
+        return mapAll(MAPPER.readValue(response, BoundPage.class).data);
+    }
+
+    @Benchmark
+    public List<JobDto> streamAndMap() throws IOException {
+        return stream(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<JobDto> streamCapped() throws IOException {
+        return stream(CAP);
+    }
+
+    // Refresh-ul obișnuit: aproape toate joburile sunt neschimbate, deci doar le calculăm amprenta
+    @Benchmark
+    public long bindThenFingerprint() throws IOException {
+        long sum = 0;
+        for (ArbeitnowJobSource.ArbeitnowJob job : MAPPER.readValue(response, BoundPage.class).data) {
+            sum += job.fingerprint();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long streamAndFingerprint() throws IOException {
+        long[] sum = new long[1];
+        ArbeitnowPageParser.parse(new ByteArrayInputStream(response), Integer.MAX_VALUE,
+            job -> sum[0] += job.fingerprint());
+        return sum[0];
+    }
+
+    private List<JobDto> stream(int maxJobs) throws IOException {
+        List<JobDto> jobs = new ArrayList<>();
+        ArbeitnowPageParser.parse(new ByteArrayInputStream(response), maxJobs, job -> {
+            job.fingerprint();
+            jobs.add(ArbeitnowJobSource.mapToJobDto(job));
+        });
+        return jobs;
+    }
+
+    private static List<JobDto> mapAll(List<ArbeitnowJobSource.ArbeitnowJob> bound) {
+        List<JobDto> jobs = new ArrayList<>(bound.size());
+        for (ArbeitnowJobSource.ArbeitnowJob job : bound) {
+            job.fingerprint();
+            jobs.add(ArbeitnowJobSource.mapToJobDto(job));
+        }
+        return jobs;
+    }
+
+    static byte[] largeResponse() throws IOException {
+        try (InputStream in = ArbeitnowIngestBenchmark.class.getResourceAsStream("/arbeitnow/sample-page.json")) {
+            ObjectNode page = (ObjectNode) MAPPER.readTree(in);
+            ArrayNode sample = (ArrayNode) page.get("data");
+            ArrayNode data = MAPPER.createArrayNode();
+            for (int copy = 0; copy < COPIES; copy++) {
+                for (int i = 0; i < sample.size(); i++) {
+                    ObjectNode job = sample.get(i).deepCopy();
+                    job.put("slug", job.get("slug").asText() + "-" + copy);
+                    data.add(job);
+                }
+            }
+            page.set("data", data);
+            return MAPPER.writeValueAsBytes(page);
+        }
+    }
+
+    // Vechiul model: tot răspunsul legat în obiecte înainte de mapare
+    static class BoundPage {
+        public List<ArbeitnowJobSource.ArbeitnowJob> data;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ArbeitnowIngestBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+
+        // Vârful de heap reținut: la legare, joburile brute și DTO-urile coexistă până la finalul mapării
+        ArbeitnowIngestBenchmark benchmark = new ArbeitnowIngestBenchmark();
+        benchmark.buildLargeResponse();
+        long baseline = usedHeapAfterGc();
+        BoundPage bound = MAPPER.readValue(benchmark.response, BoundPage.class);
+        List<JobDto> mapped = mapAll(bound.data);
+        long bindPeak = usedHeapAfterGc() - baseline;
+        System.out.println("bindThenMap retained:  " + bindPeak / 1024 + " KB (" + mapped.size() + " jobs, "
+            + bound.data.size() + " bound)");
+        bound = null;
+        mapped = null;
+
+        baseline = usedHeapAfterGc();
+        List<JobDto> streamed = benchmark.streamAndMap();
+        long streamPeak = usedHeapAfterGc() - baseline;
+        System.out.println("streamAndMap retained: " + streamPeak / 1024 + " KB (" + streamed.size() + " jobs)");
+    }
+}
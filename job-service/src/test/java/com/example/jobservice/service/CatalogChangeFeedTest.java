@@ -0,0 +1,130 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.CatalogDeltaDto;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogChangeFeedTest {
+
+    private final CatalogChangeFeed feed = feed(3, 10);
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void changesSince_PreviousVersion_ReturnsAddedChangedAndRemovedById() {
+        publish(1, job("a", "Java Dev"), job("b", "Go Dev"), job("c", "Ops"));
+        publish(2, job("d", "New Role"), job("a", "Java Dev"), job("b", "Senior Go Dev"));
+
+        CatalogDeltaDto delta = feed.changesSince(1);
+
+        assertEquals(1, delta.getFromVersion());
+        assertEquals(2, delta.getToVersion());
+        assertFalse(delta.isFull());
+        assertEquals(List.of("d"), ids(delta.getAdded()));
+        assertEquals(List.of("b"), ids(delta.getChanged()));
+        assertEquals("Senior Go Dev", delta.getChanged().get(0).getTitle());
+        assertEquals(List.of("c"), delta.getRemoved());
+    }
+
+    @Test
+    void changesSince_OlderVersionInHistory_ReturnsCumulativeDelta() {
+        publish(1, job("a", "A"));
+        publish(2, job("a", "A"), job("b", "B"));
+        publish(3, job("b", "B"), job("c", "C"));
+
+        CatalogDeltaDto delta = feed.changesSince(1);
+
+        // b și c apar ca adăugate, în ordinea din catalogul curent; a a dispărut
+        assertEquals(List.of("b", "c"), ids(delta.getAdded()));
+        assertEquals(List.of("a"), delta.getRemoved());
+        assertTrue(delta.getChanged().isEmpty());
+    }
+
+    @Test
+    void changesSince_CurrentVersion_IsEmpty() {
+        publish(1, job("a", "A"));
+
+        CatalogDeltaDto delta = feed.changesSince(1);
+
+        assertTrue(delta.isEmpty());
+        assertEquals(1, delta.getToVersion());
+    }
+
+    @Test
+    void changesSince_VersionEvictedFromHistoryOrUnknown_AsksForFullReload() {
+        for (long version = 1; version <= 5; version++) {
+            publish(version, job("a", "A" + version));
+        }
+
+        assertTrue(feed.changesSince(1).isFull());
+        assertTrue(feed.changesSince(999).isFull());
+        assertFalse(feed.changesSince(3).isFull());
+        assertEquals(5, feed.changesSince(1).getToVersion());
+    }
+
+    @Test
+    void sameVersionRepublished_IsNotADelta() {
+        publish(1, job("a", "A"));
+        publish(2, job("a", "A"), job("b", "B"));
+        CatalogDeltaDto before = feed.changesSince(1);
+
+        // Aceeași versiune adoptată din nou (ex. din cache-ul partajat) nu resetează istoricul
+        publish(2, job("a", "A"), job("b", "B"));
+
+        assertSame(before, feed.changesSince(1));
+    }
+
+    @Test
+    void fingerprint_IgnoresFullTextButSeesVisibleFields() {
+        JobDto job = job("a", "A");
+        JobDto withFullText = job("a", "A");
+        withFullText.setFullText("indexed text");
+        JobDto moved = job("a", "A");
+        moved.setLocation("Hamburg");
+
+        long fingerprint = CatalogChangeFeed.VersionDigest.fingerprint(job);
+        assertEquals(fingerprint, CatalogChangeFeed.VersionDigest.fingerprint(withFullText));
+        assertNotEquals(fingerprint, CatalogChangeFeed.VersionDigest.fingerprint(moved));
+    }
+
+    @Test
+    void subscribe_OverLimit_IsRejected() {
+        CatalogChangeFeed small = feed(3, 2);
+        try {
+            assertTrue(small.subscribe(null).isPresent());
+            assertTrue(small.subscribe(null).isPresent());
+            assertTrue(small.subscribe(null).isEmpty());
+            assertEquals(2, small.subscriberCount());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private void publish(long version, JobDto... jobs) {
+        feed.onCatalogUpdated(new CatalogUpdatedEvent(new JobCatalog(version, List.of(jobs), Instant.now())));
+    }
+
+    private static CatalogChangeFeed feed(int history, int maxSubscribers) {
+        return new CatalogChangeFeed(new ObjectMapper(), history, maxSubscribers, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    private static List<String> ids(List<JobDto> jobs) {
+        return jobs.stream().map(JobDto::getId).toList();
+    }
+
+    private static JobDto job(String id, String title) {
+        return new JobDto(id, title, "Corp", "Berlin", "Desc", "http://example.com/" + id);
+    }
+}
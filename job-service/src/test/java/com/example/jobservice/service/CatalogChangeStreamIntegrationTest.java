@@ -0,0 +1,144 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.JobServiceApplication;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/jobs/stream printr-un server real: evenimentele ajung imediat, cu versiunea ca id,
+ * iar un client care revine cu Last-Event-ID primește doar ce a pierdut.
+ */
+class CatalogChangeStreamIntegrationTest {
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        context = new SpringApplicationBuilder(JobServiceApplication.class).run(
+            "--server.port=0",
+            "--spring.cache.type=simple",
+            "--jobs.catalog.refresh-enabled=false",
+            "--jobs.catalog.cold-start-wait=PT0S",
+            "--jobs.catalog.snapshot.path=",
+            "--jobs.sources.arbeitnow.enabled=false");
+        port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void stream_PushesDeltaForEachNewVersion() throws Exception {
+        publish(1, job("a"));
+
+        try (BufferedReader stream = open(null)) {
+            List<String> initial = nextEvent(stream);
+            assertTrue(initial.contains("id:1"), initial.toString());
+            assertTrue(initial.contains("event:delta"), initial.toString());
+
+            publish(2, job("a"), job("b"));
+
+            List<String> update = nextEvent(stream);
+            assertTrue(update.contains("id:2"), update.toString());
+            String data = data(update);
+            assertTrue(data.contains("\"fromVersion\":1"), data);
+            assertTrue(data.contains("\"added\":[{\"id\":\"b\""), data);
+        }
+    }
+
+    @Test
+    void reconnectWithLastEventId_ReceivesOnlyWhatWasMissed() throws Exception {
+        publish(1, job("a"));
+        publish(2, job("a"), job("b"));
+        publish(3, job("a"), job("b"), job("c"));
+
+        try (BufferedReader stream = open("1")) {
+            List<String> catchUp = nextEvent(stream);
+            assertTrue(catchUp.contains("id:3"), catchUp.toString());
+            String data = data(catchUp);
+            assertTrue(data.contains("\"fromVersion\":1"), data);
+            assertTrue(data.contains("\"id\":\"b\"") && data.contains("\"id\":\"c\""), data);
+            assertFalse(data.contains("\"id\":\"a\""), data);
+        }
+    }
+
+    @Test
+    void sinceQuery_ReturnsDeltaInsteadOfWholeCatalog() throws Exception {
+        publish(1, job("a"), job("b"));
+        publish(2, job("b"), job("c"));
+
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs?since=1")).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"removed\":[\"a\"]"), response.body());
+        assertTrue(response.body().contains("\"added\":[{\"id\":\"c\""), response.body());
+    }
+
+    private void publish(long version, JobDto... jobs) {
+        context.getBean(JobCatalogService.class).restore(new JobCatalog(version, List.of(jobs), Instant.now()));
+    }
+
+    private BufferedReader open(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs/stream"))
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        assertEquals("no", response.headers().firstValue("X-Accel-Buffering").orElse(null));
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    // Un eveniment SSE se termină cu o linie goală; comentariile (heartbeat) încep cu ':'
+    private static List<String> nextEvent(BufferedReader stream) throws Exception {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = stream.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!lines.isEmpty()) {
+                    return lines;
+                }
+            } else if (!line.startsWith(":")) {
+                lines.add(line);
+            }
+        }
+        fail("Fluxul s-a închis înainte de eveniment");
+        return lines;
+    }
+
+    private static String data(List<String> event) {
+        return event.stream().filter(line -> line.startsWith("data:")).map(line -> line.substring(5)).findFirst().orElse("");
+    }
+
+    private static JobDto job(String id) {
+        return new JobDto(id, "Title " + id, "Corp", "Berlin", "Desc", "http://example.com/" + id);
+    }
+}
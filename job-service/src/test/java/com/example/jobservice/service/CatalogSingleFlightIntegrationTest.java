@@ -0,0 +1,125 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.JobServiceApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Două replici job-service (două contexte Spring) pe același Redis, pornite la rece,
+ * primesc simultan N request-uri: Arbeitnow (stub local) trebuie apelat o singură dată.
+ */
+class CatalogSingleFlightIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 40;
+
+    private static final String UPSTREAM_BODY = """
+            {"data":[{"slug":"stub-job","company_name":"Stub Corp","title":"Stub Dev",
+            "description":"<p>Stub description</p>","remote":true,"url":"http://example.com/stub",
+            "tags":["java"],"job_types":["full time"],"location":"Berlin","created_at":1700000000}],
+            "links":{"next":null}}
+            """;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private RedisServer redis;
+    private HttpServer upstream;
+    private final List<ConfigurableApplicationContext> replicas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int redisPort = freePort();
+        redis = new RedisServer(redisPort);
+        redis.start();
+
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(Executors.newCachedThreadPool());
+        upstream.createContext("/api/job-board-api", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                // Un upstream lent lasă timp tuturor request-urilor să ajungă în timpul fetch-ului
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = UPSTREAM_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        for (int i = 0; i < 2; i++) {
+            replicas.add(new SpringApplicationBuilder(JobServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.cache.type=redis",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort,
+                "--jobs.catalog.refresh-enabled=false",
+                "--jobs.catalog.cold-start-wait=PT10S",
+                "--jobs.ingest.api-url=http://localhost:" + upstream.getAddress().getPort() + "/api/job-board-api"
+            ));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        replicas.forEach(ConfigurableApplicationContext::close);
+        if (upstream != null) {
+            upstream.stop(0);
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @Test
+    void coldStart_ConcurrentRequestsOnTwoReplicas_CallUpstreamExactlyOnce() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        List<Callable<HttpResponse<String>>> requests = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            int port = replicas.get(i % 2).getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs")).build();
+            requests.add(() -> client.send(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS)) {
+            for (Future<HttpResponse<String>> response : executor.invokeAll(requests)) {
+                assertEquals(200, response.get().statusCode());
+                assertTrue(response.get().body().contains("stub-job"));
+            }
+        }
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.cache.CompactCacheSerializer;
+import com.example.jobservice.cache.JobCatalogCodec;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotStoreTest {
+
+    private static final CompactCacheSerializer SERIALIZER =
+        new CompactCacheSerializer(List.of(new JobCatalogCodec()), CatalogSnapshotStoreTest.class.getClassLoader());
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private JobCatalogService catalogService;
+
+    @Test
+    void save_ThenLoad_RoundTripsCatalog() {
+        CatalogSnapshotStore store = store(dir.resolve("catalog.snapshot"));
+        JobCatalog catalog = catalog(7L, Instant.now());
+
+        store.save(catalog);
+        JobCatalog loaded = store.load().orElseThrow();
+
+        assertEquals(7L, loaded.getVersion());
+        assertEquals(catalog.getJobs(), loaded.getJobs());
+    }
+
+    @Test
+    void start_RestoresSnapshotIntoCatalogService() {
+        Path path = dir.resolve("catalog.snapshot");
+        store(path).save(catalog(7L, Instant.now()));
+
+        store(path).start();
+
+        verify(catalogService).restore(any(JobCatalog.class));
+    }
+
+    @Test
+    void missingOrDisabled_LoadsNothing() {
+        assertTrue(store(dir.resolve("absent.snapshot")).load().isEmpty());
+        assertTrue(new CatalogSnapshotStore(catalogService, SERIALIZER, "", Duration.ofDays(1)).load().isEmpty());
+
+        store(dir.resolve("absent.snapshot")).start();
+        verify(catalogService, never()).restore(any());
+    }
+
+    @Test
+    void corruptedFile_IsIgnored() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        store(path).save(catalog(7L, Instant.now()));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 10);
+            file.write(new byte[] {1, 2, 3});
+        }
+
+        assertTrue(store(path).load().isEmpty());
+    }
+
+    @Test
+    void truncatedFile_IsIgnored() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        store(path).save(catalog(7L, Instant.now()));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertTrue(store(path).load().isEmpty());
+    }
+
+    @Test
+    void snapshotOlderThanMaxAge_IsIgnored() {
+        Path path = dir.resolve("catalog.snapshot");
+        store(path).save(catalog(7L, Instant.now().minus(Duration.ofDays(2))));
+
+        assertTrue(store(path).load().isEmpty());
+    }
+
+    @Test
+    void save_ReplacesAtomicallyAndLeavesNoTempFiles() throws IOException {
+        Path path = dir.resolve("nested/catalog.snapshot");
+        CatalogSnapshotStore store = store(path);
+
+        store.save(catalog(1L, Instant.now()));
+        store.save(catalog(2L, Instant.now()));
+
+        assertEquals(2L, store.load().orElseThrow().getVersion());
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void save_SameVersionRecheckedUpstream_AdvancesFetchedAtOnDisk() {
+        Path path = dir.resolve("catalog.snapshot");
+        CatalogSnapshotStore store = store(path);
+        Instant first = Instant.now().minus(Duration.ofHours(20));
+        Instant rechecked = Instant.now();
+
+        store.onCatalogRefreshed(new CatalogRefreshedEvent(catalog(7L, first)));
+        store.onCatalogRefreshed(new CatalogRefreshedEvent(catalog(7L, rechecked)));
+
+        JobCatalog loaded = store.load().orElseThrow();
+        assertEquals(7L, loaded.getVersion());
+        assertEquals(rechecked.toEpochMilli(), loaded.getFetchedAt().toEpochMilli());
+    }
+
+    @Test
+    void save_SameVersionAndFetchedAt_DoesNotRewrite() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        CatalogSnapshotStore store = store(path);
+        JobCatalog catalog = catalog(7L, Instant.now());
+        store.save(catalog);
+        Files.delete(path);
+
+        store.save(catalog);
+
+        assertFalse(Files.exists(path));
+    }
+
+    private CatalogSnapshotStore store(Path path) {
+        return new CatalogSnapshotStore(catalogService, SERIALIZER, path.toString(), Duration.ofDays(1));
+    }
+
+    private static JobCatalog catalog(long version, Instant fetchedAt) {
+        return new JobCatalog(version, List.of(
+            new JobDto("a", "Java Dev", "Corp", "Berlin", "Desc", "http://example.com/a"),
+            new JobDto("b", "Go Dev", "Corp", "Hamburg", "Desc", "http://example.com/b")), fetchedAt);
+    }
+}
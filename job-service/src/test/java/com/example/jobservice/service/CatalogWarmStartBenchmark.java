@@ -0,0 +1,127 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.JobServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+
+/**
+ * Cât durează până când o replică nou pornită servește un catalog nevid, cu și fără snapshot pe disc.
+ * Upstream-ul e un server local care servește pagina de test multiplicată (PAGES x 40 joburi),
+ * cu o latență per pagină apropiată de cea a Arbeitnow.
+ * Rulare: main() din IDE sau mvn test-compile exec:java -Dexec.classpathScope=test
+ *         -Dexec.mainClass=com.example.jobservice.service.CatalogWarmStartBenchmark [-Dexec.args="pages latencyMs"]
+ */
+public class CatalogWarmStartBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int pages = args.length > 0 ? Integer.parseInt(args[0]) : 25;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 300;
+
+        HttpServer upstream = stubUpstream(pages, latencyMillis);
+        Path snapshot = Files.createTempDirectory("job-snapshot").resolve("catalog.snapshot");
+        try {
+            System.out.printf("Upstream: %d pages x 40 jobs, %d ms per page%n", pages, latencyMillis);
+            // Pornirea fără snapshot îl scrie, cea de după pornește din el. Prima rundă încălzește JVM-ul
+            // (încărcarea claselor Spring), deci contează doar a doua.
+            for (int round = 1; round <= 2; round++) {
+                Files.deleteIfExists(snapshot);
+                measure("round " + round + " cold (no snapshot)", upstream.getAddress().getPort(), snapshot);
+                measure("round " + round + " warm (snapshot)   ", upstream.getAddress().getPort(), snapshot);
+            }
+            System.out.println("Snapshot size: " + Files.size(snapshot) / 1024 + " KB");
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    private static void measure(String run, int upstreamPort, Path snapshot) throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JobServiceApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                     "--spring.cache.type=simple",
+                     "--logging.level.root=WARN",
+                     "--jobs.catalog.refresh-enabled=true",
+                     "--jobs.catalog.cold-start-wait=PT60S",
+                     "--jobs.catalog.snapshot.path=" + snapshot,
+                     "--jobs.ingest.parallelism=4",
+                     "--jobs.ingest.api-url=http://localhost:" + upstreamPort + "/api/job-board-api")) {
+            long portOpen = System.nanoTime();
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs?page=0&size=1")).build();
+            String total;
+            while (true) {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                total = response.headers().firstValue("X-Total-Count").orElse("0");
+                if (!"0".equals(total)) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            long served = System.nanoTime();
+
+            System.out.printf("%s  port open after %5d ms, first non-empty response after %5d ms (%s jobs)%n",
+                run, (portOpen - start) / 1_000_000, (served - start) / 1_000_000, total);
+            // Lăsăm refresh-ul din fundal să termine (și să scrie snapshot-ul) înainte de oprire
+            context.getBean(JobCatalogService.class).refreshAsync().join();
+        }
+    }
+
+    private static HttpServer stubUpstream(int pages, long latencyMillis) throws Exception {
+        ObjectNode sample;
+        try (InputStream in = CatalogWarmStartBenchmark.class.getResourceAsStream("/arbeitnow/sample-page.json")) {
+            sample = (ObjectNode) MAPPER.readTree(in);
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/job-board-api", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            int page = query != null && query.startsWith("page=") ? Integer.parseInt(query.substring(5)) : 1;
+            String self = "http://localhost:" + server.getAddress().getPort() + "/api/job-board-api";
+
+            ObjectNode body = sample.deepCopy();
+            ArrayNode data = MAPPER.createArrayNode();
+            sample.get("data").forEach(job -> {
+                ObjectNode copy = job.deepCopy();
+                copy.put("slug", job.get("slug").asText() + "-p" + page);
+                data.add(copy);
+            });
+            body.set("data", data);
+            body.putObject("links").put("next", page < pages ? self + "?page=" + (page + 1) : null);
+            body.putObject("meta").put("last_page", pages);
+            byte[] bytes = MAPPER.writeValueAsBytes(body);
+
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
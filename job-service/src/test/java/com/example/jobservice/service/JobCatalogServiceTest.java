@@ -0,0 +1,263 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.cache.CacheInvalidatedEvent;
+import com.example.jobservice.dto.JobBatchDto;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobCatalogServiceTest {
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private JobCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        catalogService = new JobCatalogService(jobService, cacheManager, new LocalCatalogLease(), eventPublisher,
+                Duration.ZERO, Duration.ofSeconds(2), Duration.ZERO);
+    }
+
+    @Test
+    void refresh_Success_SwapsSnapshot() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a")));
+
+        catalogService.refresh();
+
+        JobCatalog catalog = catalogService.getCatalog();
+        assertEquals(1, catalog.getJobs().size());
+        assertTrue(catalog.getVersion() > 0);
+        assertTrue(catalog.ageSeconds() >= 0);
+        assertNull(catalogService.getStatus().getLastError());
+    }
+
+    @Test
+    void refresh_UpstreamFailure_KeepsLastGoodSnapshot() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a"), job("b")));
+        catalogService.refresh();
+        long goodVersion = catalogService.getCatalog().getVersion();
+
+        // Al doilea refresh esueaza (ingestJobs intoarce lista goala)
+        when(jobService.ingestJobs()).thenReturn(result());
+        catalogService.refresh();
+
+        assertEquals(goodVersion, catalogService.getCatalog().getVersion());
+        assertEquals(2, catalogService.getCatalog().getJobs().size());
+        assertNotNull(catalogService.getStatus().getLastError());
+    }
+
+    @Test
+    void refresh_ColdStart_AdoptsCatalogFromOtherReplica() {
+        JobCatalog shared = new JobCatalog(42L, List.of(job("shared")), Instant.now());
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).put(JobCatalogService.CACHE_KEY, shared);
+        when(jobService.ingestJobs()).thenReturn(result());
+
+        catalogService.refresh();
+
+        assertEquals(42L, catalogService.getCatalog().getVersion());
+        assertEquals("shared", catalogService.getCatalog().getJobs().get(0).getId());
+    }
+
+    @Test
+    void onCacheInvalidated_NewerCatalogInSharedCache_IsAdopted() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a")));
+        catalogService.refresh();
+        long ownVersion = catalogService.getCatalog().getVersion();
+
+        // Cealalta replica a publicat un catalog mai nou
+        JobCatalog newer = new JobCatalog(ownVersion + 10, List.of(job("b"), job("c")), Instant.now());
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).put(JobCatalogService.CACHE_KEY, newer);
+        catalogService.onCacheInvalidated(new CacheInvalidatedEvent(JobCatalogService.CACHE_NAME, JobCatalogService.CACHE_KEY));
+
+        assertSame(newer, catalogService.getCatalog());
+        verify(eventPublisher).publishEvent(new CatalogUpdatedEvent(newer));
+    }
+
+    @Test
+    void onCacheInvalidated_OlderCatalogInSharedCache_IsIgnored() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a")));
+        catalogService.refresh();
+        JobCatalog own = catalogService.getCatalog();
+
+        JobCatalog older = new JobCatalog(own.getVersion() - 1, List.of(job("old")), Instant.now());
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).put(JobCatalogService.CACHE_KEY, older);
+        catalogService.onCacheInvalidated(new CacheInvalidatedEvent(JobCatalogService.CACHE_NAME, JobCatalogService.CACHE_KEY));
+
+        assertSame(own, catalogService.getCatalog());
+    }
+
+    @Test
+    void refreshAsync_ConcurrentCallers_ShareOneUpstreamFetch() throws Exception {
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        when(jobService.ingestJobs()).thenAnswer(invocation -> {
+            upstreamStarted.countDown();
+            releaseUpstream.await();
+            return result(job("a"));
+        });
+
+        CompletableFuture<JobCatalog> first = catalogService.refreshAsync();
+        upstreamStarted.await();
+        CompletableFuture<JobCatalog> second = catalogService.refreshAsync();
+        releaseUpstream.countDown();
+
+        assertSame(first, second);
+        assertEquals(1, first.get().getJobs().size());
+        verify(jobService, times(1)).ingestJobs();
+    }
+
+    @Test
+    void refreshAsync_ErrorDuringRefresh_FailsFutureAndFreesSlotAndLease() throws Exception {
+        when(jobService.ingestJobs())
+                .thenThrow(new StackOverflowError("deep"))
+                .thenReturn(result(job("a")));
+
+        CompletableFuture<JobCatalog> failed = catalogService.refreshAsync();
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, error.getCause());
+        assertFalse(catalogService.getStatus().isRefreshing());
+
+        // Următorul apel pornește un refresh nou, nu primește future-ul blocat
+        CompletableFuture<JobCatalog> next = catalogService.refreshAsync();
+        assertNotSame(failed, next);
+        assertEquals(1, next.get(5, TimeUnit.SECONDS).getJobs().size());
+    }
+
+    @Test
+    void refresh_LeaseHeldByOtherReplica_WaitsForItsCatalogInsteadOfFetching() throws Exception {
+        LocalCatalogLease lease = new LocalCatalogLease();
+        lease.tryAcquire();
+        JobCatalogService waiting = new JobCatalogService(jobService, cacheManager, lease, eventPublisher,
+                Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ZERO);
+
+        CompletableFuture<JobCatalog> refresh = waiting.refreshAsync();
+        // Cealalta replica termina refresh-ul si scrie catalogul in cache-ul partajat
+        JobCatalog published = new JobCatalog(7L, List.of(job("other")), Instant.now());
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).put(JobCatalogService.CACHE_KEY, published);
+
+        assertSame(published, refresh.get());
+        verify(jobService, never()).ingestJobs();
+    }
+
+    @Test
+    void getCatalog_BeforeFirstRefresh_ReturnsEmptySnapshot() {
+        JobCatalog catalog = catalogService.getCatalog();
+
+        assertTrue(catalog.isEmpty());
+        assertEquals(-1, catalog.ageSeconds());
+        verify(jobService, never()).ingestJobs();
+    }
+
+    @Test
+    void refresh_NoUpstreamChanges_KeepsVersion() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a")));
+        catalogService.refresh();
+        long version = catalogService.getCatalog().getVersion();
+
+        when(jobService.ingestJobs()).thenReturn(new JobService.IngestResult(List.of(job("a")), 0, 0, 0));
+        catalogService.refresh();
+
+        assertEquals(version, catalogService.getCatalog().getVersion());
+        // Structurile derivate (indexul de cautare) nu se reconstruiesc pentru aceeasi versiune
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogUpdatedEvent.class));
+    }
+
+    @Test
+    void refresh_NoChangesSinceOwnIngestButAdoptedOtherCatalog_BumpsVersion() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a")));
+        catalogService.refresh();
+        long ownVersion = catalogService.getCatalog().getVersion();
+
+        // Cealalta replica a publicat alt continut intre timp
+        JobCatalog adopted = new JobCatalog(ownVersion + 10, List.of(job("b")), Instant.now().minusSeconds(600));
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).put(JobCatalogService.CACHE_KEY, adopted);
+        catalogService.onCacheInvalidated(new CacheInvalidatedEvent(JobCatalogService.CACHE_NAME, JobCatalogService.CACHE_KEY));
+
+        // Fata de ingestia noastra anterioara nu s-a schimbat nimic, dar fata de catalogul publicat da
+        when(jobService.ingestJobs()).thenReturn(new JobService.IngestResult(List.of(job("a")), 0, 0, 0));
+        catalogService.refresh();
+
+        assertTrue(catalogService.getCatalog().getVersion() > adopted.getVersion());
+        assertEquals("a", catalogService.getCatalog().getJobs().get(0).getId());
+    }
+
+    @Test
+    void refresh_AdoptedCatalogWithSameContent_KeepsItsVersion() {
+        JobCatalog adopted = new JobCatalog(42L, List.of(job("a")), Instant.now().minusSeconds(600));
+        catalogService.restore(adopted);
+
+        when(jobService.ingestJobs()).thenReturn(new JobService.IngestResult(List.of(job("a")), 0, 0, 0));
+        catalogService.refresh();
+
+        assertEquals(42L, catalogService.getCatalog().getVersion());
+        assertNotSame(adopted, catalogService.getCatalog());
+    }
+
+    @Test
+    void restore_ServesSnapshotUntilRefreshBringsNewerCatalog() {
+        JobCatalog snapshot = new JobCatalog(5L, List.of(job("from-disk")), Instant.now().minusSeconds(600));
+
+        catalogService.restore(snapshot);
+
+        // Servit imediat, fără să așteptăm upstream-ul
+        assertSame(snapshot, catalogService.getCatalog());
+        verify(eventPublisher).publishEvent(new CatalogUpdatedEvent(snapshot));
+        verify(jobService, never()).ingestJobs();
+
+        when(jobService.ingestJobs()).thenReturn(result(job("fresh")));
+        catalogService.refresh();
+
+        assertEquals("fresh", catalogService.getCatalog().getJobs().get(0).getId());
+        assertTrue(catalogService.getCatalog().getVersion() > snapshot.getVersion());
+    }
+
+    @Test
+    void findJobs_ReturnsFoundJobsInRequestOrderAndMissingIds() {
+        when(jobService.ingestJobs()).thenReturn(result(job("a"), job("b"), job("c")));
+        catalogService.refresh();
+
+        JobBatchDto batch = catalogService.findJobs(List.of("c", "gone", "a", "c"));
+
+        assertEquals(catalogService.getCatalog().getVersion(), batch.getCatalogVersion());
+        assertEquals(List.of(job("c"), job("a")), batch.getJobs());
+        assertEquals(List.of("gone"), batch.getMissing());
+        assertEquals(job("b"), catalogService.getCatalog().findJob("b"));
+        assertNull(catalogService.getCatalog().findJob("gone"));
+    }
+
+    private static JobService.IngestResult result(JobDto... jobs) {
+        return new JobService.IngestResult(List.of(jobs), jobs.length, 0, 0);
+    }
+
+    private static JobDto job(String id) {
+        return new JobDto(id, "Title " + id, "Company", "Berlin", "Desc", "http://example.com/" + id);
+    }
+}
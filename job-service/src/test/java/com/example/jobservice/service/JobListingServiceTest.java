@@ -0,0 +1,135 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobListingServiceTest {
+
+    @Mock
+    private JobCatalogService catalogService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JobListingService listingService;
+
+    @BeforeEach
+    void setUp() {
+        listingService = new JobListingService(catalogService, objectMapper);
+    }
+
+    @Test
+    void getPage_SameVersion_ReusesEncodedBytes() {
+        when(catalogService.getCatalog()).thenReturn(catalog(1, 5));
+
+        JobListingService.EncodedPage first = listingService.getPage(null, null);
+        JobListingService.EncodedPage second = listingService.getPage(null, null);
+
+        assertSame(first.json(), second.json());
+        assertSame(first.gzip(), second.gzip());
+        assertEquals("W/\"1-all\"", first.etag());
+    }
+
+    @Test
+    void getPage_NewVersion_ReEncodesWithNewEtag() {
+        when(catalogService.getCatalog()).thenReturn(catalog(1, 5));
+        JobListingService.EncodedPage before = listingService.getPage(0, 2);
+
+        when(catalogService.getCatalog()).thenReturn(catalog(2, 6));
+        JobListingService.EncodedPage after = listingService.getPage(0, 2);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(6, after.total());
+    }
+
+    @Test
+    void getPage_Paged_ReturnsSliceAndNextFlag() throws Exception {
+        when(catalogService.getCatalog()).thenReturn(catalog(1, 5));
+
+        JobListingService.EncodedPage page = listingService.getPage(1, 2);
+        JobListingService.EncodedPage last = listingService.getPage(2, 2);
+
+        assertEquals(List.of("job-2", "job-3"), ids(page.json()));
+        assertTrue(page.hasNext());
+        assertEquals(List.of("job-4"), ids(last.json()));
+        assertFalse(last.hasNext());
+        assertEquals(5, last.total());
+    }
+
+    @Test
+    void getPage_GzipMatchesJson() throws Exception {
+        when(catalogService.getCatalog()).thenReturn(catalog(1, 50));
+
+        JobListingService.EncodedPage page = listingService.getPage(null, null);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.gzip()))) {
+            assertArrayEquals(page.json(), in.readAllBytes());
+        }
+        assertTrue(page.gzip().length < page.json().length);
+    }
+
+    @Test
+    void matches_HandlesListsWildcardAndStrongForm() {
+        when(catalogService.getCatalog()).thenReturn(catalog(7, 1));
+        JobListingService.EncodedPage page = listingService.getPage(null, null);
+
+        assertTrue(page.matches("W/\"7-all\"", false));
+        assertTrue(page.matches("\"7-all\"", false));
+        assertTrue(page.matches("W/\"6-all\", W/\"7-all\"", false));
+        assertTrue(page.matches("*", false));
+        assertFalse(page.matches("W/\"6-all\"", false));
+        assertFalse(page.matches(null, false));
+    }
+
+    @Test
+    void etag_DiffersBetweenGzipAndIdentityBodies() {
+        when(catalogService.getCatalog()).thenReturn(catalog(7, 1));
+        JobListingService.EncodedPage page = listingService.getPage(null, null);
+
+        assertEquals("W/\"7-all\"", page.etag(false));
+        assertEquals("W/\"7-all-gzip\"", page.etag(true));
+        assertTrue(page.matches("W/\"7-all-gzip\"", true));
+        assertFalse(page.matches("W/\"7-all\"", true));
+        assertFalse(page.matches("W/\"7-all-gzip\"", false));
+    }
+
+    @Test
+    void acceptsGzip_HonoursQValues() {
+        assertTrue(JobListingService.acceptsGzip("gzip, deflate, br"));
+        assertTrue(JobListingService.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(JobListingService.acceptsGzip("*"));
+        assertTrue(JobListingService.acceptsGzip("x-gzip"));
+        assertFalse(JobListingService.acceptsGzip("gzip;q=0"));
+        assertFalse(JobListingService.acceptsGzip("gzip; q=0.000, *"));
+        assertFalse(JobListingService.acceptsGzip("*;q=0"));
+        assertFalse(JobListingService.acceptsGzip("identity"));
+        assertFalse(JobListingService.acceptsGzip(null));
+    }
+
+    private List<String> ids(byte[] json) throws Exception {
+        return objectMapper.readValue(json, new TypeReference<List<JobDto>>() { })
+            .stream().map(JobDto::getId).toList();
+    }
+
+    private static JobCatalog catalog(long version, int size) {
+        List<JobDto> jobs = IntStream.range(0, size)
+            .mapToObj(i -> new JobDto("job-" + i, "Title " + i, "Company", "Berlin", "Description", "http://example.com/" + i))
+            .toList();
+        return new JobCatalog(version, jobs, Instant.now());
+    }
+}
@@ -1,19 +1,25 @@
 package com.example.jobservice.service;
 
+import com.example.jobservice.dto.JobCatalog;
 import com.example.jobservice.dto.JobDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -21,7 +27,7 @@ import static org.mockito.Mockito.*;
 class JobServiceCachingTest {
 
     @Autowired
-    private JobService jobService;
+    private JobCatalogService catalogService;
 
     @MockBean
     private RestTemplate restTemplate;
@@ -31,31 +37,25 @@ class JobServiceCachingTest {
 
     @Test
     void testCaching_MultipleCalls_TriggerOnlyOneApiRequest() {
-        // Arrange: Pregatim un raspuns mock de la API
-        JobService.ArbeitnowResponse mockResponse = new JobService.ArbeitnowResponse();
-        List<JobService.ArbeitnowJob> jobs = new ArrayList<>();
-        JobService.ArbeitnowJob job1 = new JobService.ArbeitnowJob();
-        job1.setSlug("cached-job");
-        job1.setTitle("Cached Dev");
-        job1.setCompanyName("Cache Corp");
-        job1.setLocation("Memory");
-        job1.setDescription("Desc");
-        jobs.add(job1);
-        mockResponse.setData(jobs);
+        // Arrange: Pregatim un raspuns mock de la API (citit in flux de JobService)
+        byte[] mockResponse = """
+                {"data":[{"slug":"cached-job","title":"Cached Dev","company_name":"Cache Corp",
+                "location":"Memory","description":"Desc"}],"links":{"next":null}}
+                """.getBytes(StandardCharsets.UTF_8);
 
-        when(restTemplate.getForObject(anyString(), eq(JobService.ArbeitnowResponse.class)))
-                .thenReturn(mockResponse);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(mockResponse, HttpStatus.OK)));
 
         // Curatam cache-ul inainte de test pentru a fi siguri
-        cacheManager.getCache("jobs").clear();
+        cacheManager.getCache(JobCatalogService.CACHE_NAME).clear();
 
-        // Primul apel ar trebui sa execute metoda si sa apeleze RestTemplate
-        System.out.println("--- Apel 1 ---");
-        List<JobDto> result1 = jobService.fetchJobs();
+        // Refresh-ul din fundal este singurul care apeleaza RestTemplate
+        catalogService.refresh();
 
-        // Al doilea apel ar trebui sa vina din Cache, fara a apela RestTemplate
-        System.out.println("--- Apel 2 ---");
-        List<JobDto> result2 = jobService.fetchJobs();
+        // Citirile vin din snapshot-ul din memorie, fara a apela RestTemplate
+        List<JobDto> result1 = catalogService.getCatalog().getJobs();
+        List<JobDto> result2 = catalogService.getCatalog().getJobs();
 
         // Assert
         assertEquals(1, result1.size());
@@ -63,8 +63,13 @@ class JobServiceCachingTest {
         assertEquals("Cached Dev", result1.get(0).getTitle());
         assertEquals("Cached Dev", result2.get(0).getTitle());
 
-        // Verificam esenta caching-ului: 
-        // Metoda 'getForObject' a RestTemplate a fost apelata exact O DATA (doar la primul apel)
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(JobService.ArbeitnowResponse.class));
+        // Catalogul a fost scris si in cache-ul partajat "jobs" pentru celelalte replici
+        JobCatalog cached = cacheManager.getCache(JobCatalogService.CACHE_NAME)
+                .get(JobCatalogService.CACHE_KEY, JobCatalog.class);
+        assertNotNull(cached);
+        assertEquals(catalogService.getCatalog().getVersion(), cached.getVersion());
+
+        // RestTemplate a fost apelat exact O DATA (doar la refresh)
+        verify(restTemplate, times(1)).execute(any(URI.class), eq(HttpMethod.GET), any(), any());
     }
 }
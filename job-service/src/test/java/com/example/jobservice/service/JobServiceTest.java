@@ -1,49 +1,62 @@
 package com.example.jobservice.service;
 
 import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.upstream.CircuitBreaker;
+import com.example.jobservice.upstream.ResilientUpstream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
-@ExtendWith(MockitoExtension.class)
 class JobServiceTest {
 
-    @Mock
-    private RestTemplate restTemplate;
+    private static final String API_URL = "https://arbeitnow.com/api/job-board-api";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    @InjectMocks
+    private MockRestServiceServer server;
+    private ArbeitnowJobSource source;
     private JobService jobService;
 
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        // Paginile dintr-un val sunt cerute în paralel, deci ordinea cererilor nu e fixă
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        // Fără reîncercări: MockRestServiceServer nu acceptă cereri peste cele așteptate
+        source = new ArbeitnowJobSource(restTemplate,
+            new ResilientUpstream(1, Duration.ZERO, Duration.ZERO, new CircuitBreaker(Integer.MAX_VALUE, Duration.ZERO)));
+        jobService = new JobService(List.of(source), Duration.ofSeconds(5));
+    }
+
     @Test
     void fetchJobs_Success() {
         // Arrange
-        JobService.ArbeitnowResponse mockResponse = new JobService.ArbeitnowResponse();
-        List<JobService.ArbeitnowJob> jobs = new ArrayList<>();
-        
-        JobService.ArbeitnowJob job1 = new JobService.ArbeitnowJob();
+        ArbeitnowJobSource.ArbeitnowJob job1 = new ArbeitnowJobSource.ArbeitnowJob();
         job1.setSlug("slug-1");
         job1.setTitle("Java Developer");
         job1.setCompanyName("Tech Corp");
         job1.setLocation("Remote");
         job1.setDescription("Description with <br> HTML");
         job1.setUrl("http://example.com");
-        
-        jobs.add(job1);
-        mockResponse.setData(jobs);
+        job1.setRemote(true);
+        job1.setTags(List.of("Java", "Spring"));
+        job1.setJob_types(List.of("full time"));
 
-        when(restTemplate.getForObject(anyString(), eq(JobService.ArbeitnowResponse.class)))
-                .thenReturn(mockResponse);
+        respond(API_URL, page(null, job1));
 
         // Act
         List<JobDto> result = jobService.fetchJobs();
@@ -55,13 +68,16 @@ class JobServiceTest {
         assertEquals("Tech Corp", result.get(0).getCompany());
         // Verify HTML stripping in description
         assertFalse(result.get(0).getDescription().contains("<br>"));
+        // Upstream fields used by search are kept
+        assertTrue(result.get(0).isRemote());
+        assertEquals(List.of("Java", "Spring"), result.get(0).getTags());
+        assertEquals(List.of("full time"), result.get(0).getJobTypes());
     }
 
     @Test
     void fetchJobs_ApiFailure_ReturnsEmptyList() {
         // Arrange
-        when(restTemplate.getForObject(anyString(), eq(JobService.ArbeitnowResponse.class)))
-                .thenThrow(new RuntimeException("API Connection Error"));
+        server.expect(requestTo(API_URL)).andRespond(withServerError());
 
         // Act
         List<JobDto> result = jobService.fetchJobs();
@@ -74,8 +90,7 @@ class JobServiceTest {
     @Test
     void fetchJobs_NullResponse_ReturnsEmptyList() {
         // Arrange
-        when(restTemplate.getForObject(anyString(), eq(JobService.ArbeitnowResponse.class)))
-                .thenReturn(null);
+        respond(API_URL, "");
 
         // Act
         List<JobDto> result = jobService.fetchJobs();
@@ -84,4 +99,122 @@ class JobServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void fetchJobs_MultiplePages_FollowsNextLinksAndDeduplicatesBySlug() {
+        // Arrange
+        respond(API_URL, page(API_URL + "?page=2", job("slug-1", 1L)));
+        respond(API_URL + "?page=2", page(API_URL + "?page=3", job("slug-1", 1L), job("slug-2", 2L)));
+        respond(API_URL + "?page=3", page(null, job("slug-3", 3L)));
+
+        // Act
+        List<JobDto> result = jobService.fetchJobs();
+
+        // Assert
+        assertEquals(List.of("slug-1", "slug-2", "slug-3"), result.stream().map(JobDto::getId).toList());
+    }
+
+    @Test
+    void ingestJobs_SecondCycle_OnlyRemapsChangedJobs() {
+        // Arrange
+        ArbeitnowJobSource.ArbeitnowJob stable = job("stable", 1L);
+        ArbeitnowJobSource.ArbeitnowJob changing = job("changing", 2L);
+        respond(API_URL, page(null, stable, changing));
+        changing.setDescription("Updated description");
+        respond(API_URL, page(null, stable, changing));
+
+        JobService.IngestResult first = jobService.ingestJobs();
+        JobService.IngestResult second = jobService.ingestJobs();
+
+        // Assert
+        assertEquals(2, first.getAdded());
+        assertEquals(0, second.getAdded());
+        assertEquals(1, second.getChanged());
+        assertEquals(0, second.getRemoved());
+        // Jobul neschimbat vine din lista compacta anterioara (fiecare get() e un view nou, deci comparam valorile)
+        assertEquals(first.getJobs().get(0), second.getJobs().get(0));
+        assertEquals("Updated description...", second.getJobs().get(1).getDescription());
+    }
+
+    @Test
+    void ingestJobs_JobMissingUpstream_CountedAsRemoved() {
+        // Arrange
+        respond(API_URL, page(null, job("a", 1L), job("b", 2L)));
+        respond(API_URL, page(null, job("a", 1L)));
+
+        // Act
+        jobService.ingestJobs();
+        JobService.IngestResult second = jobService.ingestJobs();
+
+        // Assert
+        assertEquals(1, second.getJobs().size());
+        assertEquals(1, second.getRemoved());
+        assertTrue(second.hasChanges());
+    }
+
+    @Test
+    void ingestJobs_MaxJobsReached_StopsReadingAndPaging() {
+        // Arrange
+        ReflectionTestUtils.setField(source, "maxJobs", 3);
+        ReflectionTestUtils.setField(source, "parallelism", 1);
+        respond(API_URL, page(API_URL + "?page=2", job("a", 1L), job("b", 2L)));
+        respond(API_URL + "?page=2", page(API_URL + "?page=3", job("c", 3L), job("d", 4L)));
+
+        // Act
+        JobService.IngestResult result = jobService.ingestJobs();
+
+        // Assert: pagina 3 nu a mai fost cerută
+        assertEquals(List.of("a", "b", "c"), result.getJobs().stream().map(JobDto::getId).toList());
+        server.verify();
+    }
+
+    @Test
+    void ingestJobs_UnknownFieldsAndNestedValues_AreSkipped() {
+        // Arrange
+        String body = """
+                {"data":[{"slug":"x","extra":{"nested":[1,2,{"deep":true}]},"title":"Dev","tags":["a",null,"b"],
+                "company_name":"Corp","description":"<p>D</p>","remote":true,"created_at":5}],
+                "links":{"first":"f","next":null},"meta":{"last_page":1,"terms":"..."}}
+                """;
+        respond(API_URL, body);
+
+        // Act
+        List<JobDto> result = jobService.fetchJobs();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Dev", result.get(0).getTitle());
+        assertEquals(List.of("a", "b"), result.get(0).getTags());
+        assertEquals(5L, result.get(0).getCreatedAt());
+        assertTrue(result.get(0).isRemote());
+    }
+
+    private void respond(String url, String body) {
+        server.expect(requestTo(url)).andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+    }
+
+    private static String page(String next, ArbeitnowJobSource.ArbeitnowJob... jobs) {
+        Map<String, Object> links = new LinkedHashMap<>();
+        links.put("next", next);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", new ArrayList<>(List.of(jobs)));
+        response.put("links", links);
+        try {
+            return MAPPER.writeValueAsString(response);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ArbeitnowJobSource.ArbeitnowJob job(String slug, long createdAt) {
+        ArbeitnowJobSource.ArbeitnowJob job = new ArbeitnowJobSource.ArbeitnowJob();
+        job.setSlug(slug);
+        job.setTitle("Title " + slug);
+        job.setCompanyName("Company");
+        job.setLocation("Berlin");
+        job.setDescription("<p>Description</p>");
+        job.setUrl("http://example.com/" + slug);
+        job.setCreated_at(createdAt);
+        return job;
+    }
 }
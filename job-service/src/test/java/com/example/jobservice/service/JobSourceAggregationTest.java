@@ -0,0 +1,131 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.SourceStatusDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSourceAggregationTest {
+
+    @Test
+    void sources_AreFetchedInParallel() {
+        JobService jobService = new JobService(List.of(
+            source("a", () -> slow(300, job("a-1", "Corp A", "Dev", "Berlin"))),
+            source("b", () -> slow(300, job("b-1", "Corp B", "Dev", "Berlin"))),
+            source("c", () -> slow(300, job("c-1", "Corp C", "Dev", "Berlin")))), Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        JobService.IngestResult result = jobService.ingestJobs();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(3, result.getJobs().size());
+        // Cât cea mai lentă sursă, nu suma lor (900 ms)
+        assertTrue(elapsedMillis < 800, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void nearIdenticalPostings_AcrossSources_AreKeptOnceFromFirstSource() {
+        JobService jobService = new JobService(List.of(
+            source("a", () -> List.of(job("a-1", "Zalando SE", "Backend Engineer (m/w/d)", "Berlin"))),
+            source("b", () -> List.of(
+                job("b:1", "zalando se", "Backend-Engineer (all genders)", "BERLIN"),
+                job("b:2", "Zalando SE", "Frontend Engineer", "Berlin")))), Duration.ofSeconds(5));
+
+        List<JobDto> jobs = jobService.fetchJobs();
+
+        assertEquals(List.of("a-1", "b:2"), jobs.stream().map(JobDto::getId).toList());
+    }
+
+    @Test
+    void identicalPostings_WithinOneSource_AreKept() {
+        JobService jobService = new JobService(List.of(
+            source("a", () -> List.of(job("a-1", "Corp", "Dev", "Berlin"), job("a-2", "Corp", "Dev", "Berlin")))),
+            Duration.ofSeconds(5));
+
+        assertEquals(2, jobService.fetchJobs().size());
+    }
+
+    @Test
+    void failingSource_DoesNotBlockOthers_AndKeepsItsLastGoodJobs() {
+        AtomicReference<Supplier<List<JobDto>>> flaky = new AtomicReference<>(() -> List.of(job("b-1", "Corp B", "Dev", "Berlin")));
+        JobService jobService = new JobService(List.of(
+            source("a", () -> List.of(job("a-1", "Corp A", "Dev", "Berlin"))),
+            source("b", () -> flaky.get().get())), Duration.ofSeconds(5));
+        jobService.ingestJobs();
+
+        flaky.set(() -> {
+            throw new IllegalStateException("503 from b");
+        });
+        JobService.IngestResult result = jobService.ingestJobs();
+
+        assertEquals(List.of("a-1", "b-1"), result.getJobs().stream().map(JobDto::getId).toList());
+        assertFalse(result.hasChanges());
+        SourceStatusDto status = jobService.sourceStatuses().get(1);
+        assertEquals("b", status.getName());
+        assertEquals("503 from b", status.getLastError());
+        assertEquals(1, status.getJobs());
+    }
+
+    @Test
+    void hangingSource_IsCutOffAtTimeout() {
+        JobService jobService = new JobService(List.of(
+            source("fast", () -> List.of(job("a-1", "Corp A", "Dev", "Berlin"))),
+            source("hanging", () -> slow(10_000, job("b-1", "Corp B", "Dev", "Berlin")))), Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        JobService.IngestResult result = jobService.ingestJobs();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("a-1"), result.getJobs().stream().map(JobDto::getId).toList());
+        assertTrue(elapsedMillis < 2_000, "elapsed " + elapsedMillis + " ms");
+        assertTrue(jobService.sourceStatuses().get(1).getLastError().startsWith("timed out"));
+    }
+
+    @Test
+    void allSourcesFailing_ReturnsFailedResultWithReasons() {
+        JobService jobService = new JobService(List.of(
+            source("a", () -> {
+                throw new IllegalStateException("down");
+            }),
+            source("b", List::of)), Duration.ofSeconds(5));
+
+        JobService.IngestResult result = jobService.ingestJobs();
+
+        assertTrue(result.getJobs().isEmpty());
+        assertEquals("a: down; b: returned no jobs", result.getError());
+    }
+
+    private static JobSource source(String name, Supplier<List<JobDto>> jobs) {
+        return new JobSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<JobDto> fetchJobs() {
+                return jobs.get();
+            }
+        };
+    }
+
+    private static List<JobDto> slow(long millis, JobDto job) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted");
+        }
+        return List.of(job);
+    }
+
+    private static JobDto job(String id, String company, String title, String location) {
+        return new JobDto(id, title, company, location, "Desc", "http://example.com/" + id);
+    }
+}
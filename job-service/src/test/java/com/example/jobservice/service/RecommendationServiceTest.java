@@ -0,0 +1,56 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.dto.JobDto;
+import com.example.jobservice.dto.PreferencesDto;
+import com.example.jobservice.dto.RecommendationResultDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private JobCatalogService catalogService;
+
+    @Test
+    void samePreferences_AreServedFromCacheUntilNextCatalogVersion() {
+        RecommendationService service = new RecommendationService(catalogService);
+        JobCatalog first = new JobCatalog(1L, List.of(job("a", "Java Developer")), Instant.now());
+        when(catalogService.getCatalog()).thenReturn(first);
+        service.onCatalogUpdated(new CatalogUpdatedEvent(first));
+
+        RecommendationResultDto result = service.recommend(new PreferencesDto("Java Developer", null, null, null), null);
+        assertSame(result, service.recommend(new PreferencesDto("developer java", null, null, null), null));
+
+        JobCatalog second = new JobCatalog(2L, List.of(job("b", "Java Developer"), job("a", "Java Developer")), Instant.now());
+        when(catalogService.getCatalog()).thenReturn(second);
+        service.onCatalogUpdated(new CatalogUpdatedEvent(second));
+
+        RecommendationResultDto fresh = service.recommend(new PreferencesDto("Java Developer", null, null, null), null);
+        assertEquals(2L, fresh.getCatalogVersion());
+        assertEquals("b", fresh.getJobs().get(0).getJob().getId());
+    }
+
+    @Test
+    void emptyPreferences_RecommendNothing() {
+        RecommendationService service = new RecommendationService(catalogService);
+        when(catalogService.getCatalog()).thenReturn(new JobCatalog(1L, List.of(job("a", "Java Developer")), Instant.now()));
+
+        RecommendationResultDto result = service.recommend(new PreferencesDto(), 5);
+
+        assertTrue(result.getJobs().isEmpty());
+    }
+
+    private static JobDto job(String id, String title) {
+        return new JobDto(id, title, "Corp", "Berlin", "Desc", "http://example.com/" + id);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.jobservice.service;
+
+import com.example.jobservice.config.UpstreamClientConfig;
+import com.example.jobservice.dto.JobCatalog;
+import com.example.jobservice.upstream.CircuitBreaker;
+import com.example.jobservice.upstream.ResilientUpstream;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JobService cu clientul HTTP real (pool, timeout-uri, reîncercări, circuit breaker) contra unui
+ * server HTTP local care întârzie răspunsuri, le taie la jumătate sau întoarce erori.
+ */
+class UpstreamResilienceTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+    private static final Duration OPEN_DURATION = Duration.ofMillis(500);
+
+    private static final String BODY = """
+        {"data":[{"slug":"stub-job","title":"Stub Dev","company_name":"Stub Corp","location":"Berlin",
+        "description":"<p>Desc</p>"}],"links":{"next":null}}
+        """;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Behavior behavior;
+
+    private CircuitBreaker circuitBreaker;
+    private ArbeitnowJobSource source;
+    private JobService jobService;
+
+    @FunctionalInterface
+    interface Behavior {
+        void respond(int requestNumber, HttpExchange exchange) throws Exception;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/api/job-board-api", exchange -> {
+            try {
+                behavior.respond(requests.incrementAndGet(), exchange);
+            } catch (Exception e) {
+                // Clientul a renunțat (timeout) și a închis conexiunea
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+
+        requestFactory = new UpstreamClientConfig().upstreamRequestFactory(Duration.ofMillis(500), READ_TIMEOUT, 4);
+        circuitBreaker = new CircuitBreaker(3, OPEN_DURATION);
+        source = new ArbeitnowJobSource(new RestTemplate(requestFactory),
+            new ResilientUpstream(3, Duration.ofMillis(10), Duration.ofMillis(50), circuitBreaker));
+        jobService = new JobService(List.of(source), Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(source, "apiUrl",
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/api/job-board-api");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        requestFactory.destroy();
+    }
+
+    @Test
+    void slowResponse_TimesOutAndIsRetried() {
+        behavior = (n, exchange) -> {
+            if (n == 1) {
+                Thread.sleep(READ_TIMEOUT.toMillis() * 4);
+            }
+            ok(exchange, BODY);
+        };
+
+        long start = System.nanoTime();
+        JobService.IngestResult result = jobService.ingestJobs();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, result.getJobs().size());
+        assertEquals(2, requests.get());
+        // Nu am așteptat după răspunsul lent
+        assertTrue(elapsedMillis < READ_TIMEOUT.toMillis() * 4, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void responseStalledMidBody_TimesOutAndIsRetried() {
+        behavior = (n, exchange) -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            int half = body.length / 2;
+            out.write(body, 0, half);
+            out.flush();
+            if (n == 1) {
+                Thread.sleep(READ_TIMEOUT.toMillis() * 4);
+            }
+            out.write(body, half, body.length - half);
+        };
+
+        JobService.IngestResult result = jobService.ingestJobs();
+
+        assertEquals(1, result.getJobs().size());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void serverErrors_AreRetriedWithBackoff() {
+        behavior = (n, exchange) -> {
+            if (n < 3) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            ok(exchange, BODY);
+        };
+
+        JobService.IngestResult result = jobService.ingestJobs();
+
+        assertEquals(1, result.getJobs().size());
+        assertEquals(3, requests.get());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void persistentFailure_OpensCircuitAndCatalogKeepsLastGoodSnapshot() throws Exception {
+        JobCatalogService catalogService = new JobCatalogService(jobService, new ConcurrentMapCacheManager(),
+            new LocalCatalogLease(), event -> { }, Duration.ZERO, Duration.ofSeconds(2), Duration.ZERO);
+
+        behavior = (n, exchange) -> ok(exchange, BODY);
+        catalogService.refresh();
+        JobCatalog good = catalogService.getCatalog();
+        assertEquals(1, good.getJobs().size());
+
+        // Upstream-ul cade: 3 încercări eșuate deschid circuitul
+        behavior = (n, exchange) -> exchange.sendResponseHeaders(500, -1);
+        catalogService.refresh();
+        int afterFailure = requests.get();
+        assertEquals(4, afterFailure);
+        assertEquals("OPEN", catalogService.getStatus().getSources().get(0).getState());
+
+        // Cât timp circuitul e deschis, refresh-ul nu mai ajunge la upstream și servim ultimul catalog bun
+        catalogService.refresh();
+        assertEquals(afterFailure, requests.get());
+        assertSame(good, catalogService.getCatalog());
+        assertTrue(catalogService.getStatus().getLastError().contains("Circuit deschis"));
+
+        // După pauză, o probă reușită închide circuitul
+        behavior = (n, exchange) -> ok(exchange, BODY);
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        catalogService.refresh();
+        assertEquals(afterFailure + 1, requests.get());
+        assertEquals("CLOSED", catalogService.getStatus().getSources().get(0).getState());
+        assertNull(catalogService.getStatus().getLastError());
+    }
+
+    private static void ok(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.jobservice.text;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rezumatul de 200 de caractere pentru o pagină Arbeitnow: regex-ul vechi vs. HtmlText.
+ * Rulare: mvn test-compile exec:java -Dexec.classpathScope=test
+ *         -Dexec.mainClass=com.example.jobservice.text.HtmlTextBenchmark
+ * (sau direct din IDE); adăugați -prof gc în main() pentru alocări per operație.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlTextBenchmark {
+
+    private List<String> descriptions;
+
+    @Setup
+    public void loadSamplePage() throws Exception {
+        try (InputStream in = HtmlTextBenchmark.class.getResourceAsStream("/arbeitnow/sample-page.json")) {
+            JsonNode page = new ObjectMapper().readTree(in);
+            descriptions = new ArrayList<>();
+            page.get("data").forEach(job -> descriptions.add(job.get("description").asText()));
+        }
+    }
+
+    @Benchmark
+    public void regexSummary(Blackhole blackhole) {
+        for (String description : descriptions) {
+            String plain = description.replaceAll("<[^>]*>", "");
+            blackhole.consume(plain.substring(0, Math.min(plain.length(), 200)) + "...");
+        }
+    }
+
+    @Benchmark
+    public void streamingSummary(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(HtmlText.summary(description, 200) + "...");
+        }
+    }
+
+    // Echivalentul regex pentru textul complet (fără decodarea entităților, pe care HtmlText o face în plus)
+    @Benchmark
+    public void regexFullText(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(description.replaceAll("<[^>]*>", " ").replaceAll("\\s+", " ").trim());
+        }
+    }
+
+    @Benchmark
+    public void streamingFullText(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(HtmlText.toPlainText(description));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(HtmlTextBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.jobservice.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlTextTest {
+
+    @Test
+    void toPlainText_StripsTagsAndSeparatesBlocks() {
+        String html = "<h3><strong>Über uns</strong></h3><p>Wir suchen</p><ul><li>Java</li><li>Spring</li></ul>";
+
+        assertEquals("Über uns Wir suchen Java Spring", HtmlText.toPlainText(html));
+    }
+
+    @Test
+    void toPlainText_InlineTagsDoNotSplitWords() {
+        assertEquals("Backend-Entwickler", HtmlText.toPlainText("<b>Backend</b>-<em>Entwickler</em>"));
+    }
+
+    @Test
+    void toPlainText_DecodesNamedAndNumericEntities() {
+        String html = "R&amp;D &ndash; gro&szlig;e M&ouml;glichkeiten&nbsp;&#8364; &#x41;&#65; &unknown; a < b";
+
+        assertEquals("R&D – große Möglichkeiten € AA &unknown; a < b", HtmlText.toPlainText(html));
+    }
+
+    @Test
+    void toPlainText_DropsScriptStyleAndComments() {
+        String html = "<p>Start</p><script>var x = '<p>no</p>';</script><style>p { color: red }</style>"
+            + "<!-- <p>hidden</p> --><p>End</p>";
+
+        assertEquals("Start End", HtmlText.toPlainText(html));
+    }
+
+    @Test
+    void toPlainText_AttributeWithAngleBracket_IsPartOfTag() {
+        assertEquals("link", HtmlText.toPlainText("<a title=\"a > b\" href='x'>link</a>"));
+    }
+
+    @Test
+    void toPlainText_NormalizesWhitespace() {
+        assertEquals("a b c", HtmlText.toPlainText("  \n<p> a \t</p>\n\n  b&nbsp;&nbsp;c  "));
+    }
+
+    @Test
+    void summary_StopsAtLimit() {
+        String html = "<p>" + "x".repeat(500) + "</p>";
+
+        assertEquals(200, HtmlText.summary(html, 200).length());
+        assertEquals("abc", HtmlText.summary("<p>abc</p>", 200));
+    }
+
+    @Test
+    void summary_LimitBetweenWords_HasNoTrailingSpace() {
+        assertEquals("abc", HtmlText.summary("<p>abc</p><p>def</p>", 4));
+    }
+
+    @Test
+    void summary_DoesNotSplitSurrogatePair() {
+        String summary = HtmlText.summary("ab😀cd", 3);
+
+        assertEquals("ab", summary);
+    }
+
+    @Test
+    void nullOrEmpty_ReturnsEmptyString() {
+        assertEquals("", HtmlText.toPlainText(null));
+        assertEquals("", HtmlText.summary("", 10));
+    }
+}
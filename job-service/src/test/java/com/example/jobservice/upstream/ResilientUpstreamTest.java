@@ -0,0 +1,117 @@
+package com.example.jobservice.upstream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientUpstreamTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), clock::get);
+    private final ResilientUpstream upstream = new ResilientUpstream(3, Duration.ZERO, Duration.ZERO, breaker);
+
+    @Test
+    void transientFailures_AreRetriedUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = upstream.call("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void clientErrors_AreNotRetriedAndDoNotTripTheCircuit() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> upstream.call("test", () -> {
+                calls.incrementAndGet();
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(5, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void openCircuit_ShortCircuitsWithoutCallingUpstream() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(ResourceAccessException.class, () -> upstream.call("test", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("timeout");
+        }));
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertThrows(UpstreamUnavailableException.class, () -> upstream.call("test", () -> {
+            calls.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void halfOpen_LetsOneProbeThrough() {
+        tripCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        // Cât timp proba e în curs, restul apelurilor sunt refuzate
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbe_ReopensCircuit() {
+        tripCircuit();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThrows(HttpServerErrorException.class, () -> new ResilientUpstream(1, Duration.ZERO, Duration.ZERO, breaker)
+            .call("probe", () -> {
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void backoff_IsJitteredBelowExponentialCeiling() {
+        ResilientUpstream withBackoff = new ResilientUpstream(5, Duration.ofMillis(100), Duration.ofMillis(300), breaker);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(withBackoff.backoffMillis(1) <= 100);
+            assertTrue(withBackoff.backoffMillis(2) <= 200);
+            assertTrue(withBackoff.backoffMillis(4) <= 300);
+        }
+        // Jitter: pauzele nu sunt toate egale
+        assertTrue(java.util.stream.IntStream.range(0, 50).mapToLong(i -> withBackoff.backoffMillis(3)).distinct().count() > 1);
+    }
+
+    private void tripCircuit() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}